@@ -0,0 +1,60 @@
+package com.dashboard.config;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public Cache<String, Long> invoiceSearchCountCache() {
+        // Short TTL bounds staleness for writes that bypass the search sync hooks
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @Bean
+    public Cache<String, Page<InvoiceSearchDocument>> invoiceSearchResultCache(MeterRegistry meterRegistry) {
+        // Keys carry the search generation, so entries from before a sync are never read again and age out
+        Cache<String, Page<InvoiceSearchDocument>> cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .maximumWeight(50_000)
+                .weigher((String key, Page<InvoiceSearchDocument> page) -> page.getNumberOfElements() + 1)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "invoiceSearchResults");
+    }
+
+    @Bean
+    public Cache<ObjectId, Customer> customerByIdCache(MeterRegistry meterRegistry) {
+        Cache<ObjectId, Customer> cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .maximumSize(10_000)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "customerById");
+    }
+
+    @Bean
+    public Cache<String, List<Customer>> allCustomersCache(MeterRegistry meterRegistry) {
+        Cache<String, List<Customer>> cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .maximumSize(1)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "allCustomers");
+    }
+}
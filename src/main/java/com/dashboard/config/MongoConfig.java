@@ -0,0 +1,23 @@
+package com.dashboard.config;
+
+import com.dashboard.context.MongoCommandContext;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandCountingCustomizer() {
+        // The sync driver notifies listeners on the calling thread, so the count lands on the current request
+        return builder -> builder.addCommandListener(new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                MongoCommandContext.increment();
+            }
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.dashboard.config;
 
+import com.dashboard.controller.v1.InvoicesController;
+import com.dashboard.environment.MetricsProperties;
 import com.dashboard.environment.OAuthProperties;
 import com.dashboard.filter.JwtGrantsFilter;
 import com.dashboard.repository.IOAuthClientRepository;
@@ -8,18 +10,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -33,6 +41,7 @@ public class SecurityConfig {
 
     private final JwtGrantsFilter jwtGrantsFilter;
     private final OAuthProperties oAuthProperties;
+    private final MetricsProperties metricsProperties;
     private final IOAuthClientRepository oAuthClientRepository;
 
     @Bean
@@ -44,11 +53,28 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/ws/**", "/ws-sockjs/**", "/api/activity/test").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Probed by the platform, which holds no JWT
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Scraped by Prometheus with its own credential, since the port is public
+                        .requestMatchers("/actuator/prometheus")
+                        .access((authentication, context) -> new AuthorizationDecision(isScraper(context)))
                         .anyRequest().authenticated()
                 );
         return http.build();
     }
 
+    private boolean isScraper(RequestAuthorizationContext context) {
+        String password = metricsProperties.getScrapePassword();
+        String header = context.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(password) || header == null || !header.startsWith("Basic ")) {
+            return false;
+        }
+        // Basic rather than Bearer, so JwtGrantsFilter leaves the header alone
+        byte[] expected = Base64.getEncoder()
+                .encode((metricsProperties.getScrapeUsername() + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(expected, header.substring(6).trim().getBytes(StandardCharsets.UTF_8));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         List<String> allowedOrigins = fetchAllowedHosts();
@@ -57,6 +83,7 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(allowedOrigins);
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of(InvoicesController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
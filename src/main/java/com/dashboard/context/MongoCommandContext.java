@@ -0,0 +1,18 @@
+package com.dashboard.context;
+
+public class MongoCommandContext {
+
+    private static final ThreadLocal<int[]> COUNT_HOLDER = ThreadLocal.withInitial(() -> new int[1]);
+
+    public static void increment() {
+        COUNT_HOLDER.get()[0]++;
+    }
+
+    public static int getCount() {
+        return COUNT_HOLDER.get()[0];
+    }
+
+    public static void clear() {
+        COUNT_HOLDER.remove();
+    }
+}
@@ -5,8 +5,10 @@ import com.dashboard.dataTransferObject.customer.CustomerCreate;
 import com.dashboard.dataTransferObject.customer.CustomerRead;
 import com.dashboard.dataTransferObject.customer.CustomerUpdate;
 import com.dashboard.mapper.interfaces.ICustomerMapper;
+import com.dashboard.model.DataCollection;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.service.interfaces.ICustomerService;
+import com.dashboard.service.interfaces.IDataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.access.prepost.PreAuthorize;
 import java.net.URI;
@@ -41,20 +44,44 @@ import java.util.Optional;
 @RequestMapping(value = "api/v1/customers", produces = "application/json")
 public class CustomersController {
 
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 50;
+
     private final ICustomerService customersService;
     private final ICustomerMapper customerMapper;
+    private final IDataVersionService dataVersionService;
 
     @Operation(summary = "Get all customers", description = "Retrieves a list of all customers")
     @GetMapping("/")
     @PreAuthorize("hasAuthority('dashboard-customers-read')")
-    public ResponseEntity<List<CustomerRead>> getAllCustomers() {
+    public ResponseEntity<List<CustomerRead>> getAllCustomers(WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.CUSTOMERS);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<Customer> customers = customersService.getAllCustomers();
         List<CustomerRead> customerDtos = new ArrayList<>();
         for (Customer customer : customers) {
             CustomerRead customerDto = customerMapper.toRead(customer);
             customerDtos.add(customerDto);
         }
-        return ResponseEntity.ok(customerDtos);
+        return ResponseEntity.ok().eTag(etag).body(customerDtos);
+    }
+
+    @Operation(summary = "Suggest customers",
+            description = "Returns customers whose name, a word of their name, or email starts with the prefix, "
+                    + "ignoring case and accents. Answered from memory for typeahead.")
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAuthority('dashboard-customers-read')")
+    public ResponseEntity<List<CustomerRead>> suggestCustomers(
+            @Parameter(description = "Typed prefix of a name or email") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(required = false) Integer limit) {
+        int size = (limit == null || limit < 1) ? DEFAULT_SUGGEST_LIMIT : Math.min(limit, MAX_SUGGEST_LIMIT);
+        List<CustomerRead> suggestions = customersService.suggestCustomers(prefix, size).stream()
+                .map(customerMapper::toRead)
+                .toList();
+        return ResponseEntity.ok(suggestions);
     }
 
     @Operation(summary = "Get customer by ID", description = "Retrieves a specific customer by their ID")
@@ -79,9 +106,14 @@ public class CustomersController {
     @Operation(summary = "Get customer count", description = "Returns the total number of customers")
     @GetMapping("/count")
     @PreAuthorize("hasAuthority('dashboard-customers-read')")
-    public ResponseEntity<Long> getCustomerCount() {
+    public ResponseEntity<Long> getCustomerCount(WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.CUSTOMERS);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         long count = customersService.getCount();
-        return ResponseEntity.ok(count);
+        return ResponseEntity.ok().eTag(etag).body(count);
     }
 
     @Operation(summary = "Create customer", description = "Creates a new customer")
@@ -1,24 +1,34 @@
 package com.dashboard.controller.v1;
 
 import com.dashboard.dataTransferObject.invoice.InvoiceCreate;
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
 import com.dashboard.dataTransferObject.invoice.InvoiceRead;
 import com.dashboard.dataTransferObject.invoice.InvoiceUpdate;
+import com.dashboard.dataTransferObject.page.PageCursor;
 import com.dashboard.dataTransferObject.page.PageRead;
 import com.dashboard.dataTransferObject.page.PageRequest;
 import com.dashboard.mapper.interfaces.IInvoiceMapper;
 import com.dashboard.mapper.interfaces.IInvoiceSearchMapper;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.InvoiceSummary;
+import com.dashboard.model.SearchMode;
 import com.dashboard.model.entities.Invoice;
 import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.service.interfaces.IDataVersionService;
 import com.dashboard.service.interfaces.IInvoiceSearchService;
 import com.dashboard.service.interfaces.IInvoiceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -31,10 +41,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @CrossOrigin
 @RestController
@@ -43,19 +59,53 @@ import java.util.List;
 @RequestMapping(value = "api/v1/invoices", produces = "application/json")
 public class InvoicesController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    private static final int DEFAULT_LATEST_LIMIT = 10;
+    private static final int MAX_LATEST_LIMIT = 100;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 15;
+    // Search pages fetch one extra row to detect a next page, so the size needs an upper bound
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final IInvoiceService invoiceService;
     private final IInvoiceSearchService invoiceSearchService;
     private final IInvoiceMapper invoiceMapper;
     private final IInvoiceSearchMapper invoiceSearchMapper;
+    private final ObjectMapper objectMapper;
+    private final IDataVersionService dataVersionService;
 
     @Operation(summary = "Get all invoices", description = "Retrieves a list of all invoices")
     @GetMapping("/")
     @PreAuthorize("hasAuthority('dashboard-invoices-read')")
-    public ResponseEntity<List<InvoiceRead>> getAllInvoices() {
-        List<InvoiceRead> invoiceReads = invoiceService.getAllInvoices().stream()
-                .map(invoiceMapper::toReadWithCustomer)
-                .toList();
-        return ResponseEntity.ok(invoiceReads);
+    public ResponseEntity<List<InvoiceRead>> getAllInvoices(WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.INVOICES);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<InvoiceRead> invoiceReads = invoiceService.getAllInvoiceReads();
+        return ResponseEntity.ok().eTag(etag).body(invoiceReads);
+    }
+
+    @Operation(summary = "Stream all invoices",
+            description = "Streams every invoice as newline-delimited JSON while it is read from the database")
+    @GetMapping(value = "/", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('dashboard-invoices-read')")
+    public ResponseEntity<StreamingResponseBody> streamAllInvoices() {
+        StreamingResponseBody body = outputStream -> {
+            AtomicInteger written = new AtomicInteger();
+            invoiceService.streamAllInvoices(invoice -> {
+                writeLine(outputStream, invoiceMapper.toReadWithCustomer(invoice));
+                if (written.incrementAndGet() % STREAM_FLUSH_INTERVAL == 0) {
+                    flush(outputStream);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Operation(summary = "Get invoice by ID", description = "Retrieves a specific invoice by its ID")
@@ -66,50 +116,57 @@ public class InvoicesController {
         return ResponseEntity.ok(invoiceMapper.toReadWithCustomer(invoice));
     }
 
-    @Operation(summary = "Get latest invoices", description = "Retrieves the most recent invoices with optional range parameters")
+    @Operation(summary = "Get latest invoices",
+            description = "Retrieves the most recent invoices with optional range parameters, or pages through them "
+                    + "with a cursor when 'after' or 'limit' is given. The next cursor is returned in the X-Next-Cursor header.")
     @GetMapping("/latest")
     @PreAuthorize("hasAuthority('dashboard-invoices-read')")
     public ResponseEntity<List<InvoiceRead>> getLatestInvoice(
             @Parameter(description = "Starting index") @RequestParam(required = false) Integer indexFrom,
-            @Parameter(description = "Ending index") @RequestParam(required = false) Integer indexTo) {
+            @Parameter(description = "Ending index") @RequestParam(required = false) Integer indexTo,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size when paging with a cursor") @RequestParam(required = false) Integer limit) {
+        if (after != null || limit != null) {
+            return getLatestInvoicePage(after, limit);
+        }
+
         if (indexFrom != null && indexTo != null && indexFrom > indexTo) {
             throw new IllegalArgumentException("indexFrom must be less or equal to indexTo");
         }
 
-        List<Invoice> invoices = (indexFrom == null || indexTo == null)
-                ? invoiceService.getAllInvoices()
-                : invoiceService.getLatestInvoice(indexFrom, indexTo);
-        List<InvoiceRead> invoiceReads = invoices.stream()
-                .map(invoiceMapper::toReadWithCustomer)
-                .toList();
+        List<InvoiceRead> invoiceReads = (indexFrom == null || indexTo == null)
+                ? invoiceService.getAllInvoiceReads()
+                : invoiceService.getLatestInvoiceReads(indexFrom, indexTo);
         return ResponseEntity.ok(invoiceReads);
     }
 
     @Operation(summary = "Get invoice count", description = "Returns the total number of invoices, optionally filtered by status")
     @GetMapping("/count")
     @PreAuthorize("hasAuthority('dashboard-invoices-read')")
-    public ResponseEntity<Integer> getInvoiceCount(@Parameter(description = "Filter by invoice status") @RequestParam(required = false) String status) {
-        List<Invoice> invoices;
-        if (status == null) {
-            invoices = invoiceService.getAllInvoices();
-        } else {
-            invoices = invoiceService.getInvoicesByStatus(status);
+    public ResponseEntity<Integer> getInvoiceCount(@Parameter(description = "Filter by invoice status") @RequestParam(required = false) String status,
+                                                   WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.INVOICES);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        Integer count = invoices.size();
-        return ResponseEntity.ok(count);
+
+        InvoiceSummary summary = invoiceService.getInvoiceSummary(status);
+        Integer count = Math.toIntExact(summary.getCount());
+        return ResponseEntity.ok().eTag(etag).body(count);
     }
 
     @Operation(summary = "Get total invoice amount", description = "Returns the sum of all invoice amounts, optionally filtered by status")
     @GetMapping("/amount")
     @PreAuthorize("hasAuthority('dashboard-invoices-read')")
-    public ResponseEntity<BigDecimal> getInvoiceAmount(@Parameter(description = "Filter by invoice status") @RequestParam(required = false) String status) {
-        List<Invoice> invoices = (status == null)
-                ? invoiceService.getAllInvoices()
-                : invoiceService.getInvoicesByStatus(status);
-        BigDecimal amount = invoices.stream()
-                .map(Invoice::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        return ResponseEntity.ok(amount);
+    public ResponseEntity<BigDecimal> getInvoiceAmount(@Parameter(description = "Filter by invoice status") @RequestParam(required = false) String status,
+                                                      WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.INVOICES);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        InvoiceSummary summary = invoiceService.getInvoiceSummary(status);
+        return ResponseEntity.ok().eTag(etag).body(summary.getAmount());
     }
 
     @Operation(summary = "Get page count", description = "Returns the total number of pages for search results")
@@ -117,19 +174,29 @@ public class InvoicesController {
     @PreAuthorize("hasAuthority('dashboard-invoices-read')")
     public ResponseEntity<Integer> getPages(
             @Parameter(description = "Search term to filter invoices") @RequestParam(required = false) String searchTerm,
-            @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
-        if (size == null || size < 1) {
-            size = 15;
-        }
-        Page<InvoiceSearchDocument> invoices = invoiceSearchService.search(searchTerm, Pageable.ofSize(size));
-        Integer pages = invoices.getTotalPages();
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Search mode: AUTO, REGEX or TEXT") @RequestParam(required = false) SearchMode mode,
+            @Valid @ParameterObject InvoiceFilter filter) {
+        // Same page size as the search endpoint, so the count matches the pages it returns
+        int pageSize = searchPageSize(size);
+        long total = invoiceSearchService.count(searchTerm, mode, filter);
+        Integer pages = Math.toIntExact((total + pageSize - 1) / pageSize);
         return ResponseEntity.ok(pages);
     }
 
-    @Operation(summary = "Search invoices", description = "Searches invoices with pagination support")
+    @Operation(summary = "Search invoices", description = "Searches invoices with pagination support. "
+            + "Set 'cursor' (empty for the first page) to page with the returned 'nextCursor' instead of page numbers, "
+            + "or 'skipCount' to get 'hasNext' instead of 'totalPages'. "
+            + "'mode' selects substring (REGEX, the default) or relevance-ranked full-text (TEXT) matching; "
+            + "AUTO uses full-text for multi-word terms. "
+            + "'filter' narrows results by status, amount range, date range and customer id.")
     @PostMapping(value = "/search", consumes = "application/json")
     @PreAuthorize("hasAuthority('dashboard-invoices-read')")
     public ResponseEntity<PageRead<InvoiceRead>> searchInvoices(@Valid @RequestBody PageRequest pageRequest) {
+        if (pageRequest.getCursor() != null) {
+            return searchInvoicesAfter(pageRequest);
+        }
+
         if (pageRequest.getPage() != null && pageRequest.getPage() <= 0) {
             throw new IllegalArgumentException("Page number must be greater than 0");
         }
@@ -139,10 +206,15 @@ public class InvoicesController {
             pageable = Pageable.unpaged();
         } else {
             pageable = Pageable
-                    .ofSize(pageRequest.getSize())
+                    .ofSize(searchPageSize(pageRequest.getSize()))
                     .withPage(pageRequest.getPage() - 1);
         }
-        Page<InvoiceSearchDocument> searchResults = invoiceSearchService.search(pageRequest.getSearch(), pageable);
+        if (Boolean.TRUE.equals(pageRequest.getSkipCount())) {
+            return searchInvoicesSlice(pageRequest, pageable);
+        }
+
+        Page<InvoiceSearchDocument> searchResults = invoiceSearchService
+                .search(pageRequest.getSearch(), pageRequest.getMode(), pageRequest.getFilter(), pageable);
 
         if (searchResults.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
@@ -187,4 +259,86 @@ public class InvoicesController {
         invoiceService.deleteInvoice(id);
         return ResponseEntity.ok(1);
     }
+
+    private ResponseEntity<PageRead<InvoiceRead>> searchInvoicesSlice(PageRequest pageRequest, Pageable pageable) {
+        Slice<InvoiceSearchDocument> searchResults = invoiceSearchService
+                .searchSlice(pageRequest.getSearch(), pageRequest.getMode(), pageRequest.getFilter(), pageable);
+
+        if (searchResults.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        }
+
+        List<InvoiceRead> invoiceReads = new ArrayList<>();
+        for (InvoiceSearchDocument doc : searchResults.getContent()) {
+            invoiceReads.add(invoiceSearchMapper.toRead(doc));
+        }
+
+        PageRead<InvoiceRead> pageRead = new PageRead<>();
+        pageRead.setData(invoiceReads);
+        pageRead.setItemsPerPage(searchResults.getSize());
+        pageRead.setCurrentPage(searchResults.getNumber() + 1);
+        pageRead.setHasNext(searchResults.hasNext());
+        return ResponseEntity.ok(pageRead);
+    }
+
+    private ResponseEntity<PageRead<InvoiceRead>> searchInvoicesAfter(PageRequest pageRequest) {
+        int size = searchPageSize(pageRequest.getSize());
+        Slice<InvoiceSearchDocument> searchResults = invoiceSearchService
+                .searchAfter(pageRequest.getSearch(), pageRequest.getMode(), pageRequest.getFilter(),
+                        pageRequest.getCursor(), size);
+
+        if (searchResults.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        }
+
+        List<InvoiceRead> invoiceReads = new ArrayList<>();
+        for (InvoiceSearchDocument doc : searchResults.getContent()) {
+            invoiceReads.add(invoiceSearchMapper.toRead(doc));
+        }
+
+        PageRead<InvoiceRead> pageRead = new PageRead<>();
+        pageRead.setData(invoiceReads);
+        pageRead.setItemsPerPage(size);
+        if (searchResults.hasNext()) {
+            InvoiceSearchDocument last = searchResults.getContent().getLast();
+            pageRead.setNextCursor(new PageCursor(last.getDate().toString(), last.get_id()).encode());
+        }
+        return ResponseEntity.ok(pageRead);
+    }
+
+    private static int searchPageSize(Integer size) {
+        return (size == null || size < 1) ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, MAX_SEARCH_PAGE_SIZE);
+    }
+
+    private ResponseEntity<List<InvoiceRead>> getLatestInvoicePage(String after, Integer limit) {
+        int pageSize = (limit == null || limit < 1) ? DEFAULT_LATEST_LIMIT : Math.min(limit, MAX_LATEST_LIMIT);
+        List<Invoice> invoices = invoiceService.getLatestInvoiceAfter(after, pageSize);
+        List<InvoiceRead> invoiceReads = invoices.stream()
+                .map(invoiceMapper::toReadWithCustomer)
+                .toList();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (invoices.size() == pageSize) {
+            Invoice last = invoices.getLast();
+            response.header(NEXT_CURSOR_HEADER, new PageCursor(last.getDate().toString(), last.get_id()).encode());
+        }
+        return response.body(invoiceReads);
+    }
+
+    private void writeLine(OutputStream outputStream, InvoiceRead invoiceRead) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(invoiceRead));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(OutputStream outputStream) {
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -1,17 +1,38 @@
 package com.dashboard.controller.v1;
 
 import com.dashboard.dataTransferObject.revenue.RevenueRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRecomputeRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRollupRead;
 import com.dashboard.mapper.interfaces.IRevenueMapper;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.SerializedResponse;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueRecomputeService;
+import com.dashboard.service.interfaces.IRevenueResponseCache;
 import com.dashboard.service.interfaces.IRevenueService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin
@@ -23,14 +44,79 @@ public class RevenuesController {
 
     private final IRevenueService revenueService;
     private final IRevenueMapper revenueMapper;
+    private final IDataVersionService dataVersionService;
+    private final IRevenueRecomputeService revenueRecomputeService;
+    private final IRevenueResponseCache revenueResponseCache;
 
-    @Operation(summary = "Get all revenues", description = "Retrieves monthly revenue data")
+    @Operation(summary = "Get all revenues", description = "Retrieves monthly revenue data",
+            responses = @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = RevenueRead.class)))))
     @GetMapping("/")
     @PreAuthorize("hasAuthority('dashboard-revenue-read')")
-    public ResponseEntity<List<RevenueRead>> getAllRevenues() {
-        List<RevenueRead> revenueReads = revenueService.getAllRevenues().stream()
+    public ResponseEntity<byte[]> getAllRevenues(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.REVENUES);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // Served from bytes serialized once per data version
+        SerializedResponse response = revenueResponseCache.get();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (response.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    @Operation(summary = "Get revenue rollups",
+            description = "Retrieves pre-aggregated revenue buckets of one granularity ordered by period start, "
+                    + "optionally limited to the buckets overlapping from and to")
+    @GetMapping
+    @PreAuthorize("hasAuthority('dashboard-revenue-read')")
+    public ResponseEntity<List<RevenueRollupRead>> getRevenueRollups(
+            @Parameter(description = "DAY, WEEK, MONTH, QUARTER or YEAR") @RequestParam RevenueGranularity granularity,
+            @Parameter(description = "First day to include") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day to include") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        String etag = dataVersionService.etag(DataCollection.REVENUES);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<RevenueRollupRead> rollupReads = revenueService.getRollups(granularity, from, to).stream()
                 .map(revenueMapper::toRead)
                 .toList();
-        return ResponseEntity.ok(revenueReads);
+        return ResponseEntity.ok().eTag(etag).body(rollupReads);
+    }
+
+    @Operation(summary = "Recompute revenues",
+            description = "Rebuilds the monthly revenues from the active invoices and returns the months that changed "
+                    + "with the time taken per year")
+    @PostMapping("/recompute")
+    @PreAuthorize("hasAuthority('dashboard-revenue-update')")
+    public ResponseEntity<RevenueRecomputeRead> recomputeRevenues() {
+        return ResponseEntity.ok(revenueRecomputeService.recompute());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 explicitly refuses it
+            return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0{0,3})?");
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
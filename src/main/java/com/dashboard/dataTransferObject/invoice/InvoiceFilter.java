@@ -0,0 +1,32 @@
+package com.dashboard.dataTransferObject.invoice;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Structured invoice search filters. Every given field narrows the results, bounds are inclusive.
+ */
+@Data
+public class InvoiceFilter {
+    private List<String> statuses;
+
+    private BigDecimal amountMin;
+    private BigDecimal amountMax;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+
+    @Pattern(
+            regexp = "^[a-fA-F0-9]{24}$",
+            message = "customerId must be a 24-char hex ObjectId"
+    )
+    private String customerId;
+}
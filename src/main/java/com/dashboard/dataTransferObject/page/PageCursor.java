@@ -0,0 +1,53 @@
+package com.dashboard.dataTransferObject.page;
+
+import com.dashboard.common.model.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page when paging by a sort key followed by {@code _id}.
+ * Clients only ever see the encoded, opaque form.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private String sortKey;
+    private ObjectId id;
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public static PageCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+
+        int separatorIndex = raw.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0 || !ObjectId.isValid(raw.substring(separatorIndex + 1))) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return new PageCursor(raw.substring(0, separatorIndex), new ObjectId(raw.substring(separatorIndex + 1)));
+    }
+}
@@ -9,4 +9,6 @@ public class PageRead<T> {
     private Integer currentPage;
     private Integer itemsPerPage;
     private List<T> data;
+    private String nextCursor;
+    private Boolean hasNext;
 }
\ No newline at end of file
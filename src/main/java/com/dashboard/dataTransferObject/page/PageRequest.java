@@ -1,5 +1,8 @@
 package com.dashboard.dataTransferObject.page;
 
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
+import com.dashboard.model.SearchMode;
+import jakarta.validation.Valid;
 import lombok.Data;
 
 @Data
@@ -9,4 +12,10 @@ public class PageRequest {
     private String sort;
     private String order;
     private String search;
+    private String cursor;
+    private Boolean skipCount;
+    private SearchMode mode;
+
+    @Valid
+    private InvoiceFilter filter;
 }
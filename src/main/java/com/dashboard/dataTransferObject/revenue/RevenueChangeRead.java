@@ -0,0 +1,15 @@
+package com.dashboard.dataTransferObject.revenue;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+public class RevenueChangeRead {
+    private Integer year;
+    private String month;
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER_FLOAT)
+    private BigDecimal previous;
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER_FLOAT)
+    private BigDecimal recomputed;
+}
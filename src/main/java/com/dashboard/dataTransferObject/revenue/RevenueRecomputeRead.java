@@ -0,0 +1,19 @@
+package com.dashboard.dataTransferObject.revenue;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class RevenueRecomputeRead {
+    private Integer years;
+    private Integer changedMonths;
+    // Changed months an invoice write touched during the recompute; they are left for the next run
+    private Integer conflicts;
+    private Integer changedRollups;
+    // Changed rollup buckets an invoice write touched during the recompute
+    private Integer rollupConflicts;
+    private Long durationMillis;
+    private Map<Integer, Long> yearDurationMillis;
+    private List<RevenueChangeRead> changes;
+}
@@ -0,0 +1,14 @@
+package com.dashboard.dataTransferObject.revenue;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class RevenueRollupRead {
+    private String granularity;
+    private LocalDate periodStart;
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER_FLOAT)
+    private BigDecimal revenue;
+}
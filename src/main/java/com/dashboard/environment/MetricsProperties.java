@@ -0,0 +1,17 @@
+package com.dashboard.environment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "metrics")
+public final class MetricsProperties {
+
+    // Basic auth user the Prometheus scraper sends to /actuator/prometheus
+    private String scrapeUsername = "prometheus";
+
+    // Basic auth password for the scraper; the endpoint rejects every request while it is blank
+    private String scrapePassword;
+}
@@ -0,0 +1,42 @@
+package com.dashboard.environment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "revenue")
+public final class RevenueProperties {
+
+    // Years recomputed in parallel by the revenue recompute job
+    private int recomputeThreads = 4;
+
+    // Months and rollup buckets with an invoice written this recently are left out of a recompute, since the
+    // invoice's delta may not have landed yet; keep it above the write-behind flush interval
+    private Duration recomputeSettleTime = Duration.ofSeconds(10);
+
+    // Delay between attempts to backfill the revenue rollups until one completes
+    private Duration rollupBackfillInterval = Duration.ofMinutes(1);
+
+    // Buffer revenue deltas in memory and a local write-ahead log, writing them once per flush interval
+    private boolean writeBehindEnabled = false;
+
+    // Delay between writes of the buffered revenue deltas
+    private Duration writeBehindFlushInterval = Duration.ofMillis(500);
+
+    // Directory of the write-ahead log, replayed on startup
+    private String writeBehindLogDirectory = "data/revenue-wal";
+
+    // Write-behind batches remembered per revenue document; a batch replayed after more batches than this
+    // have touched the same document since its first attempt is counted again
+    private int writeBehindAppliedBatchHistory = 1000;
+
+    // Keep a gzip-compressed copy of the cached revenue list for clients that accept it
+    private boolean responseGzipEnabled = true;
+
+    // Longest the cached revenue list is served, bounding how stale it gets when another instance writes revenues
+    private Duration responseCacheTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,55 @@
+package com.dashboard.environment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "search")
+public final class SearchProperties {
+
+    // Answer invoice searches from an in-memory inverted index instead of querying Mongo
+    private boolean inMemoryIndexEnabled = false;
+
+    // Invoices read, transformed and bulk-written per chunk when rebuilding invoices_search
+    private int rebuildBatchSize = 1000;
+
+    // Worker threads transforming and writing chunks during a rebuild
+    private int rebuildThreads = 4;
+
+    // Maximum invoices written per bulk write by the search sync worker
+    private int syncBatchSize = 500;
+
+    // Delay between flushes of the search sync queue
+    private Duration syncFlushInterval = Duration.ofMillis(200);
+
+    // Search documents updated per chunk when propagating a customer change
+    private int propagationChunkSize = 200;
+
+    // Upper bound on search documents updated per second by customer propagation
+    private int propagationMaxDocumentsPerSecond = 1000;
+
+    // How often the propagation worker looks for pending jobs
+    private Duration propagationPollInterval = Duration.ofSeconds(1);
+
+    // A running job without a heartbeat for this long is resumed by another worker
+    private Duration propagationLeaseTimeout = Duration.ofMinutes(1);
+
+    // Runs of a propagation job, counting the first, before it is left failed
+    private int propagationMaxAttempts = 5;
+
+    // Wait before a failed propagation job runs again, doubled after every further failure
+    private Duration propagationRetryBackoff = Duration.ofSeconds(10);
+
+    // Delay between incremental reconciliations of invoices_search against invoices
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    // Changed invoices compared with their search documents per batch
+    private int reconcileBatchSize = 500;
+
+    // Changes younger than this are left to the sync queue and picked up by the next run
+    private Duration reconcileGracePeriod = Duration.ofMinutes(1);
+}
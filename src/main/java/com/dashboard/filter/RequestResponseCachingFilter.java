@@ -16,6 +16,12 @@ import java.io.IOException;
 @Order(2)
 public class RequestResponseCachingFilter extends OncePerRequestFilter {
 
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        // Streamed responses must reach the client while they are written, not once fully buffered
+        return "true".equals(request.getParameter("stream"));
+    }
+
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -4,6 +4,7 @@ import com.dashboard.common.logging.GrafanaHttpClient;
 import com.dashboard.common.logging.LogBuilderHelper;
 import com.dashboard.common.model.log.ApiCallLog;
 import com.dashboard.context.DiffContext;
+import com.dashboard.context.MongoCommandContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -32,6 +33,7 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull Object handler) {
         request.setAttribute(REQUEST_START_TIME, Instant.now());
         request.setAttribute(REQUEST_ID, UUID.randomUUID().toString());
+        MongoCommandContext.clear();
         return true;
     }
 
@@ -58,12 +60,13 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
                     durationMs
             );
 
+            Map<String, String> customFields = new HashMap<>();
             String diff = DiffContext.getDiff();
             if (diff != null) {
-                Map<String, String> customFields = new HashMap<>();
                 customFields.put("diff", diff);
-                builder.customFields(customFields);
             }
+            customFields.put("mongoCommands", String.valueOf(MongoCommandContext.getCount()));
+            builder.customFields(customFields);
 
             ApiCallLog apiLog = builder.build();
             grafanaHttpClient.send(apiLog);
@@ -71,6 +74,7 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
             log.error("Failed to log API call", e);
         } finally {
             DiffContext.clear();
+            MongoCommandContext.clear();
         }
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.dashboard.mapper;
 
 import com.dashboard.dataTransferObject.revenue.RevenueRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRollupRead;
 import com.dashboard.mapper.interfaces.IRevenueMapper;
 import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,4 +17,13 @@ public class RevenueMapper implements IRevenueMapper {
         revenueRead.setRevenue(revenue.getRevenue());
         return revenueRead;
     }
+
+    @Override
+    public RevenueRollupRead toRead(RevenueRollup rollup) {
+        RevenueRollupRead rollupRead = new RevenueRollupRead();
+        rollupRead.setGranularity(rollup.getGranularity().name());
+        rollupRead.setPeriodStart(rollup.getPeriodStart());
+        rollupRead.setRevenue(rollup.getRevenue());
+        return rollupRead;
+    }
 }
@@ -1,8 +1,11 @@
 package com.dashboard.mapper.interfaces;
 
 import com.dashboard.dataTransferObject.revenue.RevenueRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRollupRead;
 import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
 
 public interface IRevenueMapper {
     RevenueRead toRead(Revenue revenue);
+    RevenueRollupRead toRead(RevenueRollup rollup);
 }
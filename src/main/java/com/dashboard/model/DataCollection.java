@@ -0,0 +1,7 @@
+package com.dashboard.model;
+
+public enum DataCollection {
+    INVOICES,
+    CUSTOMERS,
+    REVENUES
+}
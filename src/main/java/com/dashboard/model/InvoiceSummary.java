@@ -0,0 +1,15 @@
+package com.dashboard.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSummary {
+    private Long count;
+    private BigDecimal amount;
+}
@@ -0,0 +1,16 @@
+package com.dashboard.model;
+
+import java.util.List;
+
+public enum PropagationJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    // A newer job for the same customer replaced this one
+    SUPERSEDED,
+    // Every attempt failed; a failed attempt with attempts left goes back to PENDING
+    FAILED;
+
+    // Jobs whose customer values may not have reached every search document yet
+    public static final List<PropagationJobStatus> OPEN = List.of(PENDING, RUNNING);
+}
@@ -0,0 +1,24 @@
+package com.dashboard.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum RevenueGranularity {
+    DAY,
+    // ISO weeks, starting on Monday
+    WEEK,
+    MONTH,
+    QUARTER,
+    YEAR;
+
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), date.getMonth().firstMonthOfQuarter(), 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.dashboard.model;
+
+public enum SearchMode {
+    // Full-text for multi-word terms, substring matching otherwise
+    AUTO,
+    // Case-insensitive substring matching on status, customer name and email; the default
+    REGEX,
+    // Whole-word matching on the text index, ranked by weighted relevance
+    TEXT
+}
@@ -0,0 +1,7 @@
+package com.dashboard.model;
+
+/**
+ * A response body serialized once for a data version. gzip is null when compression is disabled.
+ */
+public record SerializedResponse(long version, byte[] json, byte[] gzip) {
+}
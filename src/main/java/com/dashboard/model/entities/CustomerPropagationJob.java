@@ -0,0 +1,46 @@
+package com.dashboard.model.entities;
+
+import com.dashboard.model.PropagationJobStatus;
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "customer_propagation_jobs")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_createdAt_idx", def = "{'status': 1, 'createdAt': 1}"),
+    @CompoundIndex(name = "customerId_status_idx", def = "{'customerId': 1, 'status': 1}")
+})
+public class CustomerPropagationJob {
+    @Id
+    private ObjectId _id;
+
+    // Customer values to copy onto every search document of the customer
+    private ObjectId customerId;
+    private String customerName;
+    private String customerEmail;
+    private String customerImageUrl;
+
+    private PropagationJobStatus status;
+
+    // Resume point: search documents are processed in _id order
+    private ObjectId lastProcessedId;
+    private Long processedCount;
+    private Long totalCount;
+
+    // Failed runs so far; a job waiting for a retry is not claimed before retryAt
+    private Integer attempts;
+    private Instant retryAt;
+
+    // Tracking
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant heartbeatAt;
+    private Instant completedAt;
+    private String error;
+}
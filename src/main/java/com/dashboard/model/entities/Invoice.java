@@ -4,6 +4,8 @@ import com.dashboard.common.model.Audit;
 import lombok.Data;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.math.BigDecimal;
@@ -11,6 +13,11 @@ import java.time.LocalDate;
 
 @Data
 @Document(collection = "invoices")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_deletedAt_idx", def = "{'status': 1, 'audit.deletedAt': 1}"),
+    @CompoundIndex(name = "deletedAt_date_id_idx", def = "{'audit.deletedAt': 1, 'date': -1, '_id': -1}"),
+    @CompoundIndex(name = "updatedAt_idx", def = "{'audit.updatedAt': -1}")
+})
 public class Invoice {
     @Id
     private ObjectId _id;
@@ -8,16 +8,25 @@ import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @Document(collection = "invoices_search")
 @CompoundIndexes({
     @CompoundIndex(name = "customer_idx", def = "{'customerId': 1}"),
-    @CompoundIndex(name = "deletedAt_idx", def = "{'deletedAt': 1}")
+    @CompoundIndex(name = "deletedAt_idx", def = "{'deletedAt': 1}"),
+    @CompoundIndex(name = "deletedAt_date_id_idx", def = "{'deletedAt': 1, 'date': -1, '_id': -1}"),
+    @CompoundIndex(name = "lastSyncedAt_idx", def = "{'lastSyncedAt': -1}"),
+    // Structured filters: equality fields first, then the (date, _id) sort, then ranges
+    @CompoundIndex(name = "deletedAt_status_date_id_idx", def = "{'deletedAt': 1, 'status': 1, 'date': -1, '_id': -1}"),
+    @CompoundIndex(name = "customerId_deletedAt_date_id_idx", def = "{'customerId': 1, 'deletedAt': 1, 'date': -1, '_id': -1}"),
+    @CompoundIndex(name = "deletedAt_amount_idx", def = "{'deletedAt': 1, 'amount': 1}")
 })
 public class InvoiceSearchDocument {
     @Id
@@ -29,7 +38,8 @@ public class InvoiceSearchDocument {
     @Indexed
     private ObjectId customerId;
 
-    // Invoice fields
+    // Invoice fields, amount as a number so range filters compare numerically
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal amount;
     private LocalDate date;
 
@@ -45,6 +55,10 @@ public class InvoiceSearchDocument {
 
     private String customerImageUrl;
 
+    // Lowercased trigrams of status, customerName and customerEmail, for indexed substring search
+    @Indexed
+    private List<String> searchTrigrams;
+
     // Tracking
     private Instant deletedAt;
     private Instant lastSyncedAt;
@@ -0,0 +1,39 @@
+package com.dashboard.model.entities;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Document(collection = "invoice_stats")
+public class InvoiceStats {
+    // One document per invoice status
+    @Id
+    private String status;
+
+    private Long count;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal amount;
+
+    private Instant reconciledAt;
+
+    // Incremented by every delta so reconciliation can tell whether the totals moved under it
+    private Long version;
+
+    // Deltas announced before their invoice write and not recorded yet
+    private List<PendingDelta> pendingDeltas;
+
+    @Data
+    public static class PendingDelta {
+        private String token;
+
+        private Instant startedAt;
+    }
+}
@@ -6,12 +6,15 @@ import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
 import java.math.BigDecimal;
 import java.time.Month;
+import java.util.List;
 
 @Data
 @Document(collection = "revenues")
@@ -26,7 +29,12 @@ public class Revenue {
     @Max(9999)
     private Integer year;
 
+    // Decimal128 so adjustRevenue can $inc it server-side
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal revenue;
+
+    // Most recent write-behind batches that incremented this document, so a replayed batch skips it
+    private List<String> appliedBatchIds;
     
     private Audit audit;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.dashboard.model.entities;
+
+import com.dashboard.common.model.Audit;
+import com.dashboard.model.RevenueGranularity;
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Document(collection = "revenue_rollups")
+@CompoundIndex(name = "granularity_periodStart_unique", def = "{'granularity': 1, 'periodStart': 1}", unique = true)
+public class RevenueRollup {
+    @Id
+    private ObjectId _id;
+
+    private RevenueGranularity granularity;
+
+    // First day of the bucket, see RevenueGranularity.periodStart
+    private LocalDate periodStart;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal revenue;
+
+    // Most recent write-behind batches that incremented this document, so a replayed batch skips it
+    private List<String> appliedBatchIds;
+
+    private Audit audit;
+}
@@ -0,0 +1,20 @@
+package com.dashboard.model.entities;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "sync_watermarks")
+public class SyncWatermark {
+    // One document per reconciled collection
+    @Id
+    private String name;
+
+    // Changes before this instant have been reconciled
+    private Instant watermark;
+
+    private Instant reconciledAt;
+}
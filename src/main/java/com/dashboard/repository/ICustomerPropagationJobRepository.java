@@ -0,0 +1,8 @@
+package com.dashboard.repository;
+
+import com.dashboard.model.entities.CustomerPropagationJob;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ICustomerPropagationJobRepository extends MongoRepository<CustomerPropagationJob, ObjectId> {
+}
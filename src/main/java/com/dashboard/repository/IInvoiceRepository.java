@@ -6,7 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 import java.util.Optional;
 
-public interface IInvoiceRepository extends MongoRepository<Invoice, ObjectId> {
+public interface IInvoiceRepository extends MongoRepository<Invoice, ObjectId>, IInvoiceRepositoryCustom {
     List<Invoice> findByAudit_DeletedAtIsNull();
 
     List<Invoice> findByStatusAndAudit_DeletedAtIsNull(String status);
@@ -0,0 +1,21 @@
+package com.dashboard.repository;
+
+import com.dashboard.model.entities.Invoice;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IInvoiceRepositoryCustom {
+    /**
+     * Finds invoices and resolves their customers with a single {@code $in} query
+     * instead of one DBRef lookup per invoice.
+     */
+    List<Invoice> findWithCustomers(Query query);
+
+    /**
+     * Streams invoices through a cursor and hands them over in batches,
+     * resolving the customers of each batch with a single {@code $in} query.
+     */
+    void streamWithCustomers(Query query, int batchSize, Consumer<List<Invoice>> batchConsumer);
+}
@@ -0,0 +1,94 @@
+package com.dashboard.repository;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.Invoice;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class IInvoiceRepositoryCustomImpl implements IInvoiceRepositoryCustom {
+
+    private static final String INVOICES_COLLECTION = "invoices";
+    private static final String CUSTOMER_FIELD = "customer";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Invoice> findWithCustomers(Query query) {
+        // Read raw documents so the converter does not resolve each customer DBRef on its own
+        List<Document> documents = mongoTemplate.find(query, Document.class, INVOICES_COLLECTION);
+        return attachCustomers(documents);
+    }
+
+    @Override
+    public void streamWithCustomers(Query query, int batchSize, Consumer<List<Invoice>> batchConsumer) {
+        query.cursorBatchSize(batchSize);
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, INVOICES_COLLECTION)) {
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(attachCustomers(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(attachCustomers(batch));
+        }
+    }
+
+    private List<Invoice> attachCustomers(List<Document> documents) {
+        Set<Object> customerIds = new HashSet<>();
+        for (Document document : documents) {
+            Object customerId = getCustomerId(document);
+            if (customerId != null) {
+                customerIds.add(customerId);
+            }
+        }
+
+        Map<Object, Customer> customers = new HashMap<>();
+        if (!customerIds.isEmpty()) {
+            Query customerQuery = Query.query(Criteria.where("_id").in(customerIds));
+            for (Customer customer : mongoTemplate.find(customerQuery, Customer.class)) {
+                customers.put(customer.get_id(), customer);
+            }
+        }
+
+        List<Invoice> invoices = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Object customerId = getCustomerId(document);
+            document.remove(CUSTOMER_FIELD);
+            Invoice invoice = mongoTemplate.getConverter().read(Invoice.class, document);
+            invoice.setCustomer(customers.get(customerId));
+            invoices.add(invoice);
+        }
+        return invoices;
+    }
+
+    private Object getCustomerId(Document document) {
+        Object reference = document.get(CUSTOMER_FIELD);
+        if (reference instanceof DBRef dbRef) {
+            return dbRef.getId();
+        }
+        if (reference instanceof Document dbRefDocument) {
+            return dbRefDocument.get("$id");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.dashboard.repository;
+
+import com.dashboard.model.entities.InvoiceStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IInvoiceStatsRepository extends MongoRepository<InvoiceStats, String> {
+}
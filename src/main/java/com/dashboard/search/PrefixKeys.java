@@ -0,0 +1,53 @@
+package com.dashboard.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the normalized keys a customer can be found by when typing a prefix:
+ * the full name, every later word of the name, and the email.
+ */
+public final class PrefixKeys {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private PrefixKeys() {
+    }
+
+    /**
+     * Lowercases, strips accents and collapses whitespace, so "  Zoë  Smith" and "zoe smith" compare equal.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the distinct non-empty keys of a name and email, in the order they were found.
+     */
+    public static List<String> of(String name, String email) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalizedName = normalize(name);
+        if (!normalizedName.isEmpty()) {
+            // "anna maria smith" is found by "anna m", "maria s" and "smith"
+            keys.add(normalizedName);
+            for (int i = normalizedName.indexOf(' '); i >= 0; i = normalizedName.indexOf(' ', i + 1)) {
+                keys.add(normalizedName.substring(i + 1));
+            }
+        }
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            keys.add(normalizedEmail);
+        }
+        return new ArrayList<>(keys);
+    }
+}
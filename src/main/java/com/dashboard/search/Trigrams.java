@@ -0,0 +1,36 @@
+package com.dashboard.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Splits text into lowercased, overlapping three-character tokens.
+ * A string containing a term as a substring also contains every trigram of that term,
+ * so an indexed {@code $all} over the term's trigrams narrows candidates without a collection scan.
+ */
+public final class Trigrams {
+    public static final int LENGTH = 3;
+
+    private Trigrams() {
+    }
+
+    /**
+     * Returns the distinct trigrams of all given values, sorted so the stored array is stable.
+     */
+    public static List<String> of(String... values) {
+        Set<String> trigrams = new TreeSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            String normalized = value.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + LENGTH <= normalized.length(); i++) {
+                trigrams.add(normalized.substring(i, i + LENGTH));
+            }
+        }
+        return new ArrayList<>(trigrams);
+    }
+}
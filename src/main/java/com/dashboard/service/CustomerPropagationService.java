@@ -0,0 +1,249 @@
+package com.dashboard.service;
+
+import com.dashboard.environment.R2Properties;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.PropagationJobStatus;
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.CustomerPropagationJob;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.repository.ICustomerPropagationJobRepository;
+import com.dashboard.service.interfaces.ICustomerPropagationService;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies customer changes onto invoices_search in the background. Each change is persisted as a job that walks
+ * the customer's search documents in bounded _id-ordered chunks under a rate limit, recording its position
+ * after every chunk so an interrupted job resumes where it stopped. A failed run is retried from the same position
+ * with exponential backoff until the attempts run out.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class CustomerPropagationService implements ICustomerPropagationService {
+    private final ICustomerPropagationJobRepository customerPropagationJobRepository;
+    private final MongoTemplate mongoTemplate;
+    private final IInvoiceSearchService invoiceSearchService;
+    private final R2Properties r2Properties;
+    private final SearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = searchProperties.getPropagationPollInterval().toMillis();
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-propagation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::runSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // A job interrupted mid-run keeps its position and is resumed once its lease expires
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public CustomerPropagationJob propagate(Customer customer) {
+        Instant now = Instant.now();
+
+        // Only the latest values matter, so older jobs for this customer stop after their current chunk
+        Query open = Query.query(Criteria.where("customerId").is(customer.get_id()).and("status").in(PropagationJobStatus.OPEN));
+        mongoTemplate.updateMulti(open, new Update()
+                .set("status", PropagationJobStatus.SUPERSEDED)
+                .set("completedAt", now), CustomerPropagationJob.class);
+
+        CustomerPropagationJob job = new CustomerPropagationJob();
+        job.setCustomerId(customer.get_id());
+        job.setCustomerName(customer.getName());
+        job.setCustomerEmail(customer.getEmail());
+        job.setCustomerImageUrl(customer.getImageId() == null
+                ? null
+                : r2Properties.buildPublicCustomerImageUrl(customer.get_id(), customer.getImageId()));
+        job.setStatus(PropagationJobStatus.PENDING);
+        job.setProcessedCount(0L);
+        job.setCreatedAt(now);
+        return customerPropagationJobRepository.insert(job);
+    }
+
+    @Override
+    public void runPendingJobs() {
+        CustomerPropagationJob job;
+        while (!Thread.currentThread().isInterrupted() && (job = claimNextJob()) != null) {
+            run(job);
+        }
+    }
+
+    private void runSafely() {
+        try {
+            runPendingJobs();
+        } catch (RuntimeException e) {
+            log.error("Failed to run customer propagation jobs", e);
+        }
+    }
+
+    private CustomerPropagationJob claimNextJob() {
+        Instant now = Instant.now();
+        Instant leaseExpiredBefore = now.minus(searchProperties.getPropagationLeaseTimeout());
+
+        // Running jobs without a recent heartbeat were abandoned by a stopped worker
+        Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("status").is(PropagationJobStatus.PENDING).and("retryAt").is(null),
+                        Criteria.where("status").is(PropagationJobStatus.PENDING).and("retryAt").lte(now),
+                        Criteria.where("status").is(PropagationJobStatus.RUNNING).and("heartbeatAt").lt(leaseExpiredBefore)))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        Update update = new Update()
+                .set("status", PropagationJobStatus.RUNNING)
+                .set("heartbeatAt", now);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                CustomerPropagationJob.class);
+    }
+
+    private void run(CustomerPropagationJob job) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(Instant.now());
+            job.setTotalCount(mongoTemplate.count(
+                    Query.query(Criteria.where("customerId").is(job.getCustomerId())), InvoiceSearchDocument.class));
+        }
+        long processed = job.getProcessedCount() == null ? 0 : job.getProcessedCount();
+
+        try {
+            int chunkSize = Math.max(1, searchProperties.getPropagationChunkSize());
+            while (true) {
+                // Checked before writing, so a superseded job does not overwrite newer values with another chunk
+                if (!isRunning(job)) {
+                    log.info("Customer propagation job {} superseded after {} documents", job.get_id(), processed);
+                    return;
+                }
+
+                long chunkStart = System.nanoTime();
+                List<ObjectId> ids = invoiceSearchService.syncCustomerChunk(job, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                processed += ids.size();
+                job.setLastProcessedId(ids.getLast());
+                job.setProcessedCount(processed);
+                meterRegistry.counter("customer.propagation.documents").increment(ids.size());
+                if (!saveProgress(job)) {
+                    log.info("Customer propagation job {} superseded after {} documents", job.get_id(), processed);
+                    return;
+                }
+
+                throttle(ids.size(), chunkStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            fail(job, e);
+            return;
+        }
+
+        finish(job, PropagationJobStatus.COMPLETED, null);
+        long nanos = sample.stop(meterRegistry.timer("customer.propagation.duration"));
+        log.info("Customer propagation job {} updated {} search documents of customer {} in {} ms",
+                job.get_id(), processed, job.getCustomerId(), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private boolean isRunning(CustomerPropagationJob job) {
+        Query query = Query.query(Criteria.where("_id").is(job.get_id()).and("status").is(PropagationJobStatus.RUNNING));
+        return mongoTemplate.exists(query, CustomerPropagationJob.class);
+    }
+
+    private void fail(CustomerPropagationJob job, RuntimeException e) {
+        int attempts = (job.getAttempts() == null ? 0 : job.getAttempts()) + 1;
+        job.setAttempts(attempts);
+        if (attempts >= searchProperties.getPropagationMaxAttempts()) {
+            finish(job, PropagationJobStatus.FAILED, e.getMessage());
+            log.error("Customer propagation job {} failed after {} documents and {} attempts",
+                    job.get_id(), job.getProcessedCount(), attempts, e);
+            return;
+        }
+
+        // Back to pending at the last recorded position; a newer change still supersedes it while it waits
+        Duration backoff = searchProperties.getPropagationRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        Query query = Query.query(Criteria.where("_id").is(job.get_id()).and("status").is(PropagationJobStatus.RUNNING));
+        Update update = new Update()
+                .set("status", PropagationJobStatus.PENDING)
+                .set("attempts", attempts)
+                .set("retryAt", Instant.now().plus(backoff))
+                .set("lastProcessedId", job.getLastProcessedId())
+                .set("processedCount", job.getProcessedCount())
+                .set("totalCount", job.getTotalCount())
+                .set("startedAt", job.getStartedAt())
+                .set("error", e.getMessage());
+        mongoTemplate.updateFirst(query, update, CustomerPropagationJob.class);
+        meterRegistry.counter("customer.propagation.retries").increment();
+        log.warn("Customer propagation job {} failed after {} documents, retrying in {} (attempt {} of {})",
+                job.get_id(), job.getProcessedCount(), backoff, attempts, searchProperties.getPropagationMaxAttempts(), e);
+    }
+
+    private boolean saveProgress(CustomerPropagationJob job) {
+        Query query = Query.query(Criteria.where("_id").is(job.get_id()).and("status").is(PropagationJobStatus.RUNNING));
+        Update update = new Update()
+                .set("lastProcessedId", job.getLastProcessedId())
+                .set("processedCount", job.getProcessedCount())
+                .set("totalCount", job.getTotalCount())
+                .set("startedAt", job.getStartedAt())
+                .set("heartbeatAt", Instant.now());
+        return mongoTemplate.updateFirst(query, update, CustomerPropagationJob.class).getModifiedCount() > 0;
+    }
+
+    private void finish(CustomerPropagationJob job, PropagationJobStatus status, String error) {
+        Query query = Query.query(Criteria.where("_id").is(job.get_id()).and("status").is(PropagationJobStatus.RUNNING));
+        Update update = new Update()
+                .set("status", status)
+                .set("processedCount", job.getProcessedCount())
+                .set("totalCount", job.getTotalCount())
+                .set("startedAt", job.getStartedAt())
+                .set("attempts", job.getAttempts())
+                .set("completedAt", Instant.now())
+                .set("error", error);
+        mongoTemplate.updateFirst(query, update, CustomerPropagationJob.class);
+    }
+
+    private void throttle(int documents, long chunkStartNanos) throws InterruptedException {
+        int maxPerSecond = searchProperties.getPropagationMaxDocumentsPerSecond();
+        if (maxPerSecond <= 0) {
+            return;
+        }
+
+        // Spread writes so a large customer never produces a long uninterrupted burst
+        Duration minimum = Duration.ofNanos(TimeUnit.SECONDS.toNanos(documents) / maxPerSecond);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - chunkStartNanos);
+        Duration remaining = minimum.minus(elapsed);
+        if (!remaining.isNegative()) {
+            Thread.sleep(remaining.toMillis());
+        }
+    }
+}
@@ -14,11 +14,16 @@ import com.dashboard.dataTransferObject.customer.CustomerUpdate;
 import com.dashboard.environment.R2Properties;
 import com.dashboard.mapper.interfaces.ICustomerMapper;
 import com.dashboard.model.ActivityEventType;
+import com.dashboard.model.DataCollection;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.repository.ICustomerRepository;
 import com.dashboard.service.interfaces.IActivityFeedService;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.ICustomerPropagationService;
 import com.dashboard.service.interfaces.ICustomerService;
+import com.dashboard.service.interfaces.ICustomerSuggestIndex;
 import com.dashboard.service.interfaces.IR2Service;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.context.annotation.Scope;
@@ -30,6 +35,7 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,24 +43,38 @@ import java.util.UUID;
 @Scope("singleton")
 @RequiredArgsConstructor
 public class CustomerService implements ICustomerService {
+    private static final String ALL_CUSTOMERS_KEY = "all";
 
     private final IActivityFeedService activityFeedService;
     private final ICustomerRepository customerRepository;
     private final ICustomerMapper customerMapper;
     private final IR2Service r2Service;
+    private final Cache<ObjectId, Customer> customerByIdCache;
+    private final Cache<String, List<Customer>> allCustomersCache;
+    private final IDataVersionService dataVersionService;
+    private final ICustomerPropagationService customerPropagationService;
+    private final ICustomerSuggestIndex customerSuggestIndex;
 
     public List<Customer> getAllCustomers() {
-        return customerRepository.findByAudit_DeletedAtIsNull();
+        return allCustomersCache.get(ALL_CUSTOMERS_KEY,
+                key -> List.copyOf(customerRepository.findByAudit_DeletedAtIsNull()));
     }
 
     public Optional<Customer> getCustomer(ObjectId id) {
-        return customerRepository.findBy_idEqualsAndAudit_DeletedAtIsNull(id);
+        // Misses are not cached, a null mapping leaves the cache untouched
+        return Optional.ofNullable(customerByIdCache.get(id,
+                key -> customerRepository.findBy_idEqualsAndAudit_DeletedAtIsNull(key).orElse(null)));
     }
 
     public Long getCount() {
         return (long) customerRepository.countByAudit_DeletedAtIsNull();
     }
 
+    @Override
+    public List<Customer> suggestCustomers(String prefix, int limit) {
+        return customerSuggestIndex.suggest(prefix, limit);
+    }
+
     @Override
     public CustomerRead createCustomer(CustomerCreate customerCreate) {
         Optional<Customer> optionalCustomer = customerRepository.getCustomerByEmail(customerCreate.getEmail());
@@ -70,6 +90,9 @@ public class CustomerService implements ICustomerService {
         Customer customer = customerMapper.toModel(customerCreate);
         customer.setAudit(audit);
         customer = insertCustomer(customer);
+        customerSuggestIndex.put(customer);
+        allCustomersCache.invalidateAll();
+        dataVersionService.bump(DataCollection.CUSTOMERS);
 
         DiffComparer<Customer> comparer = new DiffComparer<>(null, customer);
         DiffResult diff = comparer.compare();
@@ -98,6 +121,13 @@ public class CustomerService implements ICustomerService {
         existingCustomer.setAudit(audit);
 
         Customer saved = saveCustomer(existingCustomer);
+        // Search documents only copy the name, email and image, so other changes leave them in sync
+        if (!Objects.equals(oldState.getName(), existingCustomer.getName())
+                || !Objects.equals(oldState.getEmail(), existingCustomer.getEmail())
+                || !Objects.equals(oldState.getImageId(), existingCustomer.getImageId())) {
+            customerPropagationService.propagate(existingCustomer);
+        }
+        customerSuggestIndex.put(existingCustomer);
 
         DiffComparer<Customer> comparerUpdate = new DiffComparer<>(oldState, saved);
         DiffResult diffUpdate = comparerUpdate.compare();
@@ -121,6 +151,8 @@ public class CustomerService implements ICustomerService {
         audit.setDeletedAt(Instant.now());
         customer.setAudit(audit);
         saveCustomer(customer);
+        customerPropagationService.propagate(customer);
+        customerSuggestIndex.remove(customer.get_id());
 
         DiffComparer<Customer> comparerDelete = new DiffComparer<>(oldState, null);
         DiffResult diffDelete = comparerDelete.compare();
@@ -151,6 +183,9 @@ public class CustomerService implements ICustomerService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid image ID returned");
         }
 
+        // The old image is gone, so drop the cached customer even if the update below fails
+        evictCustomer(customer.get_id());
+
         // Update customer with new image ID
         ObjectId newImageId = new ObjectId(imageObjectId);
         customer.setImageId(newImageId);
@@ -174,7 +209,17 @@ public class CustomerService implements ICustomerService {
     }
 
     private Customer saveCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        evictCustomer(customer.get_id());
+        return saved;
+    }
+
+    private void evictCustomer(ObjectId id) {
+        customerByIdCache.invalidate(id);
+        allCustomersCache.invalidateAll();
+        // Invoice responses embed customer fields, so they change along with the customer
+        dataVersionService.bump(DataCollection.CUSTOMERS);
+        dataVersionService.bump(DataCollection.INVOICES);
     }
 
     private void publishActivityEvent(ActivityEventType type, Customer customer) {
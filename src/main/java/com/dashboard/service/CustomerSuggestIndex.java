@@ -0,0 +1,136 @@
+package com.dashboard.service;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.repository.ICustomerRepository;
+import com.dashboard.search.PrefixKeys;
+import com.dashboard.service.interfaces.ICustomerSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Customer typeahead over a sorted array of normalized name and email keys. A prefix lookup is a binary search
+ * to the first key not below the prefix followed by a scan while keys still start with it.
+ * Readers use an immutable snapshot; writers rebuild it, which is cheap because customer writes are rare.
+ * The index is reloaded periodically, so customers changed by another instance are picked up.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class CustomerSuggestIndex implements ICustomerSuggestIndex {
+
+    private final ICustomerRepository customerRepository;
+
+    // Source of the snapshot, guarded by this
+    private final Map<ObjectId, Customer> customers = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public List<Customer> suggest(String prefix, int limit) {
+        String normalized = PrefixKeys.normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        if (current == null) {
+            load();
+            current = snapshot;
+        }
+
+        // Several keys of one customer can share the prefix, so collect distinct customers in key order
+        Map<ObjectId, Customer> matches = new LinkedHashMap<>();
+        for (int i = current.lowerBound(normalized); i < current.keys().length && matches.size() < limit; i++) {
+            if (!current.keys()[i].startsWith(normalized)) {
+                break;
+            }
+            Customer customer = current.customers()[i];
+            matches.putIfAbsent(customer.get_id(), customer);
+        }
+        return List.copyOf(matches.values());
+    }
+
+    @Override
+    public synchronized void put(Customer customer) {
+        if (customer == null || customer.get_id() == null) {
+            return;
+        }
+        if (customer.getAudit() != null && customer.getAudit().getDeletedAt() != null) {
+            remove(customer.get_id());
+            return;
+        }
+        customers.put(customer.get_id(), customer);
+        publish();
+    }
+
+    @Override
+    public synchronized void remove(ObjectId customerId) {
+        if (customers.remove(customerId) != null) {
+            publish();
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${customer.suggest.reload-interval:PT5M}",
+            initialDelayString = "${customer.suggest.reload-interval:PT5M}")
+    public synchronized void load() {
+        customers.clear();
+        for (Customer customer : customerRepository.findByAudit_DeletedAtIsNull()) {
+            customers.put(customer.get_id(), customer);
+        }
+        publish();
+        log.info("Loaded customer suggest index with {} customers", customers.size());
+    }
+
+    private void publish() {
+        List<Entry> entries = new ArrayList<>();
+        for (Customer customer : customers.values()) {
+            for (String key : PrefixKeys.of(customer.getName(), customer.getEmail())) {
+                entries.add(new Entry(key, customer));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+
+        String[] keys = new String[entries.size()];
+        Customer[] values = new Customer[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key();
+            values[i] = entries.get(i).customer();
+        }
+        snapshot = new Snapshot(keys, values);
+    }
+
+    private record Entry(String key, Customer customer) {
+    }
+
+    private record Snapshot(String[] keys, Customer[] customers) {
+        int lowerBound(String prefix) {
+            int index = Arrays.binarySearch(keys, prefix);
+            return index >= 0 ? firstOf(index) : -index - 1;
+        }
+
+        private int firstOf(int index) {
+            // binarySearch returns any of several equal keys
+            while (index > 0 && keys[index - 1].equals(keys[index])) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dashboard.service;
+
+import com.dashboard.model.DataCollection;
+import com.dashboard.service.interfaces.IDataVersionService;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Scope("singleton")
+public class DataVersionService implements IDataVersionService {
+
+    // Counters restart at zero on boot, the epoch keeps ETags from a previous run from matching
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final Map<DataCollection, AtomicLong> versions = new EnumMap<>(DataCollection.class);
+
+    public DataVersionService() {
+        for (DataCollection collection : DataCollection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    @Override
+    public long getVersion(DataCollection collection) {
+        return versions.get(collection).get();
+    }
+
+    @Override
+    public void bump(DataCollection collection) {
+        versions.get(collection).incrementAndGet();
+    }
+
+    @Override
+    public String etag(DataCollection collection) {
+        return collection.name().toLowerCase(Locale.ROOT) + "-" + epoch + "-" + getVersion(collection);
+    }
+}
@@ -0,0 +1,447 @@
+package com.dashboard.service;
+
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.search.Trigrams;
+import com.dashboard.service.interfaces.IInvoiceSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the live documents of {@code invoices_search}, kept in memory for typeahead search.
+ * Each document gets a slot number; trigrams, amounts and customer ids map to bitsets of slots, and the slots are
+ * also kept in (date, _id) descending order so keyset pages are read without sorting the matches.
+ * Changes made while the index is loading are queued and replayed once the loaded snapshot is in place.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class InvoiceSearchIndex implements IInvoiceSearchIndex {
+    // Same order as the Mongo keyset sort; the slot only separates entries that share a date and id
+    private static final Comparator<SortKey> LATEST_FIRST = Comparator
+            .comparing(SortKey::date, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(SortKey::id, Comparator.nullsFirst(Comparator.<ObjectId>naturalOrder()))
+            .thenComparingInt(SortKey::slot)
+            .reversed();
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchProperties searchProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final List<InvoiceSearchDocument> documents = new ArrayList<>();
+    private final Map<ObjectId, Integer> slotsByInvoiceId = new HashMap<>();
+    private final Map<ObjectId, BitSet> slotsByCustomerId = new HashMap<>();
+    private final Map<String, BitSet> slotsByTrigram = new HashMap<>();
+    private final Map<String, BitSet> slotsByAmount = new HashMap<>();
+    private final NavigableMap<SortKey, Integer> slotsByDate = new TreeMap<>(LATEST_FIRST);
+    private final BitSet liveSlots = new BitSet();
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private boolean loading;
+
+    private volatile boolean ready;
+
+    @Override
+    public Optional<List<InvoiceSearchDocument>> search(String term) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            return Optional.of(resolve(match(term)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<List<InvoiceSearchDocument>> searchAfter(String term, LocalDate date, ObjectId id, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            BitSet matches = match(term);
+
+            // The lowest slot sorts after every entry with the cursor's date and id, so those are skipped too
+            NavigableMap<SortKey, Integer> after = date == null
+                    ? slotsByDate
+                    : slotsByDate.tailMap(new SortKey(date, id, Integer.MIN_VALUE), false);
+            List<InvoiceSearchDocument> results = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            for (Map.Entry<SortKey, Integer> entry : after.entrySet()) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                // Like Mongo's date < cursor, a document without a date never follows a cursor
+                if (date != null && entry.getKey().date() == null) {
+                    break;
+                }
+                if (matches.get(entry.getValue())) {
+                    results.add(documents.get(entry.getValue()));
+                }
+            }
+            return Optional.of(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void put(InvoiceSearchDocument document) {
+        if (document == null || document.getInvoiceId() == null) {
+            return;
+        }
+        InvoiceSearchDocument snapshot = copy(document);
+        apply(() -> {
+            Integer slot = slotsByInvoiceId.get(snapshot.getInvoiceId());
+            if (snapshot.getDeletedAt() != null) {
+                remove(snapshot.getInvoiceId(), true);
+            } else if (slot != null) {
+                // Updating in place keeps the document's position in unsorted results
+                reindex(slot, snapshot);
+            } else {
+                index(snapshot);
+            }
+        });
+    }
+
+    @Override
+    public void updateCustomer(ObjectId customerId, String name, String email, String imageUrl) {
+        if (customerId == null) {
+            return;
+        }
+        apply(() -> {
+            BitSet slots = slotsByCustomerId.get(customerId);
+            if (slots == null) {
+                return;
+            }
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                InvoiceSearchDocument updated = copy(documents.get(slot));
+                updated.setCustomerName(name);
+                updated.setCustomerEmail(email);
+                updated.setCustomerImageUrl(imageUrl);
+                reindex(slot, updated);
+            }
+        });
+    }
+
+    @Override
+    public void remove(ObjectId invoiceId) {
+        if (invoiceId == null) {
+            return;
+        }
+        apply(() -> remove(invoiceId, true));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        if (!searchProperties.isInMemoryIndexEnabled()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                return;
+            }
+            loading = true;
+            ready = false;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Thread.ofVirtual().name("invoice-search-index").start(this::load);
+    }
+
+    /**
+     * Loads the index from Mongo on the calling thread. Searches fall back to Mongo until this completes.
+     */
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<InvoiceSearchDocument> loaded;
+        try {
+            loaded = mongoTemplate.find(Query.query(Criteria.where("deletedAt").is(null)), InvoiceSearchDocument.class);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Failed to load the invoice search index, searches stay on Mongo", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (InvoiceSearchDocument document : loaded) {
+                remove(document.getInvoiceId(), false);
+                index(document);
+            }
+
+            // Changes that raced with the load are replayed on top of the snapshot
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges.clear();
+
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded invoice search index with {} documents", liveSlots.cardinality());
+    }
+
+    private void apply(Runnable change) {
+        if (!searchProperties.isInMemoryIndexEnabled()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                pendingChanges.add(change);
+            } else if (ready) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet match(String term) {
+        if (term.isEmpty()) {
+            return (BitSet) liveSlots.clone();
+        }
+
+        // Same semantics as the Mongo criteria: an ObjectId matches invoice or customer ids
+        if (ObjectId.isValid(term)) {
+            ObjectId objectId = new ObjectId(term);
+            BitSet matches = new BitSet();
+            Integer slot = slotsByInvoiceId.get(objectId);
+            if (slot != null) {
+                matches.set(slot);
+            }
+            BitSet customerSlots = slotsByCustomerId.get(objectId);
+            if (customerSlots != null) {
+                matches.or(customerSlots);
+            }
+            return matches;
+        }
+
+        // Intersect the posting lists of the term's trigrams, then confirm the substring on each candidate
+        BitSet candidates;
+        List<String> trigrams = Trigrams.of(term);
+        if (trigrams.isEmpty()) {
+            candidates = (BitSet) liveSlots.clone();
+        } else {
+            candidates = (BitSet) liveSlots.clone();
+            for (String trigram : trigrams) {
+                BitSet slots = slotsByTrigram.get(trigram);
+                if (slots == null) {
+                    candidates.clear();
+                    break;
+                }
+                candidates.and(slots);
+            }
+        }
+
+        BitSet matches = new BitSet();
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            InvoiceSearchDocument document = documents.get(slot);
+            if (contains(document.getStatus(), term)
+                    || contains(document.getCustomerName(), term)
+                    || contains(document.getCustomerEmail(), term)) {
+                matches.set(slot);
+            }
+        }
+
+        String amountKey = amountKey(term);
+        if (amountKey != null) {
+            BitSet amountSlots = slotsByAmount.get(amountKey);
+            if (amountSlots != null) {
+                matches.or(amountSlots);
+            }
+        }
+        return matches;
+    }
+
+    private List<InvoiceSearchDocument> resolve(BitSet slots) {
+        List<InvoiceSearchDocument> results = new ArrayList<>(slots.cardinality());
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            results.add(documents.get(slot));
+        }
+        return results;
+    }
+
+    private void index(InvoiceSearchDocument document) {
+        int slot = documents.size();
+        documents.add(document);
+        slotsByInvoiceId.put(document.getInvoiceId(), slot);
+        addPostings(slot, document);
+    }
+
+    private void reindex(int slot, InvoiceSearchDocument document) {
+        removePostings(slot, documents.get(slot));
+        documents.set(slot, document);
+        addPostings(slot, document);
+    }
+
+    private void remove(ObjectId invoiceId, boolean compact) {
+        Integer slot = slotsByInvoiceId.remove(invoiceId);
+        if (slot == null) {
+            return;
+        }
+        removePostings(slot, documents.get(slot));
+        documents.set(slot, null);
+
+        // Free slots are not reused, so rebuild the arrays once most of them are empty
+        if (compact && liveSlots.cardinality() * 2 < documents.size()) {
+            List<InvoiceSearchDocument> live = resolve(liveSlots);
+            clear();
+            live.forEach(this::index);
+        }
+    }
+
+    private void addPostings(int slot, InvoiceSearchDocument document) {
+        liveSlots.set(slot);
+        slotsByDate.put(sortKey(slot, document), slot);
+        if (document.getCustomerId() != null) {
+            slotsByCustomerId.computeIfAbsent(document.getCustomerId(), key -> new BitSet()).set(slot);
+        }
+        for (String trigram : trigramsOf(document)) {
+            slotsByTrigram.computeIfAbsent(trigram, key -> new BitSet()).set(slot);
+        }
+        if (document.getAmount() != null) {
+            slotsByAmount.computeIfAbsent(amountKey(document.getAmount()), key -> new BitSet()).set(slot);
+        }
+    }
+
+    private void removePostings(int slot, InvoiceSearchDocument document) {
+        liveSlots.clear(slot);
+        slotsByDate.remove(sortKey(slot, document));
+        if (document.getCustomerId() != null) {
+            clearSlot(slotsByCustomerId, document.getCustomerId(), slot);
+        }
+        for (String trigram : trigramsOf(document)) {
+            clearSlot(slotsByTrigram, trigram, slot);
+        }
+        if (document.getAmount() != null) {
+            clearSlot(slotsByAmount, amountKey(document.getAmount()), slot);
+        }
+    }
+
+    private void clear() {
+        documents.clear();
+        slotsByInvoiceId.clear();
+        slotsByCustomerId.clear();
+        slotsByTrigram.clear();
+        slotsByAmount.clear();
+        liveSlots.clear();
+        slotsByDate.clear();
+    }
+
+    private static <K> void clearSlot(Map<K, BitSet> postings, K key, int slot) {
+        BitSet slots = postings.get(key);
+        if (slots == null) {
+            return;
+        }
+        slots.clear(slot);
+        if (slots.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static SortKey sortKey(int slot, InvoiceSearchDocument document) {
+        return new SortKey(document.getDate(), document.get_id(), slot);
+    }
+
+    private static List<String> trigramsOf(InvoiceSearchDocument document) {
+        return Trigrams.of(document.getStatus(), document.getCustomerName(), document.getCustomerEmail());
+    }
+
+    private static boolean contains(String value, String term) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+
+    private static String amountKey(String term) {
+        try {
+            return amountKey(new BigDecimal(term));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String amountKey(BigDecimal amount) {
+        // Amounts are Decimal128, which Mongo compares numerically, so 100 and 100.00 share a key
+        return amount.stripTrailingZeros().toPlainString();
+    }
+
+    private static InvoiceSearchDocument copy(InvoiceSearchDocument source) {
+        InvoiceSearchDocument copy = new InvoiceSearchDocument();
+        copy.set_id(source.get_id());
+        copy.setInvoiceId(source.getInvoiceId());
+        copy.setCustomerId(source.getCustomerId());
+        copy.setAmount(source.getAmount());
+        copy.setDate(source.getDate());
+        copy.setStatus(source.getStatus());
+        copy.setCustomerName(source.getCustomerName());
+        copy.setCustomerEmail(source.getCustomerEmail());
+        copy.setCustomerImageUrl(source.getCustomerImageUrl());
+        copy.setSearchTrigrams(source.getSearchTrigrams());
+        copy.setDeletedAt(source.getDeletedAt());
+        copy.setLastSyncedAt(source.getLastSyncedAt());
+        return copy;
+    }
+
+    private record SortKey(LocalDate date, ObjectId id, int slot) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.dashboard.service;
+
+import com.dashboard.common.model.Audit;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.model.entities.SyncWatermark;
+import com.dashboard.repository.IInvoiceRepository;
+import com.dashboard.service.interfaces.IInvoiceSearchReconciler;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repairs drift in invoices_search by only looking at invoices changed since the persisted watermark,
+ * so a run costs in proportion to the change volume rather than the collection size.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class InvoiceSearchReconciler implements IInvoiceSearchReconciler {
+    public static final String WATERMARK_NAME = "invoices_search";
+
+    private final IInvoiceRepository invoiceRepository;
+    private final MongoTemplate mongoTemplate;
+    private final IInvoiceSearchService invoiceSearchService;
+    private final SearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastDrift = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("invoice.search.reconcile.drift", lastDrift, AtomicLong::get)
+                .description("Stale search documents found by the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${search.reconcile-interval:PT5M}",
+            initialDelayString = "${search.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Invoice search reconciliation already running, skipping");
+            return;
+        }
+
+        try {
+            Timer.Sample sample = Timer.start(meterRegistry);
+
+            // The newest writes are still on their way through the sync queue, the next run covers them
+            Instant until = Instant.now().minus(searchProperties.getReconcileGracePeriod());
+            Instant since = readWatermark();
+            if (!since.isBefore(until)) {
+                return;
+            }
+
+            // Deletes only set audit.deletedAt, so both timestamps are scanned
+            Query changed = Query.query(new Criteria().orOperator(
+                    Criteria.where("audit.updatedAt").gte(since).lt(until),
+                    Criteria.where("audit.deletedAt").gte(since).lt(until)));
+            AtomicLong scanned = new AtomicLong();
+            AtomicLong stale = new AtomicLong();
+            invoiceRepository.streamWithCustomers(changed, searchProperties.getReconcileBatchSize(), invoices -> {
+                scanned.addAndGet(invoices.size());
+                stale.addAndGet(resyncStale(invoices));
+            });
+
+            saveWatermark(until);
+            lastDrift.set(stale.get());
+            meterRegistry.counter("invoice.search.reconcile.scanned").increment(scanned.get());
+            sample.stop(meterRegistry.timer("invoice.search.reconcile.duration"));
+            log.info("Reconciled invoice search: {} changed invoices, {} stale documents resynced",
+                    scanned.get(), stale.get());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int resyncStale(List<Invoice> invoices) {
+        List<ObjectId> ids = invoices.stream().map(Invoice::get_id).toList();
+        Query query = Query.query(Criteria.where("invoiceId").in(ids).and("deletedAt").is(null));
+        query.fields().include("invoiceId", "lastSyncedAt");
+
+        Map<ObjectId, InvoiceSearchDocument> liveDocs = new HashMap<>();
+        for (InvoiceSearchDocument doc : mongoTemplate.find(query, InvoiceSearchDocument.class)) {
+            liveDocs.put(doc.getInvoiceId(), doc);
+        }
+
+        List<Invoice> stale = new ArrayList<>();
+        for (Invoice invoice : invoices) {
+            String reason = staleReason(invoice, liveDocs.get(invoice.get_id()));
+            if (reason != null) {
+                stale.add(invoice);
+                meterRegistry.counter("invoice.search.reconcile.stale", "reason", reason).increment();
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            invoiceSearchService.syncInvoices(stale);
+        }
+        return stale.size();
+    }
+
+    private static String staleReason(Invoice invoice, InvoiceSearchDocument doc) {
+        Audit audit = invoice.getAudit();
+        if (audit != null && audit.getDeletedAt() != null) {
+            return doc == null ? null : "deleted";
+        }
+        if (doc == null) {
+            // Invoices without a customer never get a search document
+            return invoice.getCustomer() == null ? null : "missing";
+        }
+
+        Instant updatedAt = audit == null ? null : audit.getUpdatedAt();
+        if (doc.getLastSyncedAt() == null || (updatedAt != null && doc.getLastSyncedAt().isBefore(updatedAt))) {
+            return "outdated";
+        }
+        return null;
+    }
+
+    private Instant readWatermark() {
+        // Without a watermark the first run compares every invoice once
+        SyncWatermark watermark = mongoTemplate.findById(WATERMARK_NAME, SyncWatermark.class);
+        return watermark == null || watermark.getWatermark() == null ? Instant.EPOCH : watermark.getWatermark();
+    }
+
+    private void saveWatermark(Instant watermark) {
+        Update update = new Update()
+                .set("watermark", watermark)
+                .set("reconciledAt", Instant.now());
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(WATERMARK_NAME)), update, SyncWatermark.class);
+    }
+}
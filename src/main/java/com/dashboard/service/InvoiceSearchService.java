@@ -1,97 +1,269 @@
 package com.dashboard.service;
 
+import com.dashboard.common.model.exception.InvalidRequestException;
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
+import com.dashboard.dataTransferObject.page.PageCursor;
+import com.dashboard.environment.R2Properties;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.PropagationJobStatus;
+import com.dashboard.model.SearchMode;
 import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.CustomerPropagationJob;
 import com.dashboard.model.entities.Invoice;
 import com.dashboard.model.entities.InvoiceSearchDocument;
 import com.dashboard.repository.IInvoiceRepository;
 import com.dashboard.repository.IInvoiceSearchRepository;
+import com.dashboard.search.Trigrams;
+import com.dashboard.service.interfaces.IInvoiceSearchIndex;
+import com.dashboard.service.interfaces.IInvoiceSearchSyncQueue;
 import com.dashboard.service.interfaces.IInvoiceSearchService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
+@Slf4j
 @Service
 @Scope("singleton")
 @RequiredArgsConstructor
 public class InvoiceSearchService implements IInvoiceSearchService {
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "date", "_id");
+    private static final String[] LIST_FIELDS = {
+            "invoiceId", "customerId", "amount", "date", "status", "customerName", "customerEmail", "customerImageUrl"
+    };
+    private static final String TEXT_COUNT_KEY_PREFIX = "$text:";
+    private static final String SEARCH_COLLECTION = "invoices_search";
+    private static final String SHADOW_COLLECTION = "invoices_search_rebuild";
 
     private final IInvoiceSearchRepository invoiceSearchRepository;
     private final IInvoiceRepository invoiceRepository;
     private final MongoTemplate mongoTemplate;
+    private final Cache<String, Long> invoiceSearchCountCache;
+    private final R2Properties r2Properties;
+    private final IInvoiceSearchIndex invoiceSearchIndex;
+    private final Cache<String, Page<InvoiceSearchDocument>> invoiceSearchResultCache;
+    private final SearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+    // Looked up on use, since the queue writes through this service
+    private final ObjectProvider<IInvoiceSearchSyncQueue> invoiceSearchSyncQueue;
+
+    // Bumped by every sync hook; cached result pages are keyed by the generation they were read at
+    private final AtomicLong searchGeneration = new AtomicLong();
+
+    // Rebuild progress, exported as gauges
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong rebuildExpected = new AtomicLong();
+    private final AtomicLong rebuildWritten = new AtomicLong();
+    private final AtomicLong rebuildThroughput = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("invoice.search.rebuild.expected", rebuildExpected, AtomicLong::get)
+                .description("Invoices to copy in the current or last search rebuild")
+                .register(meterRegistry);
+        Gauge.builder("invoice.search.rebuild.written", rebuildWritten, AtomicLong::get)
+                .description("Search documents written to the shadow collection so far")
+                .register(meterRegistry);
+        Gauge.builder("invoice.search.rebuild.throughput", rebuildThroughput, AtomicLong::get)
+                .description("Documents per second of the last completed search rebuild")
+                .baseUnit("documents/s")
+                .register(meterRegistry);
+        Gauge.builder("invoice.search.rebuild.active", rebuilding, active -> active.get() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateAmounts() {
+        // Documents synced before amount was stored as Decimal128 hold a string, which range filters never match
+        Query query = Query.query(Criteria.where("amount").type(JsonSchemaObject.Type.stringType()));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("amount").toValue(ConvertOperators.valueOf("amount").convertToDecimal());
+        long migrated = mongoTemplate.updateMulti(query, update, InvoiceSearchDocument.class).getModifiedCount();
+        if (migrated > 0) {
+            log.info("Converted {} invoice search amounts to Decimal128", migrated);
+            invalidateResults();
+        }
+    }
 
     @Override
-    public Page<InvoiceSearchDocument> search(String searchTerm, Pageable pageable) {
-        // Empty search - return all non-deleted documents
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return invoiceSearchRepository.findByDeletedAtIsNull(pageable);
+    public Page<InvoiceSearchDocument> search(String searchTerm, SearchMode mode, InvoiceFilter filter, Pageable pageable) {
+        String term = normalize(searchTerm);
+        SearchMode resolvedMode = resolveMode(term, mode);
+        List<Criteria> filters = filterCriteria(filter);
+        String filterKey = filterKey(filter, filters);
+        String key = resultCacheKey(term, resolvedMode, filterKey, pageable);
+        return invoiceSearchResultCache.get(key, ignored -> loadPage(term, resolvedMode, filters, filterKey, pageable));
+    }
+
+    @Override
+    public Slice<InvoiceSearchDocument> searchSlice(String searchTerm, SearchMode mode, InvoiceFilter filter,
+                                                    Pageable pageable) {
+        String term = normalize(searchTerm);
+        SearchMode resolvedMode = resolveMode(term, mode);
+        List<Criteria> filters = filterCriteria(filter);
+        Optional<List<InvoiceSearchDocument>> indexed = searchIndex(term, resolvedMode, filters, pageable);
+        if (indexed.isPresent()) {
+            List<InvoiceSearchDocument> matches = indexed.get();
+            if (pageable.isUnpaged()) {
+                return new SliceImpl<>(matches);
+            }
+            boolean hasNext = pageable.getOffset() + pageable.getPageSize() < matches.size();
+            return new SliceImpl<>(pageOf(matches, pageable), pageable, hasNext);
         }
 
-        String term = searchTerm.trim();
+        Query query = buildQuery(term, resolvedMode, filters);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(mongoTemplate.find(query, InvoiceSearchDocument.class));
+        }
 
-        // If it's a valid ObjectId, search by invoice ID or customer ID
-        if (ObjectId.isValid(term)) {
-            ObjectId objectId = new ObjectId(term);
-            Query q = new Query()
-                    .addCriteria(new Criteria().orOperator(
-                            Criteria.where("invoiceId").is(objectId),
-                            Criteria.where("customerId").is(objectId)
-                    ))
-                    .addCriteria(Criteria.where("deletedAt").is(null))
-                    .with(pageable);
+        // Fetch one extra row to know whether another page follows, without counting
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize() + 1);
+        List<InvoiceSearchDocument> results = mongoTemplate.find(query, InvoiceSearchDocument.class);
 
-            List<InvoiceSearchDocument> results = mongoTemplate.find(q, InvoiceSearchDocument.class);
-            long count = mongoTemplate.count(Query.query(new Criteria().orOperator(
-                    Criteria.where("invoiceId").is(objectId),
-                    Criteria.where("customerId").is(objectId)
-            )).addCriteria(Criteria.where("deletedAt").is(null)), InvoiceSearchDocument.class);
-            return new PageImpl<>(results, pageable, count);
+        boolean hasNext = results.size() > pageable.getPageSize();
+        if (hasNext) {
+            results = results.subList(0, pageable.getPageSize());
         }
+        return new SliceImpl<>(results, pageable, hasNext);
+    }
 
-        // Use regex for partial text matching (more flexible than MongoDB text search)
-        String regex = Pattern.quote(term);
-        List<Criteria> searchCriteria = new ArrayList<>();
+    @Override
+    public long count(String searchTerm, SearchMode mode, InvoiceFilter filter) {
+        String term = normalize(searchTerm);
+        SearchMode resolvedMode = resolveMode(term, mode);
+        List<Criteria> filters = filterCriteria(filter);
+        return count(term, resolvedMode, filters, filterKey(filter, filters));
+    }
 
-        // Text fields - case insensitive regex
-        searchCriteria.add(Criteria.where("status").regex(regex, "i"));
-        searchCriteria.add(Criteria.where("customerName").regex(regex, "i"));
-        searchCriteria.add(Criteria.where("customerEmail").regex(regex, "i"));
+    @Override
+    public Slice<InvoiceSearchDocument> searchAfter(String searchTerm, SearchMode mode, InvoiceFilter filter,
+                                                    String cursor, int size) {
+        String term = normalize(searchTerm);
+        SearchMode resolvedMode = resolveMode(term, mode);
+        List<Criteria> filters = filterCriteria(filter);
+        PageCursor pageCursor = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        LocalDate date = pageCursor == null ? null : pageCursor.sortKeyAsDate();
+        if (resolvedMode == SearchMode.REGEX && filters.isEmpty()) {
+            // The index walks its slots in keyset order from the cursor, mirroring the Mongo query below
+            Optional<List<InvoiceSearchDocument>> indexed = invoiceSearchIndex.searchAfter(term, date,
+                    pageCursor == null ? null : pageCursor.getId(), size + 1);
+            if (indexed.isPresent()) {
+                return sliceOf(indexed.get(), size);
+            }
+        }
 
-        // Numeric search for amount
-        try {
-            BigDecimal numericValue = new BigDecimal(term);
-            searchCriteria.add(Criteria.where("amount").is(numericValue));
-        } catch (NumberFormatException ignored) {
-            // Not a number, skip
+        List<Criteria> extra = new ArrayList<>(filters);
+        if (pageCursor != null) {
+            // Seek past the last row of the previous page instead of skipping over every earlier page
+            extra.add(new Criteria().orOperator(
+                    Criteria.where("date").lt(date),
+                    Criteria.where("date").is(date).and("_id").lt(pageCursor.getId())));
         }
 
-        Query query = new Query()
-                .addCriteria(new Criteria().orOperator(searchCriteria.toArray(new Criteria[0])))
-                .addCriteria(Criteria.where("deletedAt").is(null))
-                .with(pageable);
+        // Keyset pages follow (date, _id), so text matches are not ranked by score here
+        Query query;
+        if (resolvedMode == SearchMode.TEXT) {
+            query = textQuery(term, extra);
+        } else {
+            query = Query.query(withAll(buildCriteria(term), extra));
+        }
 
-        List<InvoiceSearchDocument> results = mongoTemplate.find(query, InvoiceSearchDocument.class);
+        // Fetch one extra row to know whether another page follows
+        query.with(LATEST_FIRST).limit(size + 1);
+        return sliceOf(mongoTemplate.find(query, InvoiceSearchDocument.class), size);
+    }
 
-        // Count query without pagination
-        Query countQuery = new Query()
-                .addCriteria(new Criteria().orOperator(searchCriteria.toArray(new Criteria[0])))
-                .addCriteria(Criteria.where("deletedAt").is(null));
-        long total = mongoTemplate.count(countQuery, InvoiceSearchDocument.class);
+    @Override
+    public List<InvoiceSearchDocument> list(String status, long offset, Integer limit) {
+        Criteria criteria = Criteria.where("deletedAt").is(null);
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
 
-        return new PageImpl<>(results, pageable, total);
+        Query query = Query.query(criteria)
+                .with(LATEST_FIRST)
+                .skip(offset);
+        if (limit != null) {
+            query.limit(limit);
+        }
+        query.fields().include(LIST_FIELDS).exclude("_id");
+        return mongoTemplate.find(query, InvoiceSearchDocument.class);
+    }
+
+    @Override
+    public boolean isInSync() {
+        // Queued invoices are already saved, but their search documents are written by a later flush
+        if (invoiceSearchSyncQueue.getObject().getDepth() > 0) {
+            return false;
+        }
+
+        // Customer changes that touch the copied fields reach the search documents through propagation jobs;
+        // an open one means some of them still carry the old values (status_createdAt_idx)
+        Query openJobs = Query.query(Criteria.where("status").in(PropagationJobStatus.OPEN));
+        if (mongoTemplate.exists(openJobs, CustomerPropagationJob.class)) {
+            return false;
+        }
+
+        // Any invoice write after the newest sync means some documents may be stale; each lookup is one index seek
+        Instant lastSyncedAt = latestInstant("invoices_search", "lastSyncedAt");
+        // Either may be null, which List.of rejects
+        List<Instant> lastChanges = Arrays.asList(
+                latestInstant("invoices", "audit.updatedAt"),
+                latestInstant("invoices", "audit.deletedAt"));
+        for (Instant lastChange : lastChanges) {
+            if (lastChange != null && (lastSyncedAt == null || lastChange.isAfter(lastSyncedAt))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -116,20 +288,50 @@ public class InvoiceSearchService implements IInvoiceSearchService {
             doc.setInvoiceId(invoice.get_id());
         }
 
-        // Update invoice fields
-        doc.setAmount(invoice.getAmount());
-        doc.setDate(invoice.getDate());
-        doc.setStatus(invoice.getStatus());
+        applyInvoice(doc, invoice, Instant.now());
 
-        // Update customer fields
-        doc.setCustomerId(customer.get_id());
-        doc.setCustomerName(customer.getName());
-        doc.setCustomerEmail(customer.getEmail());
+        invoiceSearchRepository.save(doc);
+        invoiceSearchIndex.put(doc);
+        invalidateResults();
+    }
 
-        // Update tracking
-        doc.setLastSyncedAt(Instant.now());
+    @Override
+    public void syncInvoices(List<Invoice> invoices) {
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvoiceSearchDocument.class);
+        List<ObjectId> syncedIds = new ArrayList<>();
+        List<ObjectId> deletedIds = new ArrayList<>();
 
-        invoiceSearchRepository.save(doc);
+        for (Invoice invoice : invoices) {
+            if (invoice == null || invoice.get_id() == null) {
+                continue;
+            }
+
+            Query query = Query.query(Criteria.where("invoiceId").is(invoice.get_id()).and("deletedAt").is(null));
+            if (invoice.getAudit() != null && invoice.getAudit().getDeletedAt() != null) {
+                bulk.updateOne(query, new Update().set("deletedAt", now).set("lastSyncedAt", now));
+                deletedIds.add(invoice.get_id());
+            } else if (invoice.getCustomer() != null) {
+                InvoiceSearchDocument doc = new InvoiceSearchDocument();
+                applyInvoice(doc, invoice, now);
+                bulk.upsert(query, toUpdate(doc));
+                syncedIds.add(invoice.get_id());
+            }
+        }
+        if (syncedIds.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+
+        // One round trip for the whole batch, upserting on invoiceId
+        bulk.execute();
+
+        deletedIds.forEach(invoiceSearchIndex::remove);
+        if (!syncedIds.isEmpty() && searchProperties.isInMemoryIndexEnabled()) {
+            // Upserted documents only get their _id server-side, so read them back for the in-memory index
+            Query synced = Query.query(Criteria.where("invoiceId").in(syncedIds).and("deletedAt").is(null));
+            mongoTemplate.find(synced, InvoiceSearchDocument.class).forEach(invoiceSearchIndex::put);
+        }
+        invalidateResults();
     }
 
     @Override
@@ -138,14 +340,68 @@ public class InvoiceSearchService implements IInvoiceSearchService {
             return;
         }
 
-        // Batch update all search documents for this customer
-        Query query = Query.query(Criteria.where("customerId").is(customer.get_id()));
-        Update update = new Update()
-                .set("customerName", customer.getName())
-                .set("customerEmail", customer.getEmail())
-                .set("lastSyncedAt", Instant.now());
+        // Trigrams also cover the invoice status, so batch update the customer's documents once per status
+        Criteria customerCriteria = Criteria.where("customerId").is(customer.get_id());
+        List<String> statuses = mongoTemplate.findDistinct(
+                Query.query(customerCriteria), "status", InvoiceSearchDocument.class, String.class);
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        String imageUrl = buildImageUrl(customer);
+        invoiceSearchIndex.updateCustomer(customer.get_id(), customer.getName(), customer.getEmail(), imageUrl);
+        for (String status : statuses) {
+            Query query = Query.query(Criteria.where("customerId").is(customer.get_id()).and("status").is(status));
+            Update update = new Update()
+                    .set("customerName", customer.getName())
+                    .set("customerEmail", customer.getEmail())
+                    .set("customerImageUrl", imageUrl)
+                    .set("searchTrigrams", Trigrams.of(status, customer.getName(), customer.getEmail()))
+                    .set("lastSyncedAt", now);
+
+            mongoTemplate.updateMulti(query, update, InvoiceSearchDocument.class);
+        }
+        invalidateResults();
+    }
+
+    @Override
+    public List<ObjectId> syncCustomerChunk(CustomerPropagationJob job, int limit) {
+        Criteria criteria = Criteria.where("customerId").is(job.getCustomerId());
+        if (job.getLastProcessedId() != null) {
+            criteria = criteria.and("_id").gt(job.getLastProcessedId());
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        query.fields().include("_id", "status");
+        List<InvoiceSearchDocument> docs = mongoTemplate.find(query, InvoiceSearchDocument.class);
+        if (docs.isEmpty()) {
+            return List.of();
+        }
 
-        mongoTemplate.updateMulti(query, update, InvoiceSearchDocument.class);
+        // Trigrams also cover the invoice status, so the chunk is updated once per status
+        Map<String, List<ObjectId>> idsByStatus = new HashMap<>();
+        for (InvoiceSearchDocument doc : docs) {
+            idsByStatus.computeIfAbsent(doc.getStatus(), key -> new ArrayList<>()).add(doc.get_id());
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvoiceSearchDocument.class);
+        idsByStatus.forEach((status, ids) -> bulk.updateMulti(
+                Query.query(Criteria.where("_id").in(ids)),
+                new Update()
+                        .set("customerName", job.getCustomerName())
+                        .set("customerEmail", job.getCustomerEmail())
+                        .set("customerImageUrl", job.getCustomerImageUrl())
+                        .set("searchTrigrams", Trigrams.of(status, job.getCustomerName(), job.getCustomerEmail()))
+                        .set("lastSyncedAt", now)));
+        bulk.execute();
+
+        invoiceSearchIndex.updateCustomer(job.getCustomerId(), job.getCustomerName(), job.getCustomerEmail(),
+                job.getCustomerImageUrl());
+        invalidateResults();
+        return docs.stream().map(InvoiceSearchDocument::get_id).toList();
     }
 
     @Override
@@ -155,20 +411,382 @@ public class InvoiceSearchService implements IInvoiceSearchService {
         }
 
         Query query = Query.query(Criteria.where("invoiceId").is(invoiceId));
-        Update update = new Update().set("deletedAt", Instant.now());
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("deletedAt", now)
+                .set("lastSyncedAt", now);
 
         mongoTemplate.updateFirst(query, update, InvoiceSearchDocument.class);
+        invoiceSearchIndex.remove(invoiceId);
+        invalidateResults();
     }
 
     @Override
     public void rebuildIndex() {
-        // Clear all existing search documents
-        mongoTemplate.remove(new Query(), InvoiceSearchDocument.class);
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.warn("Invoice search rebuild already running, skipping");
+            return;
+        }
+
+        try {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Instant startedAt = Instant.now();
+            copyToShadow(startedAt);
+            swapShadow();
+            catchUp(startedAt);
+            long nanos = sample.stop(meterRegistry.timer("invoice.search.rebuild.duration"));
+
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos));
+            rebuildThroughput.set(rebuildWritten.get() / seconds);
+            log.info("Rebuilt invoice search index with {} documents", rebuildWritten.get());
+        } finally {
+            rebuilding.set(false);
+            invalidateResults();
+            invoiceSearchIndex.reload();
+        }
+    }
+
+    private void copyToShadow(Instant startedAt) {
+        mongoTemplate.dropCollection(SHADOW_COLLECTION);
+
+        Query query = Query.query(Criteria.where("audit.deletedAt").is(null));
+        rebuildExpected.set(mongoTemplate.count(query, Invoice.class));
+        rebuildWritten.set(0);
+
+        // Chunks are transformed and written by a bounded pool; a full queue makes the reader do the work itself
+        int threads = Math.max(1, searchProperties.getRebuildThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        try {
+            invoiceRepository.streamWithCustomers(query, searchProperties.getRebuildBatchSize(), invoices ->
+                    writes.add(CompletableFuture.runAsync(() -> writeChunk(invoices, startedAt), executor)));
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Create the entity's declared indexes before the shadow collection goes live
+        IndexResolver indexResolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (IndexDefinition index : indexResolver.resolveIndexFor(InvoiceSearchDocument.class)) {
+            mongoTemplate.indexOps(SHADOW_COLLECTION).createIndex(index);
+        }
+    }
+
+    private void writeChunk(List<Invoice> invoices, Instant syncedAt) {
+        List<InvoiceSearchDocument> docs = new ArrayList<>(invoices.size());
+        for (Invoice invoice : invoices) {
+            if (invoice.getCustomer() == null) {
+                continue;
+            }
+            InvoiceSearchDocument doc = new InvoiceSearchDocument();
+            doc.setInvoiceId(invoice.get_id());
+            applyInvoice(doc, invoice, syncedAt);
+            docs.add(doc);
+        }
+        if (docs.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvoiceSearchDocument.class, SHADOW_COLLECTION)
+                .insert(docs)
+                .execute();
+        rebuildWritten.addAndGet(docs.size());
+    }
+
+    private void swapShadow() {
+        // renameCollection with dropTarget replaces the live collection in one step, so search never sees it empty
+        String database = mongoTemplate.getDb().getName();
+        mongoTemplate.getCollection(SHADOW_COLLECTION).renameCollection(
+                new MongoNamespace(database, SEARCH_COLLECTION),
+                new RenameCollectionOptions().dropTarget(true));
+    }
+
+    private void catchUp(Instant startedAt) {
+        // Syncs that ran during the copy wrote to the collection that was just replaced, so replay them
+        Query changedInvoices = Query.query(new Criteria().orOperator(
+                Criteria.where("audit.createdAt").gte(startedAt),
+                Criteria.where("audit.updatedAt").gte(startedAt),
+                Criteria.where("audit.deletedAt").gte(startedAt)));
+        for (Invoice invoice : invoiceRepository.findWithCustomers(changedInvoices)) {
+            if (invoice.getAudit() != null && invoice.getAudit().getDeletedAt() != null) {
+                markInvoiceDeleted(invoice.get_id());
+            } else {
+                syncInvoice(invoice);
+            }
+        }
+
+        Query changedCustomers = Query.query(Criteria.where("audit.updatedAt").gte(startedAt));
+        for (Customer customer : mongoTemplate.find(changedCustomers, Customer.class)) {
+            syncCustomer(customer);
+        }
+    }
+
+    private Update toUpdate(InvoiceSearchDocument doc) {
+        return new Update()
+                .set("amount", doc.getAmount())
+                .set("date", doc.getDate())
+                .set("status", doc.getStatus())
+                .set("customerId", doc.getCustomerId())
+                .set("customerName", doc.getCustomerName())
+                .set("customerEmail", doc.getCustomerEmail())
+                .set("customerImageUrl", doc.getCustomerImageUrl())
+                .set("searchTrigrams", doc.getSearchTrigrams())
+                .set("lastSyncedAt", doc.getLastSyncedAt());
+    }
+
+    private void applyInvoice(InvoiceSearchDocument doc, Invoice invoice, Instant syncedAt) {
+        Customer customer = invoice.getCustomer();
+
+        // Update invoice fields
+        doc.setAmount(invoice.getAmount());
+        doc.setDate(invoice.getDate());
+        doc.setStatus(invoice.getStatus());
+
+        // Update customer fields
+        doc.setCustomerId(customer.get_id());
+        doc.setCustomerName(customer.getName());
+        doc.setCustomerEmail(customer.getEmail());
+        doc.setCustomerImageUrl(buildImageUrl(customer));
+        doc.setSearchTrigrams(Trigrams.of(invoice.getStatus(), customer.getName(), customer.getEmail()));
+
+        // Update tracking
+        doc.setLastSyncedAt(syncedAt);
+    }
+
+    private Page<InvoiceSearchDocument> loadPage(String term, SearchMode resolvedMode, List<Criteria> filters,
+                                                 String filterKey, Pageable pageable) {
+        Optional<List<InvoiceSearchDocument>> indexed = searchIndex(term, resolvedMode, filters, pageable);
+        if (indexed.isPresent()) {
+            List<InvoiceSearchDocument> matches = indexed.get();
+            return new PageImpl<>(pageOf(matches, pageable), pageable, matches.size());
+        }
+
+        Query query = buildQuery(term, resolvedMode, filters).with(pageable);
+        List<InvoiceSearchDocument> results = mongoTemplate.find(query, InvoiceSearchDocument.class);
+        return new PageImpl<>(results, pageable, count(term, resolvedMode, filters, filterKey));
+    }
+
+    private long count(String term, SearchMode resolvedMode, List<Criteria> filters, String filterKey) {
+        if (resolvedMode == SearchMode.TEXT) {
+            return invoiceSearchCountCache.get(TEXT_COUNT_KEY_PREFIX + filterKey + term,
+                    key -> mongoTemplate.count(textQuery(term, filters), InvoiceSearchDocument.class));
+        }
+
+        if (filters.isEmpty()) {
+            Optional<List<InvoiceSearchDocument>> indexed = invoiceSearchIndex.search(term);
+            if (indexed.isPresent()) {
+                return indexed.get().size();
+            }
+        }
+        return invoiceSearchCountCache.get(filterKey + term,
+                key -> mongoTemplate.count(Query.query(withAll(buildCriteria(term), filters)), InvoiceSearchDocument.class));
+    }
+
+    private void invalidateResults() {
+        searchGeneration.incrementAndGet();
+        invoiceSearchCountCache.invalidateAll();
+    }
+
+    private String resultCacheKey(String term, SearchMode mode, String filterKey, Pageable pageable) {
+        String page = pageable.isPaged() ? pageable.getPageNumber() + ":" + pageable.getPageSize() : "unpaged";
+        return searchGeneration.get() + ":" + mode + ":" + page + ":" + pageable.getSort() + ":" + filterKey + term;
+    }
+
+    private Optional<List<InvoiceSearchDocument>> searchIndex(String term, SearchMode mode, List<Criteria> filters,
+                                                              Pageable pageable) {
+        // The index returns matches in insertion order, so explicitly sorted and ranked requests stay on Mongo.
+        // It only knows the search term, so filtered requests use the compound indexes instead.
+        if (mode != SearchMode.REGEX || pageable.getSort().isSorted() || !filters.isEmpty()) {
+            return Optional.empty();
+        }
+        return invoiceSearchIndex.search(term);
+    }
+
+    private static Slice<InvoiceSearchDocument> sliceOf(List<InvoiceSearchDocument> results, int size) {
+        boolean hasNext = results.size() > size;
+        if (hasNext) {
+            results = results.subList(0, size);
+        }
+        return new SliceImpl<>(results, Pageable.ofSize(size), hasNext);
+    }
+
+    private static <T> List<T> pageOf(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return items;
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return items.subList(from, to);
+    }
+
+    private String buildImageUrl(Customer customer) {
+        if (customer.getImageId() == null) {
+            return null;
+        }
+        return r2Properties.buildPublicCustomerImageUrl(customer.get_id(), customer.getImageId());
+    }
+
+    private Instant latestInstant(String collection, String field) {
+        Query query = Query.query(Criteria.where(field).ne(null))
+                .with(Sort.by(Sort.Direction.DESC, field))
+                .limit(1);
+        query.fields().include(field);
+
+        Document document = mongoTemplate.findOne(query, Document.class, collection);
+        if (document == null) {
+            return null;
+        }
+        Date value = document.getEmbedded(List.of(field.split("\\.")), Date.class);
+        return value == null ? null : value.toInstant();
+    }
+
+    private SearchMode resolveMode(String term, SearchMode mode) {
+        // Ids, amounts and the empty term have no words for the text index to match
+        if (term.isEmpty() || ObjectId.isValid(term) || isNumeric(term)) {
+            return SearchMode.REGEX;
+        }
+        if (mode == null) {
+            // $text ORs and stems the words, so callers that did not ask for it keep substring matching
+            return SearchMode.REGEX;
+        }
+        if (mode == SearchMode.AUTO) {
+            return term.chars().anyMatch(Character::isWhitespace) ? SearchMode.TEXT : SearchMode.REGEX;
+        }
+        return mode;
+    }
+
+    private Query buildQuery(String term, SearchMode mode, List<Criteria> filters) {
+        if (mode == SearchMode.TEXT) {
+            return textQuery(term, filters).sortByScore();
+        }
+        return Query.query(withAll(buildCriteria(term), filters));
+    }
+
+    private TextQuery textQuery(String term, List<Criteria> extra) {
+        // Matches any of the words against the @TextIndexed fields, weighted by their declared weights
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(term));
+        query.addCriteria(withAll(Criteria.where("deletedAt").is(null), extra));
+        return query;
+    }
+
+    private static Criteria withAll(Criteria criteria, List<Criteria> extra) {
+        if (extra.isEmpty()) {
+            return criteria;
+        }
+        List<Criteria> all = new ArrayList<>(extra.size() + 1);
+        all.add(criteria);
+        all.addAll(extra);
+        return new Criteria().andOperator(all);
+    }
+
+    private List<Criteria> filterCriteria(InvoiceFilter filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter == null) {
+            return criteria;
+        }
+
+        // Equality and range predicates only, so the planner can seek the compound indexes
+        if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+            criteria.add(Criteria.where("status").in(filter.getStatuses()));
+        }
+        if (filter.getCustomerId() != null) {
+            if (!ObjectId.isValid(filter.getCustomerId())) {
+                throw new InvalidRequestException("customerId must be a 24-char hex ObjectId");
+            }
+            criteria.add(Criteria.where("customerId").is(new ObjectId(filter.getCustomerId())));
+        }
+        addRange(criteria, "amount", filter.getAmountMin(), filter.getAmountMax());
+        addRange(criteria, "date", filter.getDateFrom(), filter.getDateTo());
+        return criteria;
+    }
+
+    private static <T extends Comparable<? super T>> void addRange(List<Criteria> criteria, String field, T from, T to) {
+        if (from == null && to == null) {
+            return;
+        }
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new InvalidRequestException(field + " range start must be less or equal to its end");
+        }
+
+        Criteria range = Criteria.where(field);
+        if (from != null) {
+            range = range.gte(from);
+        }
+        if (to != null) {
+            range = range.lte(to);
+        }
+        criteria.add(range);
+    }
 
-        // Get all non-deleted invoices and sync them
-        List<Invoice> allInvoices = invoiceRepository.findByAudit_DeletedAtIsNull();
-        for (Invoice invoice : allInvoices) {
-            syncInvoice(invoice);
+    private static String filterKey(InvoiceFilter filter, List<Criteria> filters) {
+        return filters.isEmpty() ? "" : filter + ":";
+    }
+
+    private static boolean isNumeric(String term) {
+        try {
+            new BigDecimal(term);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
         }
     }
+
+    private String normalize(String searchTerm) {
+        // Regex matching is case-insensitive, so the lowercased term selects the same documents
+        return searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Criteria buildCriteria(String term) {
+        // Empty search - match all non-deleted documents
+        if (term.isEmpty()) {
+            return Criteria.where("deletedAt").is(null);
+        }
+
+        // If it's a valid ObjectId, search by invoice ID or customer ID
+        if (ObjectId.isValid(term)) {
+            ObjectId objectId = new ObjectId(term);
+            return new Criteria()
+                    .orOperator(
+                            Criteria.where("invoiceId").is(objectId),
+                            Criteria.where("customerId").is(objectId))
+                    .and("deletedAt").is(null);
+        }
+
+        // Regex keeps the exact substring semantics; on its own it cannot use an index
+        String regex = Pattern.quote(term);
+        List<Criteria> searchCriteria = new ArrayList<>();
+
+        // Text fields - case insensitive regex
+        searchCriteria.add(Criteria.where("status").regex(regex, "i"));
+        searchCriteria.add(Criteria.where("customerName").regex(regex, "i"));
+        searchCriteria.add(Criteria.where("customerEmail").regex(regex, "i"));
+
+        // Numeric search for amount
+        boolean numeric = false;
+        try {
+            BigDecimal numericValue = new BigDecimal(term);
+            searchCriteria.add(Criteria.where("amount").is(numericValue));
+            numeric = true;
+        } catch (NumberFormatException ignored) {
+            // Not a number, skip
+        }
+
+        Criteria textCriteria = new Criteria().orOperator(searchCriteria.toArray(new Criteria[0]));
+
+        // Every match contains all of the term's trigrams, so the multikey index narrows the candidates
+        // before the regex runs. Amount matches carry no trigrams, and short terms have none to use.
+        List<String> trigrams = Trigrams.of(term);
+        if (numeric || trigrams.isEmpty()) {
+            return textCriteria.and("deletedAt").is(null);
+        }
+
+        // Documents synced before the trigram field existed are still checked by the regex
+        Criteria trigramCriteria = new Criteria().orOperator(
+                Criteria.where("searchTrigrams").all(trigrams),
+                Criteria.where("searchTrigrams").is(null));
+        return new Criteria()
+                .andOperator(trigramCriteria, textCriteria)
+                .and("deletedAt").is(null);
+    }
 }
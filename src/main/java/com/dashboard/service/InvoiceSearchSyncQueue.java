@@ -0,0 +1,157 @@
+package com.dashboard.service;
+
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import com.dashboard.service.interfaces.IInvoiceSearchSyncQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for search document syncs. Writes to the same invoice coalesce into the latest one,
+ * and a single worker flushes them in batches so request threads never wait on search maintenance.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class InvoiceSearchSyncQueue implements IInvoiceSearchSyncQueue {
+
+    private final IInvoiceSearchService invoiceSearchService;
+    private final SearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ObjectId, PendingSync> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private ScheduledExecutorService worker;
+    private Counter coalesced;
+    private Counter flushed;
+
+    private record PendingSync(Invoice invoice, Instant enqueuedAt) {
+    }
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("invoice.search.sync.depth", pending, Map::size)
+                .description("Invoices waiting for their search document to be written")
+                .register(meterRegistry);
+        Gauge.builder("invoice.search.sync.lag", this, queue -> queue.getLag().toMillis() / 1000.0)
+                .description("Age of the oldest pending search document write")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        coalesced = meterRegistry.counter("invoice.search.sync.coalesced");
+        flushed = meterRegistry.counter("invoice.search.sync.flushed");
+
+        long intervalMillis = searchProperties.getSyncFlushInterval().toMillis();
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invoice-search-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Drain whatever arrived after the last scheduled flush
+        flushSafely();
+        log.info("Invoice search sync queue stopped with {} invoices pending", pending.size());
+    }
+
+    @Override
+    public void enqueue(Invoice invoice) {
+        if (invoice == null || invoice.get_id() == null) {
+            return;
+        }
+
+        PendingSync sync = new PendingSync(invoice, Instant.now());
+        pending.merge(invoice.get_id(), sync, (existing, latest) -> {
+            // Keep the first enqueue time so lag reflects how long the invoice has been waiting
+            coalesced.increment();
+            return new PendingSync(latest.invoice(), existing.enqueuedAt());
+        });
+    }
+
+    @Override
+    public void flush() {
+        synchronized (flushLock) {
+            List<PendingSync> batch;
+            while (!(batch = takeBatch()).isEmpty()) {
+                write(batch);
+            }
+        }
+    }
+
+    @Override
+    public int getDepth() {
+        return pending.size();
+    }
+
+    Duration getLag() {
+        Instant oldest = null;
+        for (PendingSync sync : pending.values()) {
+            if (oldest == null || sync.enqueuedAt().isBefore(oldest)) {
+                oldest = sync.enqueuedAt();
+            }
+        }
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush invoice search sync queue", e);
+        }
+    }
+
+    private List<PendingSync> takeBatch() {
+        int batchSize = Math.max(1, searchProperties.getSyncBatchSize());
+        List<PendingSync> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<ObjectId> ids = pending.keySet().iterator();
+        while (ids.hasNext() && batch.size() < batchSize) {
+            PendingSync sync = pending.remove(ids.next());
+            if (sync != null) {
+                batch.add(sync);
+            }
+        }
+        return batch;
+    }
+
+    private void write(List<PendingSync> batch) {
+        List<Invoice> invoices = batch.stream().map(PendingSync::invoice).toList();
+        try {
+            invoiceSearchService.syncInvoices(invoices);
+            flushed.increment(invoices.size());
+        } catch (RuntimeException e) {
+            // Put the batch back unless a newer write for the same invoice has arrived meanwhile
+            for (PendingSync sync : batch) {
+                pending.putIfAbsent(sync.invoice().get_id(), sync);
+            }
+            throw e;
+        }
+    }
+}
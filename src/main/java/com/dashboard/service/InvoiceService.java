@@ -11,26 +11,36 @@ import com.dashboard.context.DiffContext;
 import com.dashboard.dataTransferObject.invoice.InvoiceCreate;
 import com.dashboard.dataTransferObject.invoice.InvoiceRead;
 import com.dashboard.dataTransferObject.invoice.InvoiceUpdate;
+import com.dashboard.dataTransferObject.page.PageCursor;
 import com.dashboard.mapper.interfaces.IInvoiceMapper;
+import com.dashboard.mapper.interfaces.IInvoiceSearchMapper;
 import com.dashboard.model.ActivityEventType;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.InvoiceSummary;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.model.entities.Invoice;
 import com.dashboard.repository.IInvoiceRepository;
 import com.dashboard.service.interfaces.IActivityFeedService;
 import com.dashboard.service.interfaces.ICustomerService;
 import com.dashboard.service.interfaces.IInvoiceSearchService;
+import com.dashboard.service.interfaces.IInvoiceSearchSyncQueue;
+import com.dashboard.service.interfaces.IDataVersionService;
 import com.dashboard.service.interfaces.IInvoiceService;
+import com.dashboard.service.interfaces.IInvoiceStatsService;
 import com.dashboard.service.interfaces.IRevenueService;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.bson.types.ObjectId;
 import org.springframework.context.annotation.Scope;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
@@ -38,18 +48,22 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 @Service
 @Scope("singleton")
 @RequiredArgsConstructor
 public class InvoiceService implements IInvoiceService {
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "date", "_id");
+
     private final IInvoiceRepository invoiceRepository;
     private final MongoTemplate mongoTemplate;
     private final IInvoiceSearchService invoiceSearchService;
@@ -57,22 +71,107 @@ public class InvoiceService implements IInvoiceService {
     private final IInvoiceMapper invoiceMapper;
     private final IActivityFeedService activityFeedService;
     private final IRevenueService revenueService;
+    private final IInvoiceStatsService invoiceStatsService;
+    private final IDataVersionService dataVersionService;
+    private final IInvoiceSearchMapper invoiceSearchMapper;
+    private final IInvoiceSearchSyncQueue invoiceSearchSyncQueue;
 
     public List<Invoice> getAllInvoices() {
-        return invoiceRepository.findByAudit_DeletedAtIsNull();
+        return invoiceRepository.findWithCustomers(Query.query(Criteria.where("audit.deletedAt").is(null)));
+    }
+
+    public List<InvoiceRead> getAllInvoiceReads() {
+        return getInvoiceReadsByStatus(null);
+    }
+
+    public List<InvoiceRead> getInvoiceReadsByStatus(String status) {
+        if (invoiceSearchService.isInSync()) {
+            // The search documents already carry the customer fields, no reference resolution needed
+            return invoiceSearchService.list(status, 0, null).stream()
+                    .map(invoiceSearchMapper::toRead)
+                    .toList();
+        }
+
+        List<Invoice> invoices = status == null ? getAllInvoices() : getInvoicesByStatus(status);
+        return invoices.stream()
+                .map(invoiceMapper::toReadWithCustomer)
+                .toList();
+    }
+
+    public List<InvoiceRead> getLatestInvoiceReads(Integer indexFrom, Integer indexTo) {
+        if (invoiceSearchService.isInSync()) {
+            return invoiceSearchService.list(null, indexFrom, indexTo - indexFrom + 1).stream()
+                    .map(invoiceSearchMapper::toRead)
+                    .toList();
+        }
+
+        return getLatestInvoice(indexFrom, indexTo).stream()
+                .map(invoiceMapper::toReadWithCustomer)
+                .toList();
+    }
+
+    public void streamAllInvoices(Consumer<Invoice> consumer) {
+        // Cursor-backed read: only one batch of documents is held in memory at a time
+        Query query = Query.query(Criteria.where("audit.deletedAt").is(null));
+        invoiceRepository.streamWithCustomers(query, STREAM_BATCH_SIZE, batch -> batch.forEach(consumer));
     }
 
     public List<Invoice> getInvoicesByStatus(String status) {
-        return invoiceRepository.findByStatusAndAudit_DeletedAtIsNull(status);
+        Query query = Query.query(Criteria.where("status").is(status).and("audit.deletedAt").is(null));
+        return invoiceRepository.findWithCustomers(query);
+    }
+
+    public InvoiceSummary getInvoiceSummary(String status) {
+        Optional<InvoiceSummary> stats = invoiceStatsService.getSummary(status);
+        if (stats.isPresent()) {
+            return stats.get();
+        }
+
+        // Stats not reconciled yet, compute from the invoices collection
+        Criteria criteria = Criteria.where("audit.deletedAt").is(null);
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+
+        // Amounts may be stored as strings, so convert before summing server-side
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group()
+                        .count().as("count")
+                        .sum(ConvertOperators.valueOf("amount").convertToDecimal()).as("amount"));
+
+        Document result = mongoTemplate.aggregate(aggregation, "invoices", Document.class)
+                .getUniqueMappedResult();
+        if (result == null) {
+            return new InvoiceSummary(0L, BigDecimal.ZERO);
+        }
+        Number count = result.get("count", Number.class);
+        return new InvoiceSummary(count.longValue(), toBigDecimal(result.get("amount")));
     }
 
     public List<Invoice> getLatestInvoice(Integer indexFrom, Integer indexTo) {
-        return invoiceRepository.findByAudit_DeletedAtIsNull()
-                .stream()
-                .sorted(Comparator.comparing(Invoice::getDate).reversed()) // latest first
+        Query query = Query.query(Criteria.where("audit.deletedAt").is(null))
+                .with(LATEST_FIRST)
                 .skip(indexFrom)
-                .limit(indexTo - indexFrom + 1)
-                .toList();
+                .limit(indexTo - indexFrom + 1);
+        return invoiceRepository.findWithCustomers(query);
+    }
+
+    public List<Invoice> getLatestInvoiceAfter(String after, int limit) {
+        Criteria criteria = Criteria.where("audit.deletedAt").is(null);
+        if (after != null && !after.isBlank()) {
+            // Seek past the previous page on the {audit.deletedAt, date, _id} index instead of skipping
+            PageCursor cursor = PageCursor.decode(after);
+            LocalDate date = cursor.sortKeyAsDate();
+            criteria = criteria.orOperator(
+                    Criteria.where("date").lt(date),
+                    Criteria.where("date").is(date).and("_id").lt(cursor.getId()));
+        }
+
+        Query query = Query.query(criteria)
+                .with(LATEST_FIRST)
+                .limit(limit);
+        return invoiceRepository.findWithCustomers(query);
     }
 
     public Page<Invoice> searchInvoices(String rawTerm, Pageable pageable) {
@@ -106,9 +205,12 @@ public class InvoiceService implements IInvoiceService {
         Invoice invoice = invoiceMapper.toModel(invoiceCreate, customer);
         invoice.setDate(LocalDate.now());
         invoice.setAudit(audit);
+        String statsToken = invoiceStatsService.beginDelta(invoice.getStatus());
         invoice = insertInvoice(invoice);
 
-        revenueService.adjustRevenue(invoice.getDate().getMonth(), invoice.getDate().getYear(), invoice.getAmount());
+        revenueService.adjustRevenue(invoice.getDate(), invoice.getAmount());
+        invoiceStatsService.recordDelta(statsToken, invoice.getStatus(), 1, invoice.getAmount());
+        dataVersionService.bump(DataCollection.INVOICES);
 
         DiffComparer<Invoice> comparer = new DiffComparer<>(null, invoice);
         DiffResult diff = comparer.compare();
@@ -138,8 +240,20 @@ public class InvoiceService implements IInvoiceService {
         Invoice invoice = invoiceMapper.toModel(id, invoiceUpdate, customer);
         invoice.setDate(existingInvoice.getDate());
         invoice.setAudit(audit);
+        String statsToken = invoiceStatsService.beginDelta(oldState.getStatus(), invoice.getStatus());
         invoice = saveInvoice(invoice);
 
+        if (Objects.equals(oldState.getStatus(), invoice.getStatus())) {
+            // One delta, so the announcement is only cleared once the whole change has landed
+            BigDecimal change = Objects.requireNonNullElse(invoice.getAmount(), BigDecimal.ZERO)
+                    .subtract(Objects.requireNonNullElse(oldState.getAmount(), BigDecimal.ZERO));
+            invoiceStatsService.recordDelta(statsToken, invoice.getStatus(), 0, change);
+        } else {
+            invoiceStatsService.recordDelta(statsToken, oldState.getStatus(), -1, negate(oldState.getAmount()));
+            invoiceStatsService.recordDelta(statsToken, invoice.getStatus(), 1, invoice.getAmount());
+        }
+        dataVersionService.bump(DataCollection.INVOICES);
+
         DiffComparer<Invoice> comparer = new DiffComparer<>(oldState, invoice);
         DiffResult diff = comparer.compare();
         DiffContext.addDiff(diff.toJson());
@@ -161,10 +275,12 @@ public class InvoiceService implements IInvoiceService {
         Audit audit = invoice.getAudit();
         audit.setDeletedAt(Instant.now());
         invoice.setAudit(audit);
+        String statsToken = invoiceStatsService.beginDelta(invoice.getStatus());
         saveInvoice(invoice);
-        invoiceSearchService.markInvoiceDeleted(invoice.get_id());
 
-        revenueService.adjustRevenue(invoice.getDate().getMonth(), invoice.getDate().getYear(), invoice.getAmount().negate());
+        revenueService.adjustRevenue(invoice.getDate(), invoice.getAmount().negate());
+        invoiceStatsService.recordDelta(statsToken, invoice.getStatus(), -1, invoice.getAmount().negate());
+        dataVersionService.bump(DataCollection.INVOICES);
 
         DiffComparer<Invoice> comparerDelete = new DiffComparer<>(oldState, null);
         DiffResult diffDelete = comparerDelete.compare();
@@ -257,15 +373,29 @@ public class InvoiceService implements IInvoiceService {
         return new PageImpl<>(invoices, pageable, total);
     }
 
+    private BigDecimal negate(BigDecimal value) {
+        return value == null ? null : value.negate();
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+
     private Invoice insertInvoice(Invoice invoice) {
         Invoice saved = invoiceRepository.insert(invoice);
-        invoiceSearchService.syncInvoice(saved);
+        invoiceSearchSyncQueue.enqueue(saved);
         return saved;
     }
 
     private Invoice saveInvoice(Invoice invoice) {
         Invoice saved = invoiceRepository.save(invoice);
-        invoiceSearchService.syncInvoice(saved);
+        invoiceSearchSyncQueue.enqueue(saved);
         return saved;
     }
 
@@ -0,0 +1,218 @@
+package com.dashboard.service;
+
+import com.dashboard.model.InvoiceSummary;
+import com.dashboard.model.entities.InvoiceStats;
+import com.dashboard.repository.IInvoiceStatsRepository;
+import com.dashboard.service.interfaces.IInvoiceStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-status invoice counts and amounts kept with $inc and rebuilt from the invoices by a scheduled reconcile. An
+ * invoice is written before its delta, so every write first announces a pending delta on the statuses it touches
+ * and the delta clears it. Reconcile leaves a status alone while it has a fresh announcement, since the aggregation
+ * may already count an invoice whose delta has yet to land; a later delta voids the guarded write through the
+ * version.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class InvoiceStatsService implements IInvoiceStatsService {
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    // Announcements older than this belong to a write that never recorded its delta, e.g. a crashed instance
+    private static final Duration PENDING_TIMEOUT = Duration.ofMinutes(1);
+
+    private final IInvoiceStatsRepository invoiceStatsRepository;
+    private final MongoTemplate mongoTemplate;
+
+    // Stats are only trusted once they have been rebuilt from the invoices collection
+    private volatile boolean reconciled;
+
+    @Override
+    public String beginDelta(String... statuses) {
+        InvoiceStats.PendingDelta pending = new InvoiceStats.PendingDelta();
+        pending.setToken(UUID.randomUUID().toString());
+        pending.setStartedAt(Instant.now());
+
+        // The version moves too, so a reconcile that read the status before this voids its write
+        for (String status : new LinkedHashSet<>(Arrays.asList(statuses))) {
+            if (status == null) {
+                continue;
+            }
+            Update update = new Update()
+                    .push("pendingDeltas", pending)
+                    .inc("version", 1);
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(status)), update, InvoiceStats.class);
+        }
+        return pending.getToken();
+    }
+
+    @Override
+    public void recordDelta(String token, String status, long countDelta, BigDecimal amountDelta) {
+        if (status == null) {
+            return;
+        }
+
+        Query query = Query.query(Criteria.where("_id").is(status));
+        Update update = new Update()
+                .inc("count", countDelta)
+                .inc("amount", new Decimal128(amountDelta == null ? BigDecimal.ZERO : amountDelta))
+                .inc("version", 1);
+        if (token != null) {
+            update.pull("pendingDeltas", new Document("token", token));
+        }
+        mongoTemplate.upsert(query, update, InvoiceStats.class);
+    }
+
+    @Override
+    public Optional<InvoiceSummary> getSummary(String status) {
+        if (!reconciled) {
+            return Optional.empty();
+        }
+
+        if (status != null) {
+            InvoiceSummary summary = invoiceStatsRepository.findById(status)
+                    .map(stats -> new InvoiceSummary(stats.getCount(), stats.getAmount()))
+                    .orElseGet(() -> new InvoiceSummary(0L, BigDecimal.ZERO));
+            return Optional.of(summary);
+        }
+
+        long count = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        for (InvoiceStats stats : invoiceStatsRepository.findAll()) {
+            count += stats.getCount();
+            amount = amount.add(stats.getAmount());
+        }
+        return Optional.of(new InvoiceSummary(count, amount));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${invoice.stats.reconcile-interval:PT1H}",
+            initialDelayString = "${invoice.stats.reconcile-interval:PT1H}")
+    public void reconcile() {
+        int conflicts = 0;
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            conflicts = reconcileOnce();
+            if (conflicts == 0) {
+                reconciled = true;
+                return;
+            }
+        }
+        // Their $inc-maintained totals stay in place until the next run
+        log.warn("Invoice stats for {} statuses changed during every reconcile attempt", conflicts);
+    }
+
+    private int reconcileOnce() {
+        Instant now = Instant.now();
+
+        // Versions are read before the aggregation; a delta announced or recorded after this point voids the write
+        // for its status. One announced before it may belong to an invoice the aggregation counts, so it is skipped
+        Map<String, Long> versions = new HashMap<>();
+        Set<String> pending = new HashSet<>();
+        Instant fresh = now.minus(PENDING_TIMEOUT);
+        for (InvoiceStats stats : invoiceStatsRepository.findAll()) {
+            versions.put(stats.getStatus(), stats.getVersion());
+            if (stats.getPendingDeltas() != null && stats.getPendingDeltas().stream()
+                    .anyMatch(delta -> delta.getStartedAt() == null || delta.getStartedAt().isAfter(fresh))) {
+                pending.add(stats.getStatus());
+            }
+        }
+
+        // Amounts may be stored as strings, so convert before summing server-side
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("audit.deletedAt").is(null)),
+                Aggregation.group("status")
+                        .count().as("count")
+                        .sum(ConvertOperators.valueOf("amount").convertToDecimal()).as("amount"));
+        List<Document> groups = mongoTemplate.aggregate(aggregation, "invoices", Document.class)
+                .getMappedResults();
+
+        Set<String> statuses = new HashSet<>();
+        int conflicts = 0;
+        for (Document group : groups) {
+            String status = group.getString("_id");
+            if (status == null) {
+                continue;
+            }
+            statuses.add(status);
+            if (pending.contains(status)) {
+                conflicts++;
+                continue;
+            }
+
+            Number count = group.get("count", Number.class);
+            Object amount = group.get("amount");
+            Update update = new Update()
+                    .set("count", count.longValue())
+                    .set("amount", amount instanceof Decimal128 ? amount : new Decimal128(BigDecimal.ZERO))
+                    .set("reconciledAt", now)
+                    // Only stale announcements are left, since a fresh one skips the status or moves the version
+                    .unset("pendingDeltas");
+            try {
+                mongoTemplate.upsert(unchanged(status, versions.get(status)), update, InvoiceStats.class);
+            } catch (DuplicateKeyException e) {
+                // The version moved on, so the upsert tried to insert a second document for the status
+                conflicts++;
+            }
+        }
+
+        for (Map.Entry<String, Long> stored : versions.entrySet()) {
+            if (statuses.contains(stored.getKey())) {
+                continue;
+            }
+            if (pending.contains(stored.getKey())) {
+                conflicts++;
+                continue;
+            }
+            // Status no longer has any invoice
+            long removed = mongoTemplate.remove(unchanged(stored.getKey(), stored.getValue()), InvoiceStats.class)
+                    .getDeletedCount();
+            if (removed == 0) {
+                conflicts++;
+            }
+        }
+
+        if (conflicts == 0) {
+            log.info("Reconciled invoice stats for {} statuses", statuses.size());
+        }
+        return conflicts;
+    }
+
+    private static Query unchanged(String status, Long version) {
+        // $exists rather than null, so an upsert does not insert a null version that $inc cannot increment
+        Criteria criteria = Criteria.where("_id").is(status);
+        criteria = version == null ? criteria.and("version").exists(false) : criteria.and("version").is(version);
+        return Query.query(criteria);
+    }
+}
@@ -0,0 +1,456 @@
+package com.dashboard.service;
+
+import com.dashboard.common.model.Audit;
+import com.dashboard.common.model.exception.InvalidRequestException;
+import com.dashboard.dataTransferObject.revenue.RevenueChangeRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRecomputeRead;
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
+import com.dashboard.model.entities.SyncWatermark;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueRecomputeService;
+import com.dashboard.service.interfaces.IRevenueService;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Scope;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the monthly revenue documents and the revenue rollups from the invoices. Each year is summed server-side
+ * by a $group on the invoice month and compared with the stored months; only the months that differ are written
+ * back in one bulk. Years are independent, so they run in parallel on a bounded pool. The rollups are folded from
+ * daily invoice totals and written the same way. Deltas buffered in write-behind mode are flushed first, so the
+ * stored values it compares against already include them.
+ * <p>
+ * An invoice is written before its revenue delta, so the sum can include an invoice whose $inc lands after the
+ * guarded write and would then be counted twice. Months and buckets with an invoice written within
+ * revenue.recompute-settle-time are therefore left unchanged and reported as conflicts for a later run.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class RevenueRecomputeService implements IRevenueRecomputeService {
+    private static final int DUPLICATE_KEY = 11000;
+
+    // Marks that the rollups have been built from the invoices once
+    public static final String ROLLUPS_WATERMARK_NAME = "revenue_rollups";
+
+    private final MongoTemplate mongoTemplate;
+    private final IDataVersionService dataVersionService;
+    private final IRevenueService revenueService;
+    private final RevenueProperties revenueProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    public RevenueRecomputeRead recompute() {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidRequestException("Revenue recompute is already running");
+        }
+
+        try {
+            // Taken before the flush, so every invoice written before it has its delta applied by now
+            Instant settled = settledBefore();
+            // A buffered delta would be added on top of a total that already counts its invoice
+            revenueService.flushWriteBehind();
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            SortedSet<Integer> years = years();
+
+            int threads = Math.max(1, Math.min(revenueProperties.getRecomputeThreads(), years.size()));
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "revenue-recompute");
+                thread.setDaemon(true);
+                return thread;
+            });
+            Map<Integer, CompletableFuture<YearResult>> results = new LinkedHashMap<>();
+            try {
+                for (Integer year : years) {
+                    results.put(year, CompletableFuture.supplyAsync(() -> recomputeYear(year, settled), executor));
+                }
+                CompletableFuture.allOf(results.values().toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            } finally {
+                executor.shutdown();
+            }
+
+            RollupResult rollups = rebuildRollups(settled);
+
+            List<RevenueChangeRead> changes = new ArrayList<>();
+            Map<Integer, Long> yearDurations = new LinkedHashMap<>();
+            int conflicts = 0;
+            int written = 0;
+            for (Map.Entry<Integer, CompletableFuture<YearResult>> entry : results.entrySet()) {
+                YearResult result = entry.getValue().join();
+                changes.addAll(result.changes());
+                yearDurations.put(entry.getKey(), result.durationMillis());
+                conflicts += result.conflicts() + result.unsettled();
+                written += result.changes().size() - result.conflicts();
+            }
+
+            if (written > 0 || rollups.written() > 0) {
+                dataVersionService.bump(DataCollection.REVENUES);
+            }
+            meterRegistry.counter("revenue.recompute.changed").increment(written);
+            long nanos = sample.stop(meterRegistry.timer("revenue.recompute.duration"));
+
+            RevenueRecomputeRead report = new RevenueRecomputeRead();
+            report.setYears(years.size());
+            report.setChangedMonths(changes.size());
+            report.setConflicts(conflicts);
+            report.setChangedRollups(rollups.changed());
+            report.setRollupConflicts(rollups.allConflicts());
+            report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(nanos));
+            report.setYearDurationMillis(yearDurations);
+            report.setChanges(changes);
+            log.info("Recomputed revenue for {} years in {} ms: {} months changed, {} conflicts, "
+                            + "{} rollups changed, {} rollup conflicts",
+                    years.size(), report.getDurationMillis(), changes.size(), conflicts,
+                    rollups.changed(), rollups.allConflicts());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${revenue.rollup-backfill-interval:PT1M}")
+    public void backfillRollups() {
+        if (mongoTemplate.findById(ROLLUPS_WATERMARK_NAME, SyncWatermark.class) != null) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            // A recompute is rebuilding them already; the next run writes the marker
+            return;
+        }
+
+        try {
+            Instant settled = settledBefore();
+            revenueService.flushWriteBehind();
+
+            // Rollups written by invoices before this point are compared like any other, so they do not block it
+            Instant started = Instant.now();
+            RollupResult result = rebuildRollups(settled);
+            if (result.written() > 0) {
+                dataVersionService.bump(DataCollection.REVENUES);
+            }
+            if (result.allConflicts() > 0) {
+                log.info("Backfilled revenue rollups partly, {} buckets left for the next run", result.allConflicts());
+                return;
+            }
+            Update update = new Update()
+                    .set("watermark", started)
+                    .set("reconciledAt", Instant.now());
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(ROLLUPS_WATERMARK_NAME)), update,
+                    SyncWatermark.class);
+            log.info("Backfilled revenue rollups: {} buckets written", result.changed());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Instant settledBefore() {
+        return Instant.now().minus(revenueProperties.getRecomputeSettleTime());
+    }
+
+    private Set<LocalDate> unsettledDays(Instant settled, Criteria dates) {
+        // Served by updatedAt_idx and deletedAt_date_id_idx; only the invoices written within the settle time match
+        Query query = Query.query(new Criteria().andOperator(dates, new Criteria().orOperator(
+                Criteria.where("audit.updatedAt").gte(settled),
+                Criteria.where("audit.deletedAt").gte(settled))));
+        query.fields().include("date");
+        Set<LocalDate> days = new HashSet<>();
+        for (Invoice invoice : mongoTemplate.find(query, Invoice.class)) {
+            days.add(invoice.getDate());
+        }
+        return days;
+    }
+
+    private SortedSet<Integer> years() {
+        // Years that only have a stored revenue left are recomputed too, so their months drop to zero
+        SortedSet<Integer> years = new TreeSet<>(mongoTemplate.findDistinct(new Query(), "year", Revenue.class, Integer.class));
+        LocalDate first = boundaryDate(Sort.Direction.ASC);
+        LocalDate last = boundaryDate(Sort.Direction.DESC);
+        if (first != null && last != null) {
+            for (int year = first.getYear(); year <= last.getYear(); year++) {
+                years.add(year);
+            }
+        }
+        return years;
+    }
+
+    private LocalDate boundaryDate(Sort.Direction direction) {
+        // Served by deletedAt_date_id_idx without scanning the invoices
+        Query query = Query.query(Criteria.where("audit.deletedAt").is(null).and("date").ne(null))
+                .with(Sort.by(direction, "date"))
+                .limit(1);
+        query.fields().include("date");
+        Invoice invoice = mongoTemplate.findOne(query, Invoice.class);
+        return invoice == null ? null : invoice.getDate();
+    }
+
+    private YearResult recomputeYear(int year, Instant settled) {
+        long started = System.nanoTime();
+
+        // Stored values are read before the invoices, so an increment landing before the guarded write below fails
+        // it instead of being overwritten
+        Map<Month, Revenue> stored = new EnumMap<>(Month.class);
+        for (Revenue revenue : mongoTemplate.find(Query.query(Criteria.where("year").is(year)), Revenue.class)) {
+            stored.put(revenue.getMonth(), revenue);
+        }
+        Map<Month, BigDecimal> totals = monthlyTotals(year);
+
+        // Checked after the sum, so it sees every invoice the sum could include whose increment may land after the
+        // guarded write; those months are left for a later run
+        Set<Month> unsettled = EnumSet.noneOf(Month.class);
+        for (LocalDate day : unsettledDays(settled,
+                Criteria.where("date").gte(LocalDate.of(year, 1, 1)).lt(LocalDate.of(year + 1, 1, 1)))) {
+            unsettled.add(day.getMonth());
+        }
+
+        Instant now = Instant.now();
+        List<RevenueChangeRead> changes = new ArrayList<>();
+        int skipped = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class);
+        for (Month month : Month.values()) {
+            Revenue revenue = stored.get(month);
+            if (revenue == null && !totals.containsKey(month)) {
+                continue;
+            }
+
+            BigDecimal previous = revenue == null ? null : revenue.getRevenue();
+            BigDecimal recomputed = totals.getOrDefault(month, BigDecimal.ZERO);
+            if (previous != null && previous.compareTo(recomputed) == 0) {
+                continue;
+            }
+            if (unsettled.contains(month)) {
+                skipped++;
+                continue;
+            }
+
+            if (revenue == null) {
+                bulk.insert(newRevenue(month, year, recomputed, now));
+            } else {
+                // Only overwrite the value that was compared; an invoice write in between makes this a conflict
+                Query unchanged = Query.query(Criteria.where("_id").is(revenue.get_id())
+                        .and("revenue").is(previous == null ? null : new Decimal128(previous)));
+                bulk.updateOne(unchanged, new Update()
+                        .set("revenue", new Decimal128(recomputed))
+                        .set("audit.updatedAt", now));
+            }
+            changes.add(change(month, year, previous, recomputed));
+        }
+
+        int conflicts = changes.isEmpty() ? 0 : changes.size() - applied(bulk);
+        for (RevenueChangeRead change : changes) {
+            log.info("Revenue for {} {} recomputed from {} to {}",
+                    change.getMonth(), change.getYear(), change.getPrevious(), change.getRecomputed());
+        }
+        return new YearResult(changes, conflicts, skipped,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private Map<Month, BigDecimal> monthlyTotals(int year) {
+        // Invoice dates are stored as the start of the day in the server's zone, so the month is taken in that zone
+        DateOperators.Timezone zone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("audit.deletedAt").is(null)
+                        .and("date").gte(LocalDate.of(year, 1, 1)).lt(LocalDate.of(year + 1, 1, 1))),
+                Aggregation.project("amount")
+                        .and(DateOperators.dateOf("date").withTimezone(zone).month()).as("month"),
+                Aggregation.group("month")
+                        .sum(ConvertOperators.valueOf("amount").convertToDecimal()).as("revenue"));
+
+        Map<Month, BigDecimal> totals = new EnumMap<>(Month.class);
+        for (Document row : mongoTemplate.aggregate(aggregation, Invoice.class, Document.class)) {
+            Object revenue = row.get("revenue");
+            totals.put(Month.of(row.getInteger("_id")),
+                    revenue instanceof Decimal128 decimal ? decimal.bigDecimalValue() : BigDecimal.ZERO);
+        }
+        return totals;
+    }
+
+    private RollupResult rebuildRollups(Instant settled) {
+        // Read before the invoices for the same reason as the months
+        Map<RollupKey, RevenueRollup> stored = new HashMap<>();
+        for (RevenueRollup rollup : mongoTemplate.findAll(RevenueRollup.class)) {
+            stored.put(new RollupKey(rollup.getGranularity(), rollup.getPeriodStart()), rollup);
+        }
+        Map<RollupKey, BigDecimal> totals = rollupTotals();
+
+        Set<RollupKey> unsettled = new HashSet<>();
+        for (LocalDate day : unsettledDays(settled, Criteria.where("date").ne(null))) {
+            for (RevenueGranularity granularity : RevenueGranularity.values()) {
+                unsettled.add(new RollupKey(granularity, granularity.periodStart(day)));
+            }
+        }
+
+        Set<RollupKey> keys = new HashSet<>(stored.keySet());
+        keys.addAll(totals.keySet());
+
+        Instant now = Instant.now();
+        int changed = 0;
+        int skipped = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RevenueRollup.class);
+        for (RollupKey key : keys) {
+            RevenueRollup rollup = stored.get(key);
+            BigDecimal previous = rollup == null ? null : rollup.getRevenue();
+            BigDecimal recomputed = totals.getOrDefault(key, BigDecimal.ZERO);
+            if (previous != null && previous.compareTo(recomputed) == 0) {
+                continue;
+            }
+            if (unsettled.contains(key)) {
+                skipped++;
+                continue;
+            }
+
+            if (rollup == null) {
+                bulk.insert(newRollup(key, recomputed, now));
+            } else {
+                Query unchanged = Query.query(Criteria.where("_id").is(rollup.get_id())
+                        .and("revenue").is(previous == null ? null : new Decimal128(previous)));
+                bulk.updateOne(unchanged, new Update()
+                        .set("revenue", new Decimal128(recomputed))
+                        .set("audit.updatedAt", now));
+            }
+            changed++;
+        }
+
+        int conflicts = changed == 0 ? 0 : changed - applied(bulk);
+        return new RollupResult(changed, conflicts, skipped);
+    }
+
+    private Map<RollupKey, BigDecimal> rollupTotals() {
+        // Invoice dates carry no time, so grouping by date gives daily totals; coarser buckets are folded from those
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("audit.deletedAt").is(null).and("date").ne(null)),
+                Aggregation.group("date")
+                        .sum(ConvertOperators.valueOf("amount").convertToDecimal()).as("revenue"));
+
+        Map<RollupKey, BigDecimal> totals = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, "invoices", Document.class)) {
+            // Stored as the start of the day in the server's zone
+            LocalDate day = row.getDate("_id").toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            Object revenue = row.get("revenue");
+            BigDecimal amount = revenue instanceof Decimal128 decimal ? decimal.bigDecimalValue() : BigDecimal.ZERO;
+            for (RevenueGranularity granularity : RevenueGranularity.values()) {
+                totals.merge(new RollupKey(granularity, granularity.periodStart(day)), amount, BigDecimal::add);
+            }
+        }
+        return totals;
+    }
+
+    private static int applied(BulkOperations bulk) {
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            // A concurrent invoice write created the month first
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            result = e.getResult();
+        }
+        return result.getMatchedCount() + result.getInsertedCount();
+    }
+
+    private static Revenue newRevenue(Month month, int year, BigDecimal amount, Instant now) {
+        Audit audit = new Audit();
+        audit.setCreatedAt(now);
+        audit.setUpdatedAt(now);
+
+        Revenue revenue = new Revenue();
+        revenue.setMonth(month);
+        revenue.setYear(year);
+        revenue.setRevenue(amount);
+        revenue.setAudit(audit);
+        return revenue;
+    }
+
+    private static RevenueRollup newRollup(RollupKey key, BigDecimal amount, Instant now) {
+        Audit audit = new Audit();
+        audit.setCreatedAt(now);
+        audit.setUpdatedAt(now);
+
+        RevenueRollup rollup = new RevenueRollup();
+        rollup.setGranularity(key.granularity());
+        rollup.setPeriodStart(key.periodStart());
+        rollup.setRevenue(amount);
+        rollup.setAudit(audit);
+        return rollup;
+    }
+
+    private static RevenueChangeRead change(Month month, int year, BigDecimal previous, BigDecimal recomputed) {
+        RevenueChangeRead change = new RevenueChangeRead();
+        change.setYear(year);
+        change.setMonth(month.name());
+        change.setPrevious(previous);
+        change.setRecomputed(recomputed);
+        return change;
+    }
+
+    // conflicts are guarded writes that failed, unsettled the differing months that were not written
+    private record YearResult(List<RevenueChangeRead> changes, int conflicts, int unsettled, long durationMillis) {
+    }
+
+    private record RollupKey(RevenueGranularity granularity, LocalDate periodStart) {
+    }
+
+    private record RollupResult(int changed, int conflicts, int unsettled) {
+        int written() {
+            return changed - conflicts;
+        }
+
+        int allConflicts() {
+            return conflicts + unsettled;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.dashboard.service;
+
+import com.dashboard.dataTransferObject.revenue.RevenueRead;
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.mapper.interfaces.IRevenueMapper;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.SerializedResponse;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueResponseCache;
+import com.dashboard.service.interfaces.IRevenueService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps GET /api/v1/revenues/ serialized for the current REVENUES data version. Requests at an unchanged version
+ * get the same bytes without touching Mongo, the mapper or Jackson; the first request after a bump rebuilds them.
+ * The version is counted per instance and only sees this instance's writes, so with several instances a revenue
+ * write elsewhere is picked up once the entry is older than revenue.response-cache-ttl.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class RevenueResponseCache implements IRevenueResponseCache {
+
+    private final IRevenueService revenueService;
+    private final IRevenueMapper revenueMapper;
+    private final IDataVersionService dataVersionService;
+    private final ObjectMapper objectMapper;
+    private final RevenueProperties revenueProperties;
+
+    private volatile Entry current;
+
+    private record Entry(SerializedResponse response, long expiresAtNanos) {
+        boolean serves(long version) {
+            return response.version() >= version && System.nanoTime() - expiresAtNanos < 0;
+        }
+    }
+
+    @Override
+    public SerializedResponse get() {
+        // Read before the data, so the cached bytes are never older than the version they are stored under
+        long version = dataVersionService.getVersion(DataCollection.REVENUES);
+        Entry cached = current;
+        if (cached != null && cached.serves(version)) {
+            return cached.response();
+        }
+
+        synchronized (this) {
+            cached = current;
+            if (cached != null && cached.serves(version)) {
+                return cached.response();
+            }
+            long expiresAt = System.nanoTime() + revenueProperties.getResponseCacheTtl().toNanos();
+            cached = new Entry(build(version), expiresAt);
+            current = cached;
+            return cached.response();
+        }
+    }
+
+    private SerializedResponse build(long version) {
+        List<RevenueRead> revenueReads = revenueService.getAllRevenues().stream()
+                .map(revenueMapper::toRead)
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(revenueReads);
+            byte[] gzip = revenueProperties.isResponseGzipEnabled() ? gzip(json) : null;
+            log.debug("Serialized {} revenues for version {}", revenueReads.size(), version);
+            return new SerializedResponse(version, json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize revenues", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -1,61 +1,262 @@
 package com.dashboard.service;
 
+import com.dashboard.common.model.exception.InvalidRequestException;
 import com.dashboard.common.utility.diff.DiffComparer;
 import com.dashboard.common.utility.diff.DiffResult;
 import com.dashboard.context.DiffContext;
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
 import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
 import com.dashboard.repository.IRevenueRepository;
+import com.dashboard.service.interfaces.IDataVersionService;
 import com.dashboard.service.interfaces.IRevenueService;
+import com.dashboard.service.interfaces.IRevenueWriteBehindLog;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+@Slf4j
 @Service
 @Scope("singleton")
 @RequiredArgsConstructor
 public class RevenueService implements IRevenueService {
+    private static final int DUPLICATE_KEY = 11000;
 
     private final IRevenueRepository revenueRepository;
+    private final IDataVersionService dataVersionService;
+    private final MongoTemplate mongoTemplate;
+    private final RevenueProperties revenueProperties;
+    private final IRevenueWriteBehindLog revenueWriteBehindLog;
+
+    private final Object flushLock = new Object();
 
     public List<Revenue> getAllRevenues() {
         return revenueRepository.queryByAudit_DeletedAtIsNull();
     }
 
-    public void adjustRevenue(Month month, Integer year, BigDecimal delta) {
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateRevenueAmounts() {
+        // $inc only works on numbers, so revenues written as strings by older versions are converted once
+        Query query = Query.query(Criteria.where("revenue").type(JsonSchemaObject.Type.stringType()));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("revenue").toValue(ConvertOperators.valueOf("revenue").convertToDecimal());
+        long migrated = mongoTemplate.updateMulti(query, update, Revenue.class).getModifiedCount();
+        if (migrated > 0) {
+            log.info("Converted {} revenue amounts to Decimal128", migrated);
+            dataVersionService.bump(DataCollection.REVENUES);
+        }
+    }
+
+    public List<RevenueRollup> getRollups(RevenueGranularity granularity, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("from must be before or equal to to");
+        }
+
+        // Equality on granularity plus a periodStart range is a single scan of granularity_periodStart_unique
+        Criteria criteria = Criteria.where("granularity").is(granularity);
+        if (from != null || to != null) {
+            Criteria period = criteria.and("periodStart");
+            if (from != null) {
+                // Include the bucket that contains from
+                period.gte(granularity.periodStart(from));
+            }
+            if (to != null) {
+                period.lte(to);
+            }
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "periodStart"));
+        return mongoTemplate.find(query, RevenueRollup.class);
+    }
+
+    public void adjustRevenue(LocalDate date, BigDecimal delta) {
+        BigDecimal amount = delta == null ? BigDecimal.ZERO : delta;
+        if (revenueProperties.isWriteBehindEnabled()) {
+            // Written by the next flush together with every other delta for the same month
+            revenueWriteBehindLog.append(date, amount);
+
+            // The month's total is not known until the flush, so the diff records the delta alone
+            Revenue buffered = new Revenue();
+            buffered.setMonth(date.getMonth());
+            buffered.setYear(date.getYear());
+            buffered.setRevenue(amount);
+            DiffContext.addDiff(new DiffComparer<>(null, buffered).compare().toJson());
+            return;
+        }
+
+        Month month = date.getMonth();
+        Integer year = date.getYear();
+        Instant now = Instant.now();
+
+        // One atomic round trip on month_year_unique; concurrent invoices in the same month no longer overwrite each other
+        Query query = Query.query(Criteria.where("month").is(month).and("year").is(year));
+        Update update = increment(amount, now);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(false);
+
+        Revenue previous;
         try {
-            List<Revenue> revenueList = revenueRepository.getRevenueByYearIsAndMonthIs(year, month);
-            if (revenueList.isEmpty()) {
-                Revenue revenue = new Revenue();
-                revenue.setMonth(month);
-                revenue.setYear(year);
-                revenue.setRevenue(delta);
-                Revenue saved = revenueRepository.save(revenue);
-
-                DiffComparer<Revenue> comparer = new DiffComparer<>(null, saved);
-                DiffResult diff = comparer.compare();
-                DiffContext.addDiff(diff.toJson());
+            previous = mongoTemplate.findAndModify(query, update, options, Revenue.class);
+        } catch (DuplicateKeyException e) {
+            // Two upserts raced to create the month; the document exists now, so the retry is a plain update
+            previous = mongoTemplate.findAndModify(query, update, options, Revenue.class);
+        }
+
+        Revenue oldState = null;
+        Revenue adjusted = new Revenue();
+        adjusted.setMonth(month);
+        adjusted.setYear(year);
+        adjusted.setRevenue(amount);
+        if (previous != null) {
+            oldState = new Revenue();
+            oldState.set_id(previous.get_id());
+            oldState.setMonth(previous.getMonth());
+            oldState.setYear(previous.getYear());
+            oldState.setRevenue(previous.getRevenue());
+
+            adjusted.set_id(previous.get_id());
+            if (previous.getRevenue() != null) {
+                adjusted.setRevenue(previous.getRevenue().add(amount));
+            }
+        }
+
+        upsertAll(RevenueRollup.class, rollupUpserts(Map.of(date, amount), now));
+
+        DiffComparer<Revenue> comparer = new DiffComparer<>(oldState, adjusted);
+        DiffResult diff = comparer.compare();
+        DiffContext.addDiff(diff.toJson());
+        dataVersionService.bump(DataCollection.REVENUES);
+    }
+
+    @Scheduled(fixedDelayString = "${revenue.write-behind-flush-interval:PT0.5S}",
+            initialDelayString = "${revenue.write-behind-flush-interval:PT0.5S}")
+    public void flushWriteBehind() {
+        if (!revenueProperties.isWriteBehindEnabled()) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            Map<LocalDate, BigDecimal> batch = revenueWriteBehindLog.takeBatch();
+            if (batch.isEmpty()) {
                 return;
             }
+            applyDeltas(batch, revenueWriteBehindLog.batchId(), Instant.now());
+            revenueWriteBehindLog.completeBatch();
+            dataVersionService.bump(DataCollection.REVENUES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Write what arrived after the last scheduled flush; anything left is replayed from the log on startup
+        flushWriteBehind();
+    }
+
+    private void applyDeltas(Map<LocalDate, BigDecimal> byDay, String batchId, Instant now) {
+        // One $inc per month however many invoices the batch covers
+        Map<YearMonth, BigDecimal> byMonth = new TreeMap<>();
+        byDay.forEach((day, amount) -> byMonth.merge(YearMonth.from(day), amount, BigDecimal::add));
+
+        List<Upsert> months = new ArrayList<>();
+        byMonth.forEach((month, amount) -> months.add(stamped(new Upsert(
+                Query.query(Criteria.where("month").is(month.getMonth()).and("year").is(month.getYear())),
+                increment(amount, now)), batchId)));
+        upsertAll(Revenue.class, months);
+        upsertAll(RevenueRollup.class, rollupUpserts(byDay, now).stream()
+                .map(upsert -> stamped(upsert, batchId))
+                .toList());
+    }
+
+    private Upsert stamped(Upsert upsert, String batchId) {
+        // A batch written again after a partial failure or a restart skips the buckets it already incremented.
+        // Other instances stamp the same buckets in between, so the most recent batches are kept, not only the last
+        upsert.query().addCriteria(Criteria.where("appliedBatchIds").ne(batchId));
+        upsert.update().push("appliedBatchIds")
+                .slice(-revenueProperties.getWriteBehindAppliedBatchHistory())
+                .each(batchId);
+        return upsert;
+    }
 
-            for (Revenue revenue : revenueList) {
-                Revenue oldState = new Revenue();
-                oldState.set_id(revenue.get_id());
-                oldState.setMonth(revenue.getMonth());
-                oldState.setYear(revenue.getYear());
-                oldState.setRevenue(revenue.getRevenue());
+    private static List<Upsert> rollupUpserts(Map<LocalDate, BigDecimal> byDay, Instant now) {
+        List<Upsert> upserts = new ArrayList<>();
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            Map<LocalDate, BigDecimal> buckets = new TreeMap<>();
+            byDay.forEach((day, amount) -> buckets.merge(granularity.periodStart(day), amount, BigDecimal::add));
+            buckets.forEach((periodStart, amount) -> upserts.add(new Upsert(
+                    Query.query(Criteria.where("granularity").is(granularity).and("periodStart").is(periodStart)),
+                    increment(amount, now))));
+        }
+        return upserts;
+    }
 
-                revenue.setRevenue(revenue.getRevenue().add(delta));
-                Revenue saved = revenueRepository.save(revenue);
+    private static Update increment(BigDecimal amount, Instant now) {
+        return new Update()
+                .inc("revenue", new Decimal128(amount))
+                .set("audit.updatedAt", now)
+                .setOnInsert("audit.createdAt", now);
+    }
 
-                DiffComparer<Revenue> comparer = new DiffComparer<>(oldState, saved);
-                DiffResult diff = comparer.compare();
-                DiffContext.addDiff(diff.toJson());
+    private void upsertAll(Class<?> entityClass, List<Upsert> upserts) {
+        try {
+            bulk(entityClass, upserts).execute();
+        } catch (BulkOperationException e) {
+            // Upserts that found their document existing are retried as plain increments; that covers both a lost
+            // race to create it and a bucket already stamped with the batch, which the retry then leaves unmatched.
+            // The others were applied, so retrying them would count the amount twice
+            List<Upsert> failed = e.getErrors().stream()
+                    .map(error -> duplicateKeyUpsert(error, upserts, e))
+                    .toList();
+            BulkOperations retry = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+            for (Upsert upsert : failed) {
+                retry.updateOne(upsert.query(), upsert.update());
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            retry.execute();
+        }
+    }
+
+    private BulkOperations bulk(Class<?> entityClass, List<Upsert> upserts) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        for (Upsert upsert : upserts) {
+            bulk.upsert(upsert.query(), upsert.update());
+        }
+        return bulk;
+    }
+
+    private static Upsert duplicateKeyUpsert(BulkWriteError error, List<Upsert> upserts, BulkOperationException cause) {
+        if (error.getCode() != DUPLICATE_KEY) {
+            throw cause;
         }
+        return upserts.get(error.getIndex());
+    }
+
+    private record Upsert(Query query, Update update) {
     }
 }
@@ -0,0 +1,260 @@
+package com.dashboard.service;
+
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.service.interfaces.IRevenueWriteBehindLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log behind the revenue write-behind mode. Every delta is appended to the active segment and added to
+ * a per-day total once it is synced; appends arriving together share one fsync. Taking a batch seals the segment
+ * together with the totals it produced, and the sealed segment is deleted once the totals are written. The segment's
+ * name identifies the batch, so a batch that is written again after a failure or a restart can be recognised.
+ * Segments left by a stopped instance are read back as one batch each.
+ */
+@Slf4j
+@Service
+@Scope("singleton")
+@RequiredArgsConstructor
+public class RevenueWriteBehindLog implements IRevenueWriteBehindLog {
+    private static final String ACTIVE_SEGMENT = "active.log";
+    private static final String SEALED_PREFIX = "sealed-";
+
+    private final RevenueProperties revenueProperties;
+    private final MeterRegistry meterRegistry;
+
+    // Appends share the read lock so they can be synced together; sealing takes the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<LocalDate, BigDecimal> totals = new ConcurrentHashMap<>();
+
+    // One record is written at a time, so concurrent records never interleave within a line
+    private final Object recordLock = new Object();
+    private long written;
+
+    // One fsync at a time; it covers every record written before it started
+    private final Object syncLock = new Object();
+    private long synced;
+
+    private Path directory;
+    private FileChannel active;
+    private Counter appended;
+    private Counter syncs;
+
+    // Taken but not yet completed, head first, guarded by the caller's flush
+    private final Deque<Batch> pending = new ArrayDeque<>();
+
+    private record Batch(Path segment, Map<LocalDate, BigDecimal> totals) {
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!revenueProperties.isWriteBehindEnabled()) {
+            return;
+        }
+
+        appended = meterRegistry.counter("revenue.write.behind.appended");
+        syncs = meterRegistry.counter("revenue.write.behind.syncs");
+        directory = Path.of(revenueProperties.getWriteBehindLogDirectory());
+        Files.createDirectories(directory);
+        pending.addAll(recover());
+        active = openActive();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    @Override
+    public void append(LocalDate date, BigDecimal delta) {
+        ByteBuffer record = StandardCharsets.UTF_8.encode(date + " " + delta.toPlainString() + "\n");
+        lock.readLock().lock();
+        try {
+            long sequence;
+            synchronized (recordLock) {
+                while (record.hasRemaining()) {
+                    active.write(record);
+                }
+                sequence = ++written;
+            }
+            // The delta only counts once it is on disk, so every buffered total can be rebuilt from the log
+            sync(sequence);
+            totals.merge(date, delta, BigDecimal::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to the revenue write-ahead log", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        appended.increment();
+    }
+
+    private void sync(long sequence) throws IOException {
+        // Group commit: appenders that wrote while another fsync was running share the next one
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            long covered;
+            synchronized (recordLock) {
+                covered = written;
+            }
+            active.force(false);
+            synced = covered;
+            syncs.increment();
+        }
+    }
+
+    @Override
+    public Map<LocalDate, BigDecimal> takeBatch() {
+        while (!pending.isEmpty() && pending.peekFirst().totals().isEmpty()) {
+            // Recovered segment without a complete record
+            completeBatch();
+        }
+        if (pending.isEmpty()) {
+            Batch sealed = seal();
+            if (sealed == null) {
+                return Map.of();
+            }
+            pending.addLast(sealed);
+        }
+        return pending.peekFirst().totals();
+    }
+
+    @Override
+    public String batchId() {
+        Batch batch = pending.peekFirst();
+        return batch == null ? null : batch.segment().getFileName().toString();
+    }
+
+    @Override
+    public void completeBatch() {
+        Batch batch = pending.peekFirst();
+        if (batch == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(batch.segment());
+        } catch (IOException e) {
+            // Left behind it would be replayed after a restart, so fail loudly rather than carry on
+            throw new UncheckedIOException("Failed to delete written revenue log segment " + batch.segment(), e);
+        }
+        pending.removeFirst();
+    }
+
+    private Batch seal() {
+        if (directory == null) {
+            return null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (totals.isEmpty()) {
+                return null;
+            }
+
+            active.close();
+            Path sealed = sealedPath();
+            Files.move(directory.resolve(ACTIVE_SEGMENT), sealed, StandardCopyOption.ATOMIC_MOVE);
+            active = openActive();
+
+            Batch batch = new Batch(sealed, Map.copyOf(totals));
+            totals = new ConcurrentHashMap<>();
+            return batch;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to seal the revenue write-ahead log", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Batch> recover() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> isSegment(file.getFileName().toString())).sorted().forEach(segments::add);
+        }
+
+        // A sealed segment may already be partly written under its name, so segments are never merged
+        List<Batch> recovered = new ArrayList<>();
+        for (Path segment : segments) {
+            Map<LocalDate, BigDecimal> totals = new HashMap<>();
+            read(segment, totals);
+            if (segment.getFileName().toString().equals(ACTIVE_SEGMENT)) {
+                // Free the active name for new appends; the old active segment was never written, so it gets a new name
+                Path moved = sealedPath();
+                Files.move(segment, moved, StandardCopyOption.ATOMIC_MOVE);
+                segment = moved;
+            }
+            recovered.add(new Batch(segment, Map.copyOf(totals)));
+        }
+
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} revenue write-ahead log segments", recovered.size());
+        }
+        return recovered;
+    }
+
+    private static void read(Path segment, Map<LocalDate, BigDecimal> totals) throws IOException {
+        String content = Files.readString(segment, StandardCharsets.UTF_8);
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            String line = content.substring(start, end);
+            start = end + 1;
+            String[] parts = line.split(" ");
+            try {
+                totals.merge(LocalDate.parse(parts[0]), new BigDecimal(parts[1]), BigDecimal::add);
+            } catch (DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                log.warn("Skipping malformed revenue log record '{}' in {}", line, segment);
+            }
+        }
+        if (start < content.length()) {
+            // A record without its newline was cut off by a crash before it was acknowledged
+            log.warn("Skipping incomplete revenue log record at the end of {}", segment);
+        }
+    }
+
+    private FileChannel openActive() throws IOException {
+        return FileChannel.open(directory.resolve(ACTIVE_SEGMENT),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path sealedPath() {
+        // Unique across instances too, since the name is stamped on the buckets it is written to
+        return directory.resolve(SEALED_PREFIX + System.currentTimeMillis() + "-" + UUID.randomUUID() + ".log");
+    }
+
+    private static boolean isSegment(String name) {
+        return name.equals(ACTIVE_SEGMENT) || (name.startsWith(SEALED_PREFIX) && name.endsWith(".log"));
+    }
+}
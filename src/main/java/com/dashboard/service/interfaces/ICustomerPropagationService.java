@@ -0,0 +1,17 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.CustomerPropagationJob;
+
+public interface ICustomerPropagationService {
+
+    /**
+     * Records a job copying the customer's current values onto its search documents, superseding older jobs.
+     */
+    CustomerPropagationJob propagate(Customer customer);
+
+    /**
+     * Claims and runs pending or abandoned jobs until none are left.
+     */
+    void runPendingJobs();
+}
@@ -13,6 +13,7 @@ public interface ICustomerService {
     Optional<Customer> getCustomer(ObjectId id);
     List<Customer> getAllCustomers();
     Long getCount();
+    List<Customer> suggestCustomers(String prefix, int limit);
     CustomerRead createCustomer(CustomerCreate customerCreate);
     CustomerRead updateCustomer(String id, CustomerUpdate customerUpdate);
     void deleteCustomer(String id);
@@ -0,0 +1,24 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.entities.Customer;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+public interface ICustomerSuggestIndex {
+
+    /**
+     * Returns up to {@code limit} active customers whose name, a word of the name, or email starts with the
+     * prefix, ignoring case and accents, in key order.
+     */
+    List<Customer> suggest(String prefix, int limit);
+
+    void put(Customer customer);
+
+    void remove(ObjectId customerId);
+
+    /**
+     * Replaces the index contents with the active customers from the database.
+     */
+    void load();
+}
@@ -0,0 +1,12 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.DataCollection;
+
+public interface IDataVersionService {
+
+    long getVersion(DataCollection collection);
+
+    void bump(DataCollection collection);
+
+    String etag(DataCollection collection);
+}
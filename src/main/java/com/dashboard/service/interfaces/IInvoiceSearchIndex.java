@@ -0,0 +1,32 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface IInvoiceSearchIndex {
+
+    /**
+     * Returns every live document matching the normalized term, or empty while the index is disabled or warming.
+     */
+    Optional<List<InvoiceSearchDocument>> search(String term);
+
+    /**
+     * Returns up to limit live documents matching the normalized term in (date, _id) descending order, starting
+     * strictly after the given date and id, or from the newest when date is null. Empty while disabled or warming.
+     */
+    Optional<List<InvoiceSearchDocument>> searchAfter(String term, LocalDate date, ObjectId id, int limit);
+
+    boolean isReady();
+
+    void put(InvoiceSearchDocument document);
+
+    void updateCustomer(ObjectId customerId, String name, String email, String imageUrl);
+
+    void remove(ObjectId invoiceId);
+
+    void reload();
+}
@@ -0,0 +1,10 @@
+package com.dashboard.service.interfaces;
+
+public interface IInvoiceSearchReconciler {
+
+    /**
+     * Resyncs the search documents of invoices changed since the last run whose document is missing,
+     * older than the invoice, or still live although the invoice was deleted.
+     */
+    void reconcile();
+}
@@ -1,20 +1,52 @@
 package com.dashboard.service.interfaces;
 
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
+import com.dashboard.model.SearchMode;
 import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.CustomerPropagationJob;
 import com.dashboard.model.entities.Invoice;
 import com.dashboard.model.entities.InvoiceSearchDocument;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface IInvoiceSearchService {
 
-    Page<InvoiceSearchDocument> search(String searchTerm, Pageable pageable);
+    /**
+     * Finds the documents matching the search term and, when given, every field of the filter.
+     */
+    Page<InvoiceSearchDocument> search(String searchTerm, SearchMode mode, InvoiceFilter filter, Pageable pageable);
+
+    Slice<InvoiceSearchDocument> searchSlice(String searchTerm, SearchMode mode, InvoiceFilter filter, Pageable pageable);
+
+    long count(String searchTerm, SearchMode mode, InvoiceFilter filter);
+
+    Slice<InvoiceSearchDocument> searchAfter(String searchTerm, SearchMode mode, InvoiceFilter filter,
+                                             String cursor, int size);
+
+    List<InvoiceSearchDocument> list(String status, long offset, Integer limit);
+
+    boolean isInSync();
 
     void syncInvoice(Invoice invoice);
 
+    /**
+     * Upserts the search documents of all given invoices, keyed on invoiceId, in a single bulk write.
+     * Soft-deleted invoices mark their search document deleted instead.
+     */
+    void syncInvoices(List<Invoice> invoices);
+
     void syncCustomer(Customer customer);
 
+    /**
+     * Copies the job's customer values onto the next chunk of the customer's search documents after
+     * {@code lastProcessedId}, in _id order, and returns the ids that were updated.
+     */
+    List<ObjectId> syncCustomerChunk(CustomerPropagationJob job, int limit);
+
     void markInvoiceDeleted(ObjectId invoiceId);
 
     void rebuildIndex();
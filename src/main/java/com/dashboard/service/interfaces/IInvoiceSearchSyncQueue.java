@@ -0,0 +1,19 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.entities.Invoice;
+
+public interface IInvoiceSearchSyncQueue {
+
+    /**
+     * Schedules the invoice's search document to be written, replacing any pending write for the same invoice.
+     * A soft-deleted invoice marks its search document deleted.
+     */
+    void enqueue(Invoice invoice);
+
+    /**
+     * Writes every pending invoice on the calling thread.
+     */
+    void flush();
+
+    int getDepth();
+}
@@ -3,15 +3,23 @@ package com.dashboard.service.interfaces;
 import com.dashboard.dataTransferObject.invoice.InvoiceCreate;
 import com.dashboard.dataTransferObject.invoice.InvoiceRead;
 import com.dashboard.dataTransferObject.invoice.InvoiceUpdate;
+import com.dashboard.model.InvoiceSummary;
 import com.dashboard.model.entities.Invoice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IInvoiceService {
     List<Invoice> getAllInvoices();
+    List<InvoiceRead> getAllInvoiceReads();
+    List<InvoiceRead> getInvoiceReadsByStatus(String status);
+    List<InvoiceRead> getLatestInvoiceReads(Integer indexFrom, Integer indexTo);
+    void streamAllInvoices(Consumer<Invoice> consumer);
     List<Invoice> getInvoicesByStatus(String status);
+    InvoiceSummary getInvoiceSummary(String status);
     List<Invoice> getLatestInvoice(Integer indexFrom, Integer indexTo);
+    List<Invoice> getLatestInvoiceAfter(String after, int limit);
     Page<Invoice> searchInvoices(String rawTerm, Pageable pageable);
     Invoice getInvoiceById(String id);
     InvoiceRead createInvoice(InvoiceCreate invoiceCreate);
@@ -0,0 +1,24 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.InvoiceSummary;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface IInvoiceStatsService {
+
+    /**
+     * Announces a delta for each status before the invoice write it belongs to, so a reconcile running meanwhile
+     * leaves those statuses alone. Returns the token recordDelta clears.
+     */
+    String beginDelta(String... statuses);
+
+    /**
+     * Applies the delta to the status totals and clears the status's announcement made under the token.
+     */
+    void recordDelta(String token, String status, long countDelta, BigDecimal amountDelta);
+
+    Optional<InvoiceSummary> getSummary(String status);
+
+    void reconcile();
+}
@@ -0,0 +1,17 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.dataTransferObject.revenue.RevenueRecomputeRead;
+
+public interface IRevenueRecomputeService {
+
+    /**
+     * Rebuilds the monthly revenue documents and the revenue rollups from the active invoices and writes the
+     * ones that differ. Returns the changed months and how long each year took.
+     */
+    RevenueRecomputeRead recompute();
+
+    /**
+     * Builds the revenue rollups from the active invoices unless that has completed before.
+     */
+    void backfillRollups();
+}
@@ -0,0 +1,11 @@
+package com.dashboard.service.interfaces;
+
+import com.dashboard.model.SerializedResponse;
+
+public interface IRevenueResponseCache {
+
+    /**
+     * Returns the serialized revenue list, rebuilding it first when the revenue data version has moved on.
+     */
+    SerializedResponse get();
+}
@@ -1,12 +1,21 @@
 package com.dashboard.service.interfaces;
 
+import com.dashboard.model.RevenueGranularity;
 import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
 
 import java.math.BigDecimal;
-import java.time.Month;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface IRevenueService {
     List<Revenue> getAllRevenues();
-    void adjustRevenue(Month month, Integer year, BigDecimal delta);
+    List<RevenueRollup> getRollups(RevenueGranularity granularity, LocalDate from, LocalDate to);
+    void adjustRevenue(LocalDate date, BigDecimal delta);
+
+    /**
+     * Writes the deltas buffered in write-behind mode, one increment per month and rollup bucket.
+     * Does nothing when write-behind is disabled.
+     */
+    void flushWriteBehind();
 }
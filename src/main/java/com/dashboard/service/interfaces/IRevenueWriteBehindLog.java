@@ -0,0 +1,30 @@
+package com.dashboard.service.interfaces;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface IRevenueWriteBehindLog {
+
+    /**
+     * Appends the delta to the write-ahead log and adds it to the day's buffered total.
+     */
+    void append(LocalDate date, BigDecimal delta);
+
+    /**
+     * Returns the buffered totals per day and starts a new batch for later deltas. The same batch is returned again
+     * until it is completed, so a failed write is retried. Empty when nothing is buffered.
+     */
+    Map<LocalDate, BigDecimal> takeBatch();
+
+    /**
+     * Identifies the batch returned by takeBatch. It stays the same when the batch is returned again, including after
+     * a restart, so writers can recognise buckets the batch was already written to. Null when no batch is taken.
+     */
+    String batchId();
+
+    /**
+     * Discards the log of the batch returned by takeBatch once its totals are written.
+     */
+    void completeBatch();
+}
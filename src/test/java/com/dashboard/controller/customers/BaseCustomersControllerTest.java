@@ -7,6 +7,7 @@ import com.dashboard.dataTransferObject.customer.CustomerRead;
 import com.dashboard.mapper.interfaces.ICustomerMapper;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.service.interfaces.ICustomerService;
+import com.dashboard.service.interfaces.IDataVersionService;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import net.datafaker.Faker;
@@ -27,6 +28,9 @@ import com.dashboard.config.TestConfig;
 
 import java.time.Instant;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
 @Epic("Customers")
 @Feature("Customer API")
 @Tag("controller-customer")
@@ -38,6 +42,8 @@ import java.time.Instant;
 @WithMockUser(username = "testUser")
 public abstract class BaseCustomersControllerTest {
 
+    protected static final String TEST_ETAG = "test-etag";
+
     @Autowired
     protected MockMvc mockMvc;
 
@@ -50,6 +56,9 @@ public abstract class BaseCustomersControllerTest {
     @MockitoBean
     protected GrafanaHttpClient grafanaHttpClient;
 
+    @MockitoBean
+    protected IDataVersionService dataVersionService;
+
     protected final Faker faker = new Faker();
 
     protected ObjectId testCustomerId;
@@ -60,6 +69,7 @@ public abstract class BaseCustomersControllerTest {
 
     @BeforeEach
     void setUpBase() {
+        when(dataVersionService.etag(any())).thenReturn(TEST_ETAG);
         testCustomerId = new ObjectId();
         testCustomerName = faker.name().fullName();
         testCustomerEmail = faker.internet().emailAddress();
@@ -6,12 +6,16 @@ import io.qameta.allure.Story;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import java.util.Collections;
 import java.util.List;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -78,4 +82,15 @@ public class GetAllCustomersTest extends BaseCustomersControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2));
     }
+
+    @Test
+    @DisplayName("should return 304 without reading data when the ETag matches")
+    void getAllCustomers_Returns304WhenETagMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TEST_ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TEST_ETAG + "\""));
+
+        verify(customersService, never()).getAllCustomers();
+    }
 }
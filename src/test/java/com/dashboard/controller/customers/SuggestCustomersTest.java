@@ -0,0 +1,50 @@
+package com.dashboard.controller.customers;
+
+import com.dashboard.dataTransferObject.customer.CustomerRead;
+import com.dashboard.model.entities.Customer;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import java.util.List;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Story("Suggest Customers")
+@DisplayName("GET /customers/suggest")
+public class SuggestCustomersTest extends BaseCustomersControllerTest {
+    @Test
+    @DisplayName("should return the suggested customers")
+    void suggestCustomers_ReturnsSuggestions() throws Exception {
+        Customer testCustomer = createTestCustomer();
+        CustomerRead testCustomerRead = createTestCustomerRead();
+
+        when(customersService.suggestCustomers("ann", 10)).thenReturn(List.of(testCustomer));
+        when(customerMapper.toRead(testCustomer)).thenReturn(testCustomerRead);
+
+        mockMvc.perform(get("/api/v1/customers/suggest")
+                        .param("prefix", "ann"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(testCustomerId.toHexString()))
+                .andExpect(jsonPath("$[0].name").value(testCustomerName));
+    }
+
+    @Test
+    @DisplayName("should cap the requested limit")
+    void suggestCustomers_CapsLimit() throws Exception {
+        when(customersService.suggestCustomers("ann", 50)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/customers/suggest")
+                        .param("prefix", "ann")
+                        .param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(customersService).suggestCustomers("ann", 50);
+    }
+}
@@ -13,6 +13,7 @@ import com.dashboard.model.entities.Invoice;
 import com.dashboard.model.entities.InvoiceSearchDocument;
 import com.dashboard.service.interfaces.IActivityFeedService;
 import com.dashboard.service.interfaces.ICustomerService;
+import com.dashboard.service.interfaces.IDataVersionService;
 import com.dashboard.service.interfaces.IInvoiceSearchService;
 import com.dashboard.service.interfaces.IInvoiceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,6 +40,9 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
 @Epic("Invoices")
 @Feature("Invoice API")
 @Tag("controller-invoice")
@@ -50,6 +54,8 @@ import java.time.LocalDate;
 @WithMockUser(username = "testUser")
 public abstract class BaseInvoicesControllerTest {
 
+    protected static final String TEST_ETAG = "test-etag";
+
     protected final Faker faker = new Faker();
     @Autowired
     protected MockMvc mockMvc;
@@ -71,6 +77,8 @@ public abstract class BaseInvoicesControllerTest {
     protected GrafanaHttpClient grafanaHttpClient;
     @MockitoBean
     protected IActivityFeedService activityFeedService;
+    @MockitoBean
+    protected IDataVersionService dataVersionService;
     protected ObjectId testInvoiceId;
     protected ObjectId testCustomerId;
 
@@ -80,6 +88,7 @@ public abstract class BaseInvoicesControllerTest {
 
     @BeforeEach
     void setUpBase() {
+        when(dataVersionService.etag(any())).thenReturn(TEST_ETAG);
         testInvoiceId = new ObjectId();
         testCustomerId = new ObjectId();
         testAmount = BigDecimal.valueOf(faker.number().randomDouble(2, 100, 10000))
@@ -1,19 +1,22 @@
 package com.dashboard.controller.invoices;
 
-import com.dashboard.dataTransferObject.customer.CustomerRead;
 import com.dashboard.dataTransferObject.invoice.InvoiceRead;
 import com.dashboard.model.entities.Invoice;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -27,8 +30,7 @@ class GetAllInvoicesTest extends BaseInvoicesControllerTest {
         Invoice testInvoice = createTestInvoice();
         InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
 
-        when(invoiceService.getAllInvoices()).thenReturn(List.of(testInvoice));
-        when(invoiceMapper.toReadWithCustomer(testInvoice)).thenReturn(testInvoiceRead);
+        when(invoiceService.getAllInvoiceReads()).thenReturn(List.of(testInvoiceRead));
 
         mockMvc.perform(get("/api/v1/invoices/"))
                 .andExpect(status().isOk())
@@ -41,7 +43,7 @@ class GetAllInvoicesTest extends BaseInvoicesControllerTest {
     @Test
     @DisplayName("should return empty list when no invoices exist")
     void getAllInvoices_ReturnsEmptyListWhenNoInvoices() throws Exception {
-        when(invoiceService.getAllInvoices()).thenReturn(Collections.emptyList());
+        when(invoiceService.getAllInvoiceReads()).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/v1/invoices/"))
                 .andExpect(status().isOk())
@@ -49,4 +51,15 @@ class GetAllInvoicesTest extends BaseInvoicesControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should return 304 without reading data when the ETag matches")
+    void getAllInvoices_Returns304WhenETagMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices/")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TEST_ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TEST_ETAG + "\""));
+
+        verify(invoiceService, never()).getAllInvoiceReads();
+    }
+}
@@ -1,17 +1,16 @@
 package com.dashboard.controller.invoices;
 
-import com.dashboard.model.entities.InvoiceSearchDocument;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 
-import java.util.Collections;
-
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -23,9 +22,7 @@ public class GetInvoicePagesTest extends BaseInvoicesControllerTest {
     @Test
     @DisplayName("should return total pages")
     void getPages_ReturnsTotalPages() throws Exception {
-        Page<InvoiceSearchDocument> page = new PageImpl<>(Collections.emptyList(), Pageable.ofSize(15), 45);
-
-        when(invoiceSearchService.search(any(), any(Pageable.class))).thenReturn(page);
+        when(invoiceSearchService.count(any(), any(), any())).thenReturn(45L);
 
         mockMvc.perform(get("/api/v1/invoices/pages"))
                 .andExpect(status().isOk())
@@ -36,9 +33,7 @@ public class GetInvoicePagesTest extends BaseInvoicesControllerTest {
     @Test
     @DisplayName("should use custom size when provided")
     void getPages_UsesCustomSize() throws Exception {
-        Page<InvoiceSearchDocument> page = new PageImpl<>(Collections.emptyList(), Pageable.ofSize(10), 25);
-
-        when(invoiceSearchService.search(any(), any(Pageable.class))).thenReturn(page);
+        when(invoiceSearchService.count(any(), any(), any())).thenReturn(25L);
 
         mockMvc.perform(get("/api/v1/invoices/pages")
                         .param("size", "10"))
@@ -46,4 +41,17 @@ public class GetInvoicePagesTest extends BaseInvoicesControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string("3"));
     }
+
+    @Test
+    @DisplayName("should count without running the search")
+    void getPages_CountsWithoutSearching() throws Exception {
+        when(invoiceSearchService.count(eq("paid"), isNull(), any())).thenReturn(0L);
+
+        mockMvc.perform(get("/api/v1/invoices/pages")
+                        .param("searchTerm", "paid"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+
+        verify(invoiceSearchService, never()).search(any(), any(), any(), any(Pageable.class));
+    }
 }
@@ -1,12 +1,11 @@
 package com.dashboard.controller.invoices;
 
-import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.InvoiceSummary;
 import io.qameta.allure.Story;
-import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
-import java.util.List;
+import java.math.BigDecimal;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -18,11 +17,7 @@ class GetInvoicesCountTest extends BaseInvoicesControllerTest {
     @Test
     @DisplayName("should return total count when no status provided")
     void getInvoiceCount_ReturnsTotalCount() throws Exception {
-        Invoice invoice1 = createTestInvoice();
-        Invoice invoice2 = createTestInvoice();
-        invoice2.set_id(new ObjectId());
-
-        when(invoiceService.getAllInvoices()).thenReturn(List.of(invoice1, invoice2));
+        when(invoiceService.getInvoiceSummary(null)).thenReturn(new InvoiceSummary(2L, new BigDecimal("300.00")));
 
         mockMvc.perform(get("/api/v1/invoices/count"))
                 .andExpect(status().isOk())
@@ -33,9 +28,7 @@ class GetInvoicesCountTest extends BaseInvoicesControllerTest {
     @Test
     @DisplayName("should return count by status when status provided")
     void getInvoiceCount_ReturnsCountByStatus() throws Exception {
-        Invoice testInvoice = createTestInvoice();
-
-        when(invoiceService.getInvoicesByStatus("pending")).thenReturn(List.of(testInvoice));
+        when(invoiceService.getInvoiceSummary("pending")).thenReturn(new InvoiceSummary(1L, testAmount));
 
         mockMvc.perform(get("/api/v1/invoices/count")
                         .param("status", "pending"))
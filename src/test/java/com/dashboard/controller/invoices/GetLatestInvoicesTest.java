@@ -1,7 +1,7 @@
 package com.dashboard.controller.invoices;
 
-import com.dashboard.dataTransferObject.customer.CustomerRead;
 import com.dashboard.dataTransferObject.invoice.InvoiceRead;
+import com.dashboard.dataTransferObject.page.PageCursor;
 import com.dashboard.model.entities.Invoice;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +13,7 @@ import java.util.List;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -25,11 +26,8 @@ class GetLatestInvoicesTest extends BaseInvoicesControllerTest {
     void getLatestInvoices_ReturnsAllWhenNoIndices() throws Exception {
         Invoice testInvoice = createTestInvoice();
         InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
-        CustomerRead customerRead = testInvoiceRead.getCustomer();
 
-        when(invoiceService.getAllInvoices()).thenReturn(List.of(testInvoice));
-        when(invoiceMapper.toRead(testInvoice)).thenReturn(testInvoiceRead);
-        when(customerMapper.toRead(testInvoice.getCustomer())).thenReturn(customerRead);
+        when(invoiceService.getAllInvoiceReads()).thenReturn(List.of(testInvoiceRead));
 
         mockMvc.perform(get("/api/v1/invoices/latest"))
                 .andExpect(status().isOk())
@@ -42,18 +40,46 @@ class GetLatestInvoicesTest extends BaseInvoicesControllerTest {
     void getLatestInvoices_ReturnsRangeWhenIndicesProvided() throws Exception {
         Invoice testInvoice = createTestInvoice();
         InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
-        CustomerRead customerRead = testInvoiceRead.getCustomer();
 
-        when(invoiceService.getLatestInvoice(0, 5)).thenReturn(List.of(testInvoice));
-        when(invoiceMapper.toRead(testInvoice)).thenReturn(testInvoiceRead);
-        when(customerMapper.toRead(testInvoice.getCustomer())).thenReturn(customerRead);
+        when(invoiceService.getLatestInvoiceReads(0, 5)).thenReturn(List.of(testInvoiceRead));
 
         mockMvc.perform(get("/api/v1/invoices/latest")
                         .param("indexFrom", "0")
                         .param("indexTo", "5"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$[0].id").value(testInvoiceId.toHexString()));
+    }
+
+    @Test
+    @DisplayName("should return a next cursor when the cursor page is full")
+    void getLatestInvoices_ReturnsNextCursorWhenPageIsFull() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+        String expectedCursor = new PageCursor(testDate.toString(), testInvoiceId).encode();
+
+        when(invoiceService.getLatestInvoiceAfter(null, 1)).thenReturn(List.of(testInvoice));
+        when(invoiceMapper.toReadWithCustomer(testInvoice)).thenReturn(testInvoiceRead);
+
+        mockMvc.perform(get("/api/v1/invoices/latest")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", expectedCursor))
+                .andExpect(jsonPath("$[0].id").value(testInvoiceId.toHexString()));
+    }
+
+    @Test
+    @DisplayName("should omit the next cursor on the last page")
+    void getLatestInvoices_OmitsNextCursorOnLastPage() throws Exception {
+        String cursor = new PageCursor(testDate.toString(), testInvoiceId).encode();
+
+        when(invoiceService.getLatestInvoiceAfter(cursor, 10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/invoices/latest")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$").isEmpty());
     }
 
     @Test
@@ -1,7 +1,10 @@
 package com.dashboard.controller.invoices;
 
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
 import com.dashboard.dataTransferObject.invoice.InvoiceRead;
+import com.dashboard.dataTransferObject.page.PageCursor;
 import com.dashboard.dataTransferObject.page.PageRequest;
+import com.dashboard.model.SearchMode;
 import com.dashboard.model.entities.Invoice;
 import com.dashboard.model.entities.InvoiceSearchDocument;
 import io.qameta.allure.Story;
@@ -10,10 +13,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
+import java.math.BigDecimal;
 import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -38,7 +46,7 @@ public class SearchInvoicesTest extends BaseInvoicesControllerTest {
 
         Page<InvoiceSearchDocument> searchPage = new PageImpl<>(List.of(searchDoc), Pageable.ofSize(10), 1);
 
-        when(invoiceSearchService.search(eq("test"), any(Pageable.class))).thenReturn(searchPage);
+        when(invoiceSearchService.search(eq("test"), any(), any(), any(Pageable.class))).thenReturn(searchPage);
         when(invoiceSearchMapper.toRead(searchDoc)).thenReturn(testInvoiceRead);
 
         mockMvc.perform(post("/api/v1/invoices/search")
@@ -59,7 +67,7 @@ public class SearchInvoicesTest extends BaseInvoicesControllerTest {
         pageRequest.setSearch("nonexistent");
 
         Page<InvoiceSearchDocument> emptyPage = Page.empty();
-        when(invoiceSearchService.search(eq("nonexistent"), any(Pageable.class))).thenReturn(emptyPage);
+        when(invoiceSearchService.search(eq("nonexistent"), any(), any(), any(Pageable.class))).thenReturn(emptyPage);
 
         mockMvc.perform(post("/api/v1/invoices/search")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -80,4 +88,179 @@ public class SearchInvoicesTest extends BaseInvoicesControllerTest {
                         .content(objectMapper.writeValueAsString(pageRequest)))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    @DisplayName("should return next cursor when paging with a cursor and more rows follow")
+    void searchInvoices_ReturnsNextCursorWhenMoreRowsFollow() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceSearchDocument searchDoc = createTestInvoiceSearchDocument(testInvoice);
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setSize(1);
+        pageRequest.setSearch("test");
+        pageRequest.setCursor("");
+
+        when(invoiceSearchService.searchAfter("test", null, null, "", 1))
+                .thenReturn(new SliceImpl<>(List.of(searchDoc), Pageable.ofSize(1), true));
+        when(invoiceSearchMapper.toRead(searchDoc)).thenReturn(testInvoiceRead);
+
+        String expectedCursor = new PageCursor(searchDoc.getDate().toString(), searchDoc.get_id()).encode();
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pageRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(expectedCursor))
+                .andExpect(jsonPath("$.itemsPerPage").value(1));
+
+        verify(invoiceSearchService, never()).search(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("should omit next cursor on the last cursor page")
+    void searchInvoices_OmitsNextCursorOnLastPage() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceSearchDocument searchDoc = createTestInvoiceSearchDocument(testInvoice);
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setSize(10);
+        pageRequest.setCursor("previous");
+
+        when(invoiceSearchService.searchAfter(null, null, null, "previous", 10))
+                .thenReturn(new SliceImpl<>(List.of(searchDoc), Pageable.ofSize(10), false));
+        when(invoiceSearchMapper.toRead(searchDoc)).thenReturn(testInvoiceRead);
+
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pageRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("should return hasNext without counting when skipCount is set")
+    void searchInvoices_ReturnsHasNextWhenSkipCountIsSet() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceSearchDocument searchDoc = createTestInvoiceSearchDocument(testInvoice);
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPage(2);
+        pageRequest.setSize(1);
+        pageRequest.setSearch("test");
+        pageRequest.setSkipCount(true);
+
+        when(invoiceSearchService.searchSlice(eq("test"), any(), any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(searchDoc), Pageable.ofSize(1).withPage(1), true));
+        when(invoiceSearchMapper.toRead(searchDoc)).thenReturn(testInvoiceRead);
+
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pageRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.currentPage").value(2))
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+        verify(invoiceSearchService, never()).search(any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("should pass the requested search mode to the search service")
+    void searchInvoices_PassesSearchMode() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceSearchDocument searchDoc = createTestInvoiceSearchDocument(testInvoice);
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPage(1);
+        pageRequest.setSize(10);
+        pageRequest.setSearch("anna smith");
+        pageRequest.setMode(SearchMode.TEXT);
+
+        Page<InvoiceSearchDocument> searchPage = new PageImpl<>(List.of(searchDoc), Pageable.ofSize(10), 1);
+        when(invoiceSearchService.search(eq("anna smith"), eq(SearchMode.TEXT), any(), any(Pageable.class))).thenReturn(searchPage);
+        when(invoiceSearchMapper.toRead(searchDoc)).thenReturn(testInvoiceRead);
+
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pageRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(testInvoiceId.toHexString()));
+    }
+
+    @Test
+    @DisplayName("should pass structured filters to the search service")
+    void searchInvoices_PassesFilter() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceSearchDocument searchDoc = createTestInvoiceSearchDocument(testInvoice);
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+
+        InvoiceFilter filter = new InvoiceFilter();
+        filter.setStatuses(List.of("paid"));
+        filter.setAmountMin(new BigDecimal("100.00"));
+
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPage(1);
+        pageRequest.setSize(10);
+        pageRequest.setFilter(filter);
+
+        Page<InvoiceSearchDocument> searchPage = new PageImpl<>(List.of(searchDoc), Pageable.ofSize(10), 1);
+        when(invoiceSearchService.search(any(), any(), argThat(actual -> actual != null
+                && List.of("paid").equals(actual.getStatuses())
+                && new BigDecimal("100.00").compareTo(actual.getAmountMin()) == 0), any(Pageable.class)))
+                .thenReturn(searchPage);
+        when(invoiceSearchMapper.toRead(searchDoc)).thenReturn(testInvoiceRead);
+
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pageRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(testInvoiceId.toHexString()));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the filter customer id is malformed")
+    void searchInvoices_Returns400WhenCustomerIdIsInvalid() throws Exception {
+        InvoiceFilter filter = new InvoiceFilter();
+        filter.setCustomerId("not-an-id");
+
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPage(1);
+        pageRequest.setSize(10);
+        pageRequest.setFilter(filter);
+
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pageRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should cap the page size of cursor and numbered pages")
+    void searchInvoices_CapsPageSize() throws Exception {
+        PageRequest cursorRequest = new PageRequest();
+        cursorRequest.setSize(Integer.MAX_VALUE);
+        cursorRequest.setSearch("test");
+        cursorRequest.setCursor("");
+        PageRequest numberedRequest = new PageRequest();
+        numberedRequest.setPage(1);
+        numberedRequest.setSize(Integer.MAX_VALUE);
+        numberedRequest.setSearch("test");
+        numberedRequest.setSkipCount(true);
+
+        when(invoiceSearchService.searchAfter("test", null, null, "", 100)).thenReturn(new SliceImpl<>(List.of()));
+        when(invoiceSearchService.searchSlice(eq("test"), any(), any(), argThat(pageable -> pageable.getPageSize() == 100)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cursorRequest)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/v1/invoices/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(numberedRequest)))
+                .andExpect(status().isNoContent());
+    }
 }
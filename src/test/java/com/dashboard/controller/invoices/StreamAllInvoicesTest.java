@@ -0,0 +1,64 @@
+package com.dashboard.controller.invoices;
+
+import com.dashboard.dataTransferObject.invoice.InvoiceRead;
+import com.dashboard.model.entities.Invoice;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Story("Stream All Invoices")
+@DisplayName("GET /invoices?stream=true")
+class StreamAllInvoicesTest extends BaseInvoicesControllerTest {
+
+    @Test
+    @DisplayName("should stream invoices as newline-delimited JSON")
+    void streamAllInvoices_WritesNdjson() throws Exception {
+        Invoice testInvoice = createTestInvoice();
+        InvoiceRead testInvoiceRead = createTestInvoiceRead(testInvoice);
+
+        doAnswer(invocation -> {
+            Consumer<Invoice> consumer = invocation.getArgument(0);
+            consumer.accept(testInvoice);
+            return null;
+        }).when(invoiceService).streamAllInvoices(any());
+        when(invoiceMapper.toReadWithCustomer(testInvoice)).thenReturn(testInvoiceRead);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/invoices/").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"id\":\"" + testInvoiceId.toHexString() + "\"")))
+                .andExpect(content().string(containsString("\n")));
+    }
+
+    @Test
+    @DisplayName("should return an empty body when no invoices exist")
+    void streamAllInvoices_ReturnsEmptyBodyWhenNoInvoices() throws Exception {
+        doAnswer(invocation -> null).when(invoiceService).streamAllInvoices(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/invoices/").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+}
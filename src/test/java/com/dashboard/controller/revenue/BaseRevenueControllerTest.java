@@ -4,8 +4,12 @@ import com.dashboard.common.logging.GrafanaHttpClient;
 import com.dashboard.common.model.Audit;
 import com.dashboard.controller.v1.RevenuesController;
 import com.dashboard.dataTransferObject.revenue.RevenueRead;
+import com.dashboard.environment.RevenueProperties;
 import com.dashboard.mapper.interfaces.IRevenueMapper;
 import com.dashboard.model.entities.Revenue;
+import com.dashboard.service.RevenueResponseCache;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueRecomputeService;
 import com.dashboard.service.interfaces.IRevenueService;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -27,18 +31,27 @@ import com.dashboard.config.TestConfig;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Month;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
 @Epic("Revenue")
 @Feature("Revenue API")
 @Tag("controller-revenue")
 @WebMvcTest(value = RevenuesController.class, excludeAutoConfiguration = {org.springframework.boot.security.oauth2.server.resource.autoconfigure.servlet.OAuth2ResourceServerAutoConfiguration.class})
 @AutoConfigureMockMvc(addFilters = false)
-@Import(TestConfig.class)
+@Import({TestConfig.class, RevenueResponseCache.class, RevenueProperties.class})
 @Execution(ExecutionMode.SAME_THREAD)
 @ResourceLock("spring-context")
 @WithMockUser(username = "testUser")
 public abstract class BaseRevenueControllerTest {
 
+    protected static final String TEST_ETAG = "test-etag";
+
+    // The response cache outlives a test in the shared context, so every test starts at a new data version
+    private static final AtomicLong VERSION = new AtomicLong();
+
     @Autowired
     protected MockMvc mockMvc;
 
@@ -51,6 +64,12 @@ public abstract class BaseRevenueControllerTest {
     @MockitoBean
     protected GrafanaHttpClient grafanaHttpClient;
 
+    @MockitoBean
+    protected IDataVersionService dataVersionService;
+
+    @MockitoBean
+    protected IRevenueRecomputeService revenueRecomputeService;
+
     protected final Faker faker = new Faker();
 
     protected ObjectId testRevenueId;
@@ -63,6 +82,8 @@ public abstract class BaseRevenueControllerTest {
 
     @BeforeEach
     void setUpBase() {
+        when(dataVersionService.etag(any())).thenReturn(TEST_ETAG);
+        when(dataVersionService.getVersion(any())).thenReturn(VERSION.incrementAndGet());
         testRevenueId = new ObjectId();
         testMonth = Month.of(faker.number().numberBetween(1, 12));
         testYear = 2024;
@@ -7,14 +7,25 @@ import io.qameta.allure.Story;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.time.Month;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -79,4 +90,52 @@ public class GetAllRevenuesTest extends BaseRevenueControllerTest {
                 .andExpect(jsonPath("$[1].month").value("FEBRUARY"))
                 .andExpect(jsonPath("$[1].revenue").value(6500.0));
     }
+
+    @Test
+    @DisplayName("should return 304 without reading data when the ETag matches")
+    void getAllRevenues_Returns304WhenETagMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/revenues/")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TEST_ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TEST_ETAG + "\""));
+
+        verify(revenueService, never()).getAllRevenues();
+    }
+
+    @Test
+    @DisplayName("should serve gzip to clients that accept it and serialize once per data version")
+    void getAllRevenues_ServesCachedGzip() throws Exception {
+        when(revenueService.getAllRevenues()).thenReturn(List.of(testRevenue));
+        when(revenueMapper.toRead(testRevenue)).thenReturn(testRevenueRead);
+
+        byte[] plain = mockMvc.perform(get("/api/v1/revenues/"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_ENCODING))))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] compressed = mockMvc.perform(get("/api/v1/revenues/")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(plain);
+        }
+        verify(revenueService, times(1)).getAllRevenues();
+    }
+
+    @Test
+    @DisplayName("should not gzip when the client refuses it")
+    void getAllRevenues_ServesPlainWhenGzipRefused() throws Exception {
+        when(revenueService.getAllRevenues()).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/api/v1/revenues/")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$").isEmpty());
+    }
 }
@@ -0,0 +1,78 @@
+package com.dashboard.controller.revenue;
+
+import com.dashboard.dataTransferObject.revenue.RevenueRollupRead;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.RevenueRollup;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Story("Get Revenue Rollups")
+@DisplayName("GET /revenues?granularity=")
+public class GetRevenueRollupsTest extends BaseRevenueControllerTest {
+    @Test
+    @DisplayName("should return the buckets of the requested granularity and range")
+    void getRevenueRollups_ReturnsBuckets() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 6, 30);
+        RevenueRollup rollup = new RevenueRollup();
+        rollup.setGranularity(RevenueGranularity.QUARTER);
+        rollup.setPeriodStart(LocalDate.of(2024, 4, 1));
+        rollup.setRevenue(new BigDecimal("1250.50"));
+
+        RevenueRollupRead rollupRead = new RevenueRollupRead();
+        rollupRead.setGranularity(RevenueGranularity.QUARTER.name());
+        rollupRead.setPeriodStart(rollup.getPeriodStart());
+        rollupRead.setRevenue(rollup.getRevenue());
+
+        when(revenueService.getRollups(RevenueGranularity.QUARTER, from, to)).thenReturn(List.of(rollup));
+        when(revenueMapper.toRead(rollup)).thenReturn(rollupRead);
+
+        mockMvc.perform(get("/api/v1/revenues")
+                        .param("granularity", "QUARTER")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TEST_ETAG + "\""))
+                .andExpect(jsonPath("$[0].granularity").value("QUARTER"))
+                .andExpect(jsonPath("$[0].periodStart").value("2024-04-01"))
+                .andExpect(jsonPath("$[0].revenue").value(1250.5));
+    }
+
+    @Test
+    @DisplayName("should leave the range open when from and to are omitted")
+    void getRevenueRollups_AllowsOpenRange() throws Exception {
+        when(revenueService.getRollups(RevenueGranularity.YEAR, null, null)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/revenues")
+                        .param("granularity", "YEAR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @DisplayName("should return 304 without reading data when the ETag matches")
+    void getRevenueRollups_Returns304WhenETagMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/revenues")
+                        .param("granularity", "DAY")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TEST_ETAG + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(revenueService, never()).getRollups(any(), any(), any());
+    }
+}
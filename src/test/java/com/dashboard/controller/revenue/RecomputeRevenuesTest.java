@@ -0,0 +1,48 @@
+package com.dashboard.controller.revenue;
+
+import com.dashboard.dataTransferObject.revenue.RevenueChangeRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRecomputeRead;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Story("Recompute Revenues")
+@DisplayName("POST /revenues/recompute")
+public class RecomputeRevenuesTest extends BaseRevenueControllerTest {
+    @Test
+    @DisplayName("should return the recompute report")
+    void recomputeRevenues_ReturnsReport() throws Exception {
+        RevenueChangeRead change = new RevenueChangeRead();
+        change.setYear(2024);
+        change.setMonth("MARCH");
+        change.setPrevious(new BigDecimal("100.00"));
+        change.setRecomputed(new BigDecimal("250.00"));
+
+        RevenueRecomputeRead report = new RevenueRecomputeRead();
+        report.setYears(1);
+        report.setChangedMonths(1);
+        report.setConflicts(0);
+        report.setDurationMillis(42L);
+        report.setYearDurationMillis(Map.of(2024, 40L));
+        report.setChanges(List.of(change));
+        when(revenueRecomputeService.recompute()).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/revenues/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.changedMonths").value(1))
+                .andExpect(jsonPath("$.yearDurationMillis.2024").value(40))
+                .andExpect(jsonPath("$.changes[0].month").value("MARCH"))
+                .andExpect(jsonPath("$.changes[0].previous").value(100.0))
+                .andExpect(jsonPath("$.changes[0].recomputed").value(250.0));
+    }
+}
@@ -3,14 +3,21 @@ package com.dashboard.integration;
 import com.dashboard.common.model.Audit;
 import com.dashboard.common.logging.GrafanaHttpClient;
 import com.dashboard.config.TestJwtTokenGenerator;
+import com.dashboard.model.DataCollection;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.entities.InvoiceSearchDocument;
 import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
 import com.dashboard.repository.ICustomerRepository;
 import com.dashboard.repository.IInvoiceRepository;
 import com.dashboard.repository.IInvoiceSearchRepository;
 import com.dashboard.repository.IRevenueRepository;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IInvoiceSearchSyncQueue;
+import com.dashboard.service.interfaces.IInvoiceStatsService;
 import com.dashboard.service.interfaces.IR2Service;
+import com.github.benmanes.caffeine.cache.Cache;
 import de.flapdoodle.embed.mongo.commands.ServerAddress;
 import de.flapdoodle.embed.mongo.distribution.Version;
 import de.flapdoodle.embed.mongo.transitions.Mongod;
@@ -22,6 +29,9 @@ import io.qameta.allure.Epic;
 import net.datafaker.Faker;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.dashboard.config.TestConfig;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -83,6 +93,30 @@ public abstract class BaseIntegrationTest {
     @Autowired
     protected IRevenueRepository revenueRepository;
 
+    @Autowired
+    protected MongoTemplate mongoTemplate;
+
+    @Autowired
+    protected Cache<String, Long> invoiceSearchCountCache;
+
+    @Autowired
+    protected Cache<String, Page<InvoiceSearchDocument>> invoiceSearchResultCache;
+
+    @Autowired
+    protected IInvoiceStatsService invoiceStatsService;
+
+    @Autowired
+    protected IInvoiceSearchSyncQueue invoiceSearchSyncQueue;
+
+    @Autowired
+    protected IDataVersionService dataVersionService;
+
+    @Autowired
+    protected Cache<ObjectId, Customer> customerByIdCache;
+
+    @Autowired
+    protected Cache<String, List<Customer>> allCustomersCache;
+
     @MockitoBean
     protected IR2Service r2Service;
 
@@ -94,10 +128,20 @@ public abstract class BaseIntegrationTest {
 
     @BeforeEach
     void cleanDatabase() {
+        // Pending search writes from the previous test must not land after the cleanup
+        invoiceSearchSyncQueue.flush();
         invoiceSearchRepository.deleteAll();
         invoiceRepository.deleteAll();
         customersRepository.deleteAll();
         revenueRepository.deleteAll();
+        mongoTemplate.remove(new Query(), RevenueRollup.class);
+        // The serialized revenue list is only rebuilt after a version bump
+        dataVersionService.bump(DataCollection.REVENUES);
+        invoiceSearchCountCache.invalidateAll();
+        invoiceSearchResultCache.invalidateAll();
+        customerByIdCache.invalidateAll();
+        allCustomersCache.invalidateAll();
+        invoiceStatsService.reconcile();
     }
 
     /**
@@ -153,7 +197,9 @@ public abstract class BaseIntegrationTest {
         revenue.setRevenue(BigDecimal.valueOf(faker.number().randomDouble(2, 1000, 100000))
                 .setScale(2, RoundingMode.HALF_UP));
         revenue.setAudit(createActiveAudit());
-        return revenueRepository.save(revenue);
+        revenue = revenueRepository.save(revenue);
+        dataVersionService.bump(DataCollection.REVENUES);
+        return revenue;
     }
 
     /**
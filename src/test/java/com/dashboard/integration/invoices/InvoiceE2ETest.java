@@ -1,15 +1,20 @@
 package com.dashboard.integration.invoices;
 
 import com.dashboard.dataTransferObject.invoice.InvoiceCreate;
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
 import com.dashboard.dataTransferObject.invoice.InvoiceUpdate;
 import com.dashboard.integration.BaseIntegrationTest;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 
 import java.math.BigDecimal;
@@ -35,6 +40,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("Invoice E2E Tests")
 public class InvoiceE2ETest extends BaseIntegrationTest {
 
+    @Autowired
+    private IInvoiceSearchService invoiceSearchService;
+
     private Customer testCustomer;
 
     @BeforeEach
@@ -150,6 +158,7 @@ public class InvoiceE2ETest extends BaseIntegrationTest {
         createAndSaveInvoice(testCustomer);
         createAndSaveInvoice(testCustomer);
         createAndSaveInvoice(testCustomer);
+        invoiceStatsService.reconcile();
 
         mockMvc.perform(get("/api/v1/invoices/count")
                         .header("Authorization", authHeader("dashboard-invoices-read")))
@@ -164,6 +173,7 @@ public class InvoiceE2ETest extends BaseIntegrationTest {
         createAndSaveInvoice(testCustomer, "pending");
         createAndSaveInvoice(testCustomer, "pending");
         createAndSaveInvoice(testCustomer, "paid");
+        invoiceStatsService.reconcile();
 
         mockMvc.perform(get("/api/v1/invoices/count")
                         .param("status", "pending")
@@ -179,6 +189,7 @@ public class InvoiceE2ETest extends BaseIntegrationTest {
         Invoice invoice1 = createAndSaveInvoice(testCustomer);
         Invoice invoice2 = createAndSaveInvoice(testCustomer);
 
+        invoiceStatsService.reconcile();
         BigDecimal expectedTotal = invoice1.getAmount().add(invoice2.getAmount());
 
         mockMvc.perform(get("/api/v1/invoices/amount")
@@ -213,4 +224,51 @@ public class InvoiceE2ETest extends BaseIntegrationTest {
                         .header("Authorization", authHeader("dashboard-invoices-read")))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @Story("Rebuild Search Index")
+    @DisplayName("rebuildIndex replaces invoices_search with the active invoices")
+    void rebuildIndex_ReplacesSearchCollection() {
+        Invoice invoice1 = createAndSaveInvoice(testCustomer);
+        Invoice invoice2 = createAndSaveInvoice(testCustomer);
+        Invoice deletedInvoice = createAndSaveInvoice(testCustomer);
+        deletedInvoice.setAudit(createDeletedAudit());
+        invoiceRepository.save(deletedInvoice);
+
+        invoiceSearchService.rebuildIndex();
+
+        List<InvoiceSearchDocument> docs = invoiceSearchRepository.findAll();
+        assertThat(docs).extracting(InvoiceSearchDocument::getInvoiceId)
+                .containsExactlyInAnyOrder(invoice1.get_id(), invoice2.get_id());
+        assertThat(docs).allSatisfy(doc -> {
+            assertThat(doc.getCustomerName()).isEqualTo(testCustomer.getName());
+            assertThat(doc.getSearchTrigrams()).isNotEmpty();
+        });
+    }
+
+    @Test
+    @Story("Search Invoices")
+    @DisplayName("search filters amounts numerically")
+    void search_FiltersAmountRangeNumerically() {
+        Invoice small = createAndSaveInvoice(testCustomer);
+        small.setAmount(new BigDecimal("50.00"));
+        invoiceRepository.save(small);
+        Invoice medium = createAndSaveInvoice(testCustomer);
+        medium.setAmount(new BigDecimal("150.00"));
+        invoiceRepository.save(medium);
+        Invoice large = createAndSaveInvoice(testCustomer);
+        large.setAmount(new BigDecimal("1200.00"));
+        invoiceRepository.save(large);
+        invoiceSearchService.rebuildIndex();
+
+        // "1200.00" sorts between "100" and "500" as a string, so this only passes on numeric storage
+        InvoiceFilter filter = new InvoiceFilter();
+        filter.setAmountMin(new BigDecimal("100"));
+        filter.setAmountMax(new BigDecimal("500"));
+        List<InvoiceSearchDocument> docs = invoiceSearchService
+                .search(null, null, filter, Pageable.unpaged())
+                .getContent();
+
+        assertThat(docs).extracting(InvoiceSearchDocument::getInvoiceId).containsExactly(medium.get_id());
+    }
 }
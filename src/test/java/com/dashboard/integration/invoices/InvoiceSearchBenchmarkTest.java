@@ -0,0 +1,126 @@
+package com.dashboard.integration.invoices;
+
+import com.dashboard.integration.BaseIntegrationTest;
+import com.dashboard.model.SearchMode;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.search.Trigrams;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import com.mongodb.ExplainVerbosity;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the regex and $text search paths on a seeded invoices_search collection, timing uncached searches
+ * and attaching the results to the Allure report. Run with {@code -Dbenchmark=true}.
+ */
+@Feature("Invoice Search Benchmark")
+@DisplayName("Invoice Search Benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class InvoiceSearchBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int DOCUMENTS = 20_000;
+    private static final int ITERATIONS = 50;
+    private static final String TERM = "anna smith";
+
+    @Autowired
+    private IInvoiceSearchService invoiceSearchService;
+
+    @Test
+    @Story("Search Modes")
+    @DisplayName("both search paths examine fewer documents than a collection scan")
+    void searchModes_ExamineFewerDocumentsThanCollectionScan() {
+        seed();
+
+        long regexNanos = time(SearchMode.REGEX);
+        long textNanos = time(SearchMode.TEXT);
+
+        // The filters the service sends for the term, including the trigram prefilter in front of the regex
+        Document regex = new Document("$or", List.of(
+                new Document("status", new Document("$regex", TERM).append("$options", "i")),
+                new Document("customerName", new Document("$regex", TERM).append("$options", "i")),
+                new Document("customerEmail", new Document("$regex", TERM).append("$options", "i"))));
+        Document trigramFilter = new Document("$and", List.of(
+                new Document("$or", List.of(
+                        new Document("searchTrigrams", new Document("$all", Trigrams.of(TERM))),
+                        new Document("searchTrigrams", null))),
+                regex))
+                .append("deletedAt", null);
+        Document textFilter = new Document("$text", new Document("$search", TERM))
+                .append("deletedAt", null);
+        long regexExamined = docsExamined(trigramFilter);
+        long textExamined = docsExamined(textFilter);
+
+        Allure.addAttachment("Invoice search benchmark", "text/plain", String.format(Locale.ROOT,
+                "%d documents, %d uncached searches per mode%n"
+                        + "regex: %.3f ms/search, %d docs examined%n"
+                        + "text:  %.3f ms/search, %d docs examined%n",
+                DOCUMENTS, ITERATIONS,
+                regexNanos / 1e6 / ITERATIONS, regexExamined,
+                textNanos / 1e6 / ITERATIONS, textExamined));
+
+        assertThat(regexExamined).isLessThan(DOCUMENTS);
+        assertThat(textExamined).isLessThan(DOCUMENTS);
+    }
+
+    private void seed() {
+        List<InvoiceSearchDocument> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            InvoiceSearchDocument doc = new InvoiceSearchDocument();
+            doc.setInvoiceId(new ObjectId());
+            doc.setCustomerId(new ObjectId());
+            doc.setAmount(BigDecimal.valueOf(faker.number().randomDouble(2, 100, 10000)));
+            doc.setDate(LocalDate.now().minusDays(i % 365));
+            doc.setStatus(faker.options().option("pending", "paid", "cancelled"));
+            boolean match = i % 100 == 0;
+            doc.setCustomerName(match ? "Anna Smith" : faker.name().fullName());
+            doc.setCustomerEmail(match ? "anna.smith@example.com" : faker.internet().emailAddress());
+            doc.setSearchTrigrams(Trigrams.of(doc.getStatus(), doc.getCustomerName(), doc.getCustomerEmail()));
+            documents.add(doc);
+        }
+        mongoTemplate.insert(documents, InvoiceSearchDocument.class);
+    }
+
+    private long time(SearchMode mode) {
+        Pageable pageable = Pageable.ofSize(15);
+        // Warm up before measuring
+        for (int i = 0; i < 5; i++) {
+            invoiceSearchResultCache.invalidateAll();
+            invoiceSearchCountCache.invalidateAll();
+            invoiceSearchService.search(TERM, mode, null, pageable);
+        }
+
+        // Every search is a cache miss, so each one runs the page and count queries against Mongo
+        long elapsed = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            invoiceSearchResultCache.invalidateAll();
+            invoiceSearchCountCache.invalidateAll();
+            long start = System.nanoTime();
+            assertThat(invoiceSearchService.search(TERM, mode, null, pageable).getContent()).isNotEmpty();
+            elapsed += System.nanoTime() - start;
+        }
+        return elapsed;
+    }
+
+    private long docsExamined(Document filter) {
+        Document explain = mongoTemplate.getCollection("invoices_search")
+                .find(filter)
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+        return explain.get("executionStats", Document.class).get("totalDocsExamined", Number.class).longValue();
+    }
+}
@@ -1,15 +1,25 @@
 package com.dashboard.integration.revenues;
 
+import com.dashboard.dataTransferObject.invoice.InvoiceCreate;
 import com.dashboard.integration.BaseIntegrationTest;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.Invoice;
 import com.dashboard.model.entities.Revenue;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +57,7 @@ public class RevenueE2ETest extends BaseIntegrationTest {
         Revenue deletedRevenue = createAndSaveRevenue();
         deletedRevenue.setAudit(createDeletedAudit());
         revenueRepository.save(deletedRevenue);
+        dataVersionService.bump(DataCollection.REVENUES);
 
         mockMvc.perform(get("/api/v1/revenues/")
                         .header("Authorization", authHeader("dashboard-revenue-read")))
@@ -77,4 +88,77 @@ public class RevenueE2ETest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$[0].month").value(revenue.getMonth().name()))
                 .andExpect(jsonPath("$[0].revenue").value(revenue.getRevenue().doubleValue()));
     }
+
+    @Test
+    @Story("Revenue Rollups")
+    @DisplayName("GET /revenues?granularity= returns the buckets updated by invoice writes")
+    void getRevenueRollups_ReturnsBucketsUpdatedByInvoices() throws Exception {
+        Customer customer = createAndSaveCustomer();
+        for (String amount : new String[]{"100.25", "200.50"}) {
+            InvoiceCreate invoiceCreate = new InvoiceCreate("pending", new BigDecimal(amount), customer.get_id().toHexString());
+            mockMvc.perform(post("/api/v1/invoices")
+                            .header("Authorization", authHeader("dashboard-invoices-create"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(invoiceCreate)))
+                    .andExpect(status().isCreated());
+        }
+
+        LocalDate today = LocalDate.now();
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            mockMvc.perform(get("/api/v1/revenues")
+                            .param("granularity", granularity.name())
+                            .param("from", today.toString())
+                            .param("to", today.toString())
+                            .header("Authorization", authHeader("dashboard-revenue-read")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].periodStart").value(granularity.periodStart(today).toString()))
+                    .andExpect(jsonPath("$[0].revenue").value(300.75));
+        }
+    }
+
+    @Test
+    @Story("Revenue Rollups")
+    @DisplayName("GET /revenues?granularity= returns 400 when from is after to")
+    void getRevenueRollups_Returns400ForInvertedRange() throws Exception {
+        mockMvc.perform(get("/api/v1/revenues")
+                        .param("granularity", "MONTH")
+                        .param("from", "2024-06-01")
+                        .param("to", "2024-01-01")
+                        .header("Authorization", authHeader("dashboard-revenue-read")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Story("Recompute Revenues")
+    @DisplayName("POST /revenues/recompute rebuilds monthly revenue from invoices")
+    void recomputeRevenues_RebuildsFromInvoices() throws Exception {
+        // Saved directly, so no revenue was adjusted for them
+        Customer customer = createAndSaveCustomer();
+        Invoice invoice1 = createAndSaveInvoice(customer);
+        Invoice invoice2 = createAndSaveInvoice(customer);
+        BigDecimal total = invoice1.getAmount().add(invoice2.getAmount());
+        LocalDate today = LocalDate.now();
+
+        mockMvc.perform(post("/api/v1/revenues/recompute")
+                        .header("Authorization", authHeader("dashboard-revenue-update")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.years").value(1))
+                .andExpect(jsonPath("$.changedMonths").value(1))
+                .andExpect(jsonPath("$.conflicts").value(0))
+                .andExpect(jsonPath("$.changes[0].month").value(today.getMonth().name()))
+                .andExpect(jsonPath("$.changes[0].recomputed").value(total.doubleValue()));
+
+        mockMvc.perform(get("/api/v1/revenues/")
+                        .header("Authorization", authHeader("dashboard-revenue-read")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].revenue").value(total.doubleValue()));
+
+        // A second run finds nothing to fix
+        mockMvc.perform(post("/api/v1/revenues/recompute")
+                        .header("Authorization", authHeader("dashboard-revenue-update")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changedMonths").value(0));
+    }
 }
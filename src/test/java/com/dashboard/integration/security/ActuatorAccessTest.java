@@ -0,0 +1,61 @@
+package com.dashboard.integration.security;
+
+import com.dashboard.integration.BaseIntegrationTest;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.micrometer.metrics.test.autoconfigure.AutoConfigureMetrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that health is open, prometheus needs the scrape credential and other actuator endpoints need a token.
+ */
+@Feature("Actuator Access")
+@Tag("security")
+@DisplayName("Actuator Access Tests")
+@AutoConfigureMetrics
+public class ActuatorAccessTest extends BaseIntegrationTest {
+
+    @Test
+    @Story("Health")
+    @DisplayName("should report health without a token")
+    void health_IsReachableWithoutToken() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(jsonPath("$.status").exists());
+    }
+
+    @Test
+    @Story("Prometheus")
+    @DisplayName("should serve the metrics to a scraper with the scrape credential")
+    void prometheus_ServesMetricsWithScrapeCredential() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-scrape-password")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"customerById\"")));
+    }
+
+    @Test
+    @Story("Prometheus")
+    @DisplayName("should reject a scraper without the scrape credential")
+    void prometheus_RequiresScrapeCredential() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Story("Other Endpoints")
+    @DisplayName("should still require a token for other actuator endpoints")
+    void otherEndpoints_RequireToken() throws Exception {
+        mockMvc.perform(get("/actuator/env"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Story("Revenue Endpoints")
@@ -25,4 +26,20 @@ public class RevenueAuthorizationTest extends BaseAuthorizationSecurityTest {
                         .header("Authorization", authHeader("dashboard-invoices-read")))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("POST /revenues/recompute - correct grant allows access")
+    void recomputeRevenues_WithCorrectGrant_Returns200() throws Exception {
+        mockMvc.perform(post("/api/v1/revenues/recompute")
+                        .header("Authorization", authHeader("dashboard-revenue-update")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /revenues/recompute - read grant returns 403")
+    void recomputeRevenues_WithReadGrant_Returns403() throws Exception {
+        mockMvc.perform(post("/api/v1/revenues/recompute")
+                        .header("Authorization", authHeader("dashboard-revenue-read")))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,66 @@
+package com.dashboard.repository.invoicecustom;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.repository.IInvoiceRepositoryCustomImpl;
+import com.mongodb.DBRef;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDate;
+
+@Epic("Invoices")
+@Feature("Invoice Repository")
+@Tag("repository-invoice")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseInvoiceRepositoryCustomTest {
+
+    protected static final String INVOICES = "invoices";
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    // Reads the raw documents exactly as the application does, without resolving DBRefs
+    protected MappingMongoConverter converter;
+
+    protected IInvoiceRepositoryCustomImpl invoiceRepository;
+
+    @BeforeEach
+    void setUp() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        invoiceRepository = new IInvoiceRepositoryCustomImpl(mongoTemplate);
+    }
+
+    protected Customer customer(String name) {
+        Customer customer = new Customer();
+        customer.set_id(new ObjectId());
+        customer.setName(name);
+        return customer;
+    }
+
+    protected Document invoiceWithDbRef(Customer customer) {
+        return invoice().append("customer", new DBRef("customers", customer.get_id()));
+    }
+
+    protected Document invoiceWithEmbeddedRef(Customer customer) {
+        // How a DBRef looks when it comes back as a plain document
+        return invoice().append("customer", new Document("$ref", "customers").append("$id", customer.get_id()));
+    }
+
+    protected Document invoice() {
+        return new Document("_id", new ObjectId())
+                .append("status", "pending")
+                .append("date", LocalDate.of(2024, 1, 15));
+    }
+}
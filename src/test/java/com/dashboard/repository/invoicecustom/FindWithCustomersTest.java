@@ -0,0 +1,73 @@
+package com.dashboard.repository.invoicecustom;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.Invoice;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Find With Customers")
+@DisplayName("findWithCustomers")
+public class FindWithCustomersTest extends BaseInvoiceRepositoryCustomTest {
+
+    @Test
+    @DisplayName("should resolve DBRef and embedded customer references with one $in query")
+    void findWithCustomers_ResolvesBothReferenceFormsWithOneQuery() {
+        Customer anna = customer("Anna");
+        Customer bob = customer("Bob");
+        Query query = Query.query(Criteria.where("status").is("pending"));
+        List<Document> documents = List.of(
+                invoiceWithDbRef(anna), invoiceWithEmbeddedRef(bob), invoiceWithDbRef(anna));
+        when(mongoTemplate.find(query, Document.class, INVOICES)).thenReturn(documents);
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(List.of(anna, bob));
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+
+        List<Invoice> invoices = invoiceRepository.findWithCustomers(query);
+
+        assertThat(invoices).extracting(Invoice::getCustomer).containsExactly(anna, bob, anna);
+        assertThat(invoices).extracting(Invoice::getStatus).containsOnly("pending");
+
+        ArgumentCaptor<Query> customerQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).find(customerQuery.capture(), eq(Customer.class));
+        Document idCriteria = (Document) customerQuery.getValue().getQueryObject().get("_id");
+        assertThat((Collection<?>) idCriteria.get("$in")).containsExactlyInAnyOrder(anna.get_id(), bob.get_id());
+    }
+
+    @Test
+    @DisplayName("should leave the customer empty when the invoice has no reference")
+    void findWithCustomers_LeavesMissingCustomerNull() {
+        Query query = new Query();
+        when(mongoTemplate.find(query, Document.class, INVOICES)).thenReturn(List.of(invoice()));
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+
+        List<Invoice> invoices = invoiceRepository.findWithCustomers(query);
+
+        assertThat(invoices).singleElement().extracting(Invoice::getCustomer).isNull();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Customer.class));
+    }
+
+    @Test
+    @DisplayName("should not look up customers when no invoices match")
+    void findWithCustomers_SkipsLookupWhenEmpty() {
+        Query query = new Query();
+        when(mongoTemplate.find(query, Document.class, INVOICES)).thenReturn(List.of());
+
+        assertThat(invoiceRepository.findWithCustomers(query)).isEmpty();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Customer.class));
+    }
+}
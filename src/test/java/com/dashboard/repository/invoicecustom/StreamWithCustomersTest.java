@@ -0,0 +1,60 @@
+package com.dashboard.repository.invoicecustom;
+
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.Invoice;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Stream With Customers")
+@DisplayName("streamWithCustomers")
+public class StreamWithCustomersTest extends BaseInvoiceRepositoryCustomTest {
+
+    @Test
+    @DisplayName("should hand over full batches and the remainder with one customer query per batch")
+    void streamWithCustomers_BatchesAndResolvesPerBatch() {
+        Customer anna = customer("Anna");
+        List<Document> documents = List.of(
+                invoiceWithDbRef(anna), invoiceWithDbRef(anna), invoiceWithEmbeddedRef(anna),
+                invoiceWithDbRef(anna), invoiceWithDbRef(anna));
+        Query query = new Query();
+        when(mongoTemplate.stream(query, Document.class, INVOICES)).thenReturn(documents.stream());
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(List.of(anna));
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+
+        List<List<Invoice>> batches = new ArrayList<>();
+        invoiceRepository.streamWithCustomers(query, 2, batches::add);
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(batches).flatExtracting(batch -> batch).extracting(Invoice::getCustomer).containsOnly(anna);
+        assertThat(query.getMeta().getCursorBatchSize()).isEqualTo(2);
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(Customer.class));
+    }
+
+    @Test
+    @DisplayName("should not call the consumer when the cursor is empty")
+    void streamWithCustomers_SkipsEmptyCursor() {
+        Query query = new Query();
+        when(mongoTemplate.stream(query, Document.class, INVOICES)).thenReturn(Stream.empty());
+
+        List<List<Invoice>> batches = new ArrayList<>();
+        invoiceRepository.streamWithCustomers(query, 2, batches::add);
+
+        assertThat(batches).isEmpty();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Customer.class));
+    }
+}
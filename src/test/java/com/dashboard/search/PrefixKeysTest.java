@@ -0,0 +1,37 @@
+package com.dashboard.search;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Customers")
+@Feature("Customer Suggest")
+@Story("Prefix Keys")
+@Tag("search")
+@DisplayName("PrefixKeys")
+class PrefixKeysTest {
+
+    @Test
+    @DisplayName("should lowercase, strip accents and collapse whitespace")
+    void normalize_FoldsCaseAccentsAndWhitespace() {
+        assertThat(PrefixKeys.normalize("  Zoë   SMITH ")).isEqualTo("zoe smith");
+    }
+
+    @Test
+    @DisplayName("should key a customer by full name, later name words and email")
+    void of_ReturnsNameSuffixesAndEmail() {
+        assertThat(PrefixKeys.of("Anna Maria Smith", "Anna@Example.com"))
+                .containsExactly("anna maria smith", "maria smith", "smith", "anna@example.com");
+    }
+
+    @Test
+    @DisplayName("should skip missing values")
+    void of_SkipsMissingValues() {
+        assertThat(PrefixKeys.of(null, "bob@example.com")).containsExactly("bob@example.com");
+    }
+}
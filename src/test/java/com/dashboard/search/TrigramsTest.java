@@ -0,0 +1,43 @@
+package com.dashboard.search;
+
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Invoices")
+@Feature("Invoice Search")
+@Story("Trigrams")
+@Tag("search")
+@DisplayName("Trigrams.of")
+class TrigramsTest {
+
+    @Test
+    @DisplayName("should return the distinct lowercased trigrams of a value")
+    void of_ReturnsDistinctLowercasedTrigrams() {
+        assertThat(Trigrams.of("Anna")).containsExactly("ann", "nna");
+    }
+
+    @Test
+    @DisplayName("should merge the trigrams of several values and skip nulls")
+    void of_MergesValuesAndSkipsNulls() {
+        assertThat(Trigrams.of("paid", null, "Bob")).containsExactly("aid", "bob", "pai");
+    }
+
+    @Test
+    @DisplayName("should return no trigrams for values shorter than three characters")
+    void of_ReturnsEmptyForShortValues() {
+        assertThat(Trigrams.of("ab", "")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should contain every trigram of a substring")
+    void of_ContainsTrigramsOfSubstring() {
+        assertThat(Trigrams.of("pending", "Delba de Oliveira", "delba@oliveira.com"))
+                .containsAll(Trigrams.of("oliv"));
+    }
+}
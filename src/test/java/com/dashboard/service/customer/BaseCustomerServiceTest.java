@@ -1,19 +1,28 @@
 package com.dashboard.service.customer;
 
 import com.dashboard.common.model.Audit;
+import com.dashboard.mapper.interfaces.ICustomerMapper;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.repository.ICustomerRepository;
 import com.dashboard.service.CustomerService;
+import com.dashboard.service.interfaces.IActivityFeedService;
+import com.dashboard.service.interfaces.ICustomerPropagationService;
+import com.dashboard.service.interfaces.ICustomerSuggestIndex;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IR2Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 @Epic("Customers")
 @Feature("Customer Service")
 @Tag("service-customer")
@@ -23,7 +32,27 @@ public abstract class BaseCustomerServiceTest {
     @Mock
     protected ICustomerRepository customersRepository;
 
-    @InjectMocks
+    @Mock
+    protected IActivityFeedService activityFeedService;
+
+    @Mock
+    protected ICustomerMapper customerMapper;
+
+    @Mock
+    protected IR2Service r2Service;
+
+    @Mock
+    protected IDataVersionService dataVersionService;
+
+    @Mock
+    protected ICustomerPropagationService customerPropagationService;
+
+    @Mock
+    protected ICustomerSuggestIndex customerSuggestIndex;
+
+    protected Cache<ObjectId, Customer> customerByIdCache;
+    protected Cache<String, List<Customer>> allCustomersCache;
+
     protected CustomerService customerService;
 
     protected Customer testCustomer;
@@ -31,6 +60,11 @@ public abstract class BaseCustomerServiceTest {
 
     @BeforeEach
     void setUp() {
+        customerByIdCache = Caffeine.newBuilder().build();
+        allCustomersCache = Caffeine.newBuilder().build();
+        customerService = new CustomerService(activityFeedService, customersRepository, customerMapper, r2Service,
+                customerByIdCache, allCustomersCache, dataVersionService, customerPropagationService, customerSuggestIndex);
+
         testCustomerId = new ObjectId();
         testCustomer = new Customer();
         testCustomer.set_id(testCustomerId);
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,4 +40,30 @@ public class GetCustomerTest extends BaseCustomerServiceTest {
         assertThat(result).isEmpty();
         verify(customersRepository).findBy_idEqualsAndAudit_DeletedAtIsNull(testCustomerId);
     }
+
+    @Test
+    @DisplayName("should serve repeated lookups from the cache")
+    void getCustomer_ServesRepeatedLookupsFromCache() {
+        when(customersRepository.findBy_idEqualsAndAudit_DeletedAtIsNull(testCustomerId))
+                .thenReturn(Optional.of(testCustomer));
+
+        customerService.getCustomer(testCustomerId);
+        Optional<Customer> result = customerService.getCustomer(testCustomerId);
+
+        assertThat(result).contains(testCustomer);
+        verify(customersRepository, times(1)).findBy_idEqualsAndAudit_DeletedAtIsNull(testCustomerId);
+    }
+
+    @Test
+    @DisplayName("should not cache a missing customer")
+    void getCustomer_DoesNotCacheMisses() {
+        when(customersRepository.findBy_idEqualsAndAudit_DeletedAtIsNull(testCustomerId))
+                .thenReturn(Optional.empty());
+
+        customerService.getCustomer(testCustomerId);
+        customerService.getCustomer(testCustomerId);
+
+        assertThat(customerByIdCache.getIfPresent(testCustomerId)).isNull();
+        verify(customersRepository, times(2)).findBy_idEqualsAndAudit_DeletedAtIsNull(testCustomerId);
+    }
 }
@@ -0,0 +1,71 @@
+package com.dashboard.service.customerpropagation;
+
+import com.dashboard.environment.R2Properties;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.PropagationJobStatus;
+import com.dashboard.model.entities.CustomerPropagationJob;
+import com.dashboard.repository.ICustomerPropagationJobRepository;
+import com.dashboard.service.CustomerPropagationService;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+
+@Epic("Customers")
+@Feature("Customer Propagation")
+@Tag("service-customer-propagation")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseCustomerPropagationServiceTest {
+
+    @Mock
+    protected ICustomerPropagationJobRepository customerPropagationJobRepository;
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    @Mock
+    protected IInvoiceSearchService invoiceSearchService;
+
+    @Mock
+    protected R2Properties r2Properties;
+
+    protected SearchProperties searchProperties;
+
+    protected SimpleMeterRegistry meterRegistry;
+
+    protected CustomerPropagationService customerPropagationService;
+
+    @BeforeEach
+    void setUp() {
+        // The scheduled worker is not started, tests drive runPendingJobs directly
+        searchProperties = new SearchProperties();
+        searchProperties.setPropagationChunkSize(2);
+        searchProperties.setPropagationMaxDocumentsPerSecond(0);
+
+        meterRegistry = new SimpleMeterRegistry();
+        customerPropagationService = new CustomerPropagationService(customerPropagationJobRepository, mongoTemplate,
+                invoiceSearchService, r2Properties, searchProperties, meterRegistry);
+    }
+
+    protected CustomerPropagationJob job() {
+        CustomerPropagationJob job = new CustomerPropagationJob();
+        job.set_id(new ObjectId());
+        job.setCustomerId(new ObjectId());
+        job.setCustomerName("Anna Smith");
+        job.setCustomerEmail("anna@example.com");
+        job.setStatus(PropagationJobStatus.RUNNING);
+        job.setProcessedCount(0L);
+        job.setCreatedAt(Instant.now());
+        job.setHeartbeatAt(Instant.now());
+        return job;
+    }
+}
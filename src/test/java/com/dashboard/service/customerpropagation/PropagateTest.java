@@ -0,0 +1,68 @@
+package com.dashboard.service.customerpropagation;
+
+import com.dashboard.model.PropagationJobStatus;
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.CustomerPropagationJob;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Propagate")
+@DisplayName("propagate")
+public class PropagateTest extends BaseCustomerPropagationServiceTest {
+
+    @Test
+    @DisplayName("should record a pending job with the customer's current values")
+    void propagate_RecordsPendingJob() {
+        ObjectId imageId = new ObjectId();
+        Customer customer = new Customer();
+        customer.set_id(new ObjectId());
+        customer.setName("Anna Smith");
+        customer.setEmail("anna@example.com");
+        customer.setImageId(imageId);
+
+        when(r2Properties.buildPublicCustomerImageUrl(customer.get_id(), imageId)).thenReturn("https://cdn/image.png");
+        when(customerPropagationJobRepository.insert(any(CustomerPropagationJob.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CustomerPropagationJob job = customerPropagationService.propagate(customer);
+
+        assertThat(job.getCustomerId()).isEqualTo(customer.get_id());
+        assertThat(job.getCustomerName()).isEqualTo("Anna Smith");
+        assertThat(job.getCustomerEmail()).isEqualTo("anna@example.com");
+        assertThat(job.getCustomerImageUrl()).isEqualTo("https://cdn/image.png");
+        assertThat(job.getStatus()).isEqualTo(PropagationJobStatus.PENDING);
+        assertThat(job.getProcessedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should supersede open jobs for the same customer")
+    void propagate_SupersedesOpenJobs() {
+        Customer customer = new Customer();
+        customer.set_id(new ObjectId());
+        customer.setName("Anna Smith");
+
+        when(customerPropagationJobRepository.insert(any(CustomerPropagationJob.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        customerPropagationService.propagate(customer);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(CustomerPropagationJob.class));
+        assertThat(query.getValue().getQueryObject().get("customerId")).isEqualTo(customer.get_id());
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class).get("status"))
+                .isEqualTo(PropagationJobStatus.SUPERSEDED);
+    }
+}
@@ -0,0 +1,189 @@
+package com.dashboard.service.customerpropagation;
+
+import com.dashboard.model.PropagationJobStatus;
+import com.dashboard.model.entities.CustomerPropagationJob;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.mongodb.client.result.UpdateResult;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Run Pending Jobs")
+@DisplayName("runPendingJobs")
+public class RunPendingJobsTest extends BaseCustomerPropagationServiceTest {
+
+    @Test
+    @DisplayName("should walk the customer's documents in chunks and complete the job")
+    void runPendingJobs_ProcessesChunksAndCompletes() {
+        CustomerPropagationJob job = job();
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        ObjectId third = new ObjectId();
+
+        claim(job);
+        running();
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(3L);
+        when(invoiceSearchService.syncCustomerChunk(job, 2))
+                .thenReturn(List.of(first, second), List.of(third), List.of());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CustomerPropagationJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        customerPropagationService.runPendingJobs();
+
+        assertThat(job.getLastProcessedId()).isEqualTo(third);
+        assertThat(job.getProcessedCount()).isEqualTo(3L);
+        assertThat(job.getTotalCount()).isEqualTo(3L);
+        assertThat(lastStatus(3)).isEqualTo(PropagationJobStatus.COMPLETED);
+        assertThat(meterRegistry.counter("customer.propagation.documents").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("customer.propagation.duration").count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("should stop after the current chunk when the job was superseded")
+    void runPendingJobs_StopsWhenSuperseded() {
+        CustomerPropagationJob job = job();
+
+        claim(job);
+        running();
+        when(invoiceSearchService.syncCustomerChunk(job, 2)).thenReturn(List.of(new ObjectId(), new ObjectId()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CustomerPropagationJob.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        customerPropagationService.runPendingJobs();
+
+        verify(invoiceSearchService, times(1)).syncCustomerChunk(job, 2);
+        assertThat(meterRegistry.timer("customer.propagation.duration").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should not write another chunk once the job was superseded")
+    void runPendingJobs_ChecksSupersededBeforeChunk() {
+        CustomerPropagationJob job = job();
+
+        claim(job);
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerPropagationJob.class))).thenReturn(false);
+
+        customerPropagationService.runPendingJobs();
+
+        verify(invoiceSearchService, never()).syncCustomerChunk(any(CustomerPropagationJob.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("should put a failed job back to pending with a backoff")
+    void runPendingJobs_RetriesFailedJob() {
+        CustomerPropagationJob job = job();
+        ObjectId resumeFrom = new ObjectId();
+        job.setLastProcessedId(resumeFrom);
+
+        claim(job);
+        running();
+        when(invoiceSearchService.syncCustomerChunk(job, 2)).thenThrow(new IllegalStateException("down"));
+
+        Instant before = Instant.now();
+        customerPropagationService.runPendingJobs();
+
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), captor.capture(), eq(CustomerPropagationJob.class));
+        Document set = captor.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set.get("status")).isEqualTo(PropagationJobStatus.PENDING);
+        assertThat(set.get("attempts")).isEqualTo(1);
+        assertThat(set.get("lastProcessedId")).isEqualTo(resumeFrom);
+        assertThat((Instant) set.get("retryAt")).isAfterOrEqualTo(before.plus(searchProperties.getPropagationRetryBackoff()));
+        assertThat(meterRegistry.counter("customer.propagation.retries").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should double the backoff after every further failure")
+    void runPendingJobs_DoublesBackoff() {
+        CustomerPropagationJob job = job();
+        job.setAttempts(2);
+
+        claim(job);
+        running();
+        when(invoiceSearchService.syncCustomerChunk(job, 2)).thenThrow(new IllegalStateException("down"));
+
+        Instant before = Instant.now();
+        customerPropagationService.runPendingJobs();
+
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), captor.capture(), eq(CustomerPropagationJob.class));
+        Document set = captor.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set.get("attempts")).isEqualTo(3);
+        assertThat((Instant) set.get("retryAt"))
+                .isAfterOrEqualTo(before.plus(searchProperties.getPropagationRetryBackoff().multipliedBy(4)));
+    }
+
+    @Test
+    @DisplayName("should mark the job failed once its attempts are used up")
+    void runPendingJobs_MarksJobFailedAfterLastAttempt() {
+        CustomerPropagationJob job = job();
+        job.setAttempts(searchProperties.getPropagationMaxAttempts() - 1);
+
+        claim(job);
+        running();
+        when(invoiceSearchService.syncCustomerChunk(job, 2)).thenThrow(new IllegalStateException("down"));
+
+        customerPropagationService.runPendingJobs();
+
+        assertThat(lastStatus(1)).isEqualTo(PropagationJobStatus.FAILED);
+        assertThat(meterRegistry.counter("customer.propagation.retries").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should resume an abandoned job after its last processed id")
+    void runPendingJobs_ResumesFromLastProcessedId() {
+        CustomerPropagationJob job = job();
+        ObjectId resumedFrom = new ObjectId();
+        job.setStartedAt(job.getCreatedAt());
+        job.setLastProcessedId(resumedFrom);
+        job.setProcessedCount(5L);
+        job.setTotalCount(6L);
+
+        claim(job);
+        running();
+        when(invoiceSearchService.syncCustomerChunk(job, 2)).thenAnswer(invocation -> {
+            CustomerPropagationJob running = invocation.getArgument(0);
+            return running.getLastProcessedId() == resumedFrom ? List.of(new ObjectId()) : List.of();
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CustomerPropagationJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        customerPropagationService.runPendingJobs();
+
+        assertThat(job.getProcessedCount()).isEqualTo(6L);
+        verify(mongoTemplate, times(0)).count(any(Query.class), eq(InvoiceSearchDocument.class));
+    }
+
+    private void claim(CustomerPropagationJob job) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CustomerPropagationJob.class))).thenReturn(job, (CustomerPropagationJob) null);
+    }
+
+    private void running() {
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerPropagationJob.class))).thenReturn(true);
+    }
+
+    private Object lastStatus(int updates) {
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(updates)).updateFirst(any(Query.class), captor.capture(), eq(CustomerPropagationJob.class));
+        return captor.getValue().getUpdateObject().get("$set", Document.class).get("status");
+    }
+}
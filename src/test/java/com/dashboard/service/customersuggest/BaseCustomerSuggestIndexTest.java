@@ -0,0 +1,40 @@
+package com.dashboard.service.customersuggest;
+
+import com.dashboard.common.model.Audit;
+import com.dashboard.model.entities.Customer;
+import com.dashboard.repository.ICustomerRepository;
+import com.dashboard.service.CustomerSuggestIndex;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@Epic("Customers")
+@Feature("Customer Suggest")
+@Tag("service-customer-suggest")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseCustomerSuggestIndexTest {
+
+    @Mock
+    protected ICustomerRepository customerRepository;
+
+    protected CustomerSuggestIndex customerSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        customerSuggestIndex = new CustomerSuggestIndex(customerRepository);
+    }
+
+    protected Customer customer(String name, String email) {
+        Customer customer = new Customer();
+        customer.set_id(new ObjectId());
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setAudit(new Audit());
+        return customer;
+    }
+}
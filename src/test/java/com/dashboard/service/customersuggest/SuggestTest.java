@@ -0,0 +1,83 @@
+package com.dashboard.service.customersuggest;
+
+import com.dashboard.model.entities.Customer;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@Story("Suggest")
+@DisplayName("suggest")
+public class SuggestTest extends BaseCustomerSuggestIndexTest {
+
+    @Test
+    @DisplayName("should match name, later name words and email prefixes ignoring case and accents")
+    void suggest_MatchesNameWordsAndEmail() {
+        Customer zoe = customer("Zoë Smith", "zoe@example.com");
+        Customer anna = customer("Anna Smithers", "anna@example.com");
+        Customer bob = customer("Bob Jones", "bob@example.com");
+        when(customerRepository.findByAudit_DeletedAtIsNull()).thenReturn(List.of(zoe, anna, bob));
+
+        assertThat(customerSuggestIndex.suggest("ZOE", 10)).containsExactly(zoe);
+        assertThat(customerSuggestIndex.suggest("smith", 10)).containsExactly(zoe, anna);
+        assertThat(customerSuggestIndex.suggest("bob@", 10)).containsExactly(bob);
+        assertThat(customerSuggestIndex.suggest("x", 10)).isEmpty();
+        assertThat(customerSuggestIndex.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return each customer once and stop at the limit")
+    void suggest_ReturnsDistinctCustomersUpToLimit() {
+        Customer anna = customer("Anna Annabel", "anna@example.com");
+        Customer annie = customer("Annie Hall", "annie@example.com");
+        Customer annika = customer("Annika Berg", "annika@example.com");
+        when(customerRepository.findByAudit_DeletedAtIsNull()).thenReturn(List.of(anna, annie, annika));
+
+        assertThat(customerSuggestIndex.suggest("ann", 10)).containsExactlyInAnyOrder(anna, annie, annika);
+        assertThat(customerSuggestIndex.suggest("ann", 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should pick up customers changed elsewhere on the next reload")
+    void suggest_ReflectsReload() {
+        Customer anna = customer("Anna Smith", "anna@example.com");
+        Customer bob = customer("Bob Jones", "bob@example.com");
+        Customer carl = customer("Carl Berg", "carl@example.com");
+        when(customerRepository.findByAudit_DeletedAtIsNull()).thenReturn(List.of(anna, bob), List.of(anna, carl));
+        customerSuggestIndex.load();
+        assertThat(customerSuggestIndex.suggest("bob", 10)).containsExactly(bob);
+
+        customerSuggestIndex.load();
+
+        assertThat(customerSuggestIndex.suggest("bob", 10)).isEmpty();
+        assertThat(customerSuggestIndex.suggest("carl", 10)).containsExactly(carl);
+    }
+
+    @Test
+    @DisplayName("should reflect puts and removes without reloading")
+    void suggest_ReflectsPutsAndRemoves() {
+        Customer anna = customer("Anna Smith", "anna@example.com");
+        when(customerRepository.findByAudit_DeletedAtIsNull()).thenReturn(List.of(anna));
+        customerSuggestIndex.load();
+
+        anna.setName("Hanna Smith");
+        customerSuggestIndex.put(anna);
+        assertThat(customerSuggestIndex.suggest("hanna", 10)).containsExactly(anna);
+        assertThat(customerSuggestIndex.suggest("anna s", 10)).isEmpty();
+
+        Customer bob = customer("Bob Jones", "bob@example.com");
+        customerSuggestIndex.put(bob);
+        assertThat(customerSuggestIndex.suggest("jon", 10)).containsExactly(bob);
+
+        bob.getAudit().setDeletedAt(Instant.now());
+        customerSuggestIndex.put(bob);
+        customerSuggestIndex.remove(anna.get_id());
+        assertThat(customerSuggestIndex.suggest("hanna", 10)).isEmpty();
+        assertThat(customerSuggestIndex.suggest("bob", 10)).isEmpty();
+    }
+}
@@ -2,13 +2,17 @@ package com.dashboard.service.invoice;
 
 import com.dashboard.common.model.Audit;
 import com.dashboard.mapper.interfaces.IInvoiceMapper;
+import com.dashboard.mapper.interfaces.IInvoiceSearchMapper;
 import com.dashboard.model.entities.Customer;
 import com.dashboard.model.entities.Invoice;
 import com.dashboard.repository.IInvoiceRepository;
 import com.dashboard.service.InvoiceService;
 import com.dashboard.service.interfaces.IActivityFeedService;
 import com.dashboard.service.interfaces.ICustomerService;
+import com.dashboard.service.interfaces.IDataVersionService;
 import com.dashboard.service.interfaces.IInvoiceSearchService;
+import com.dashboard.service.interfaces.IInvoiceSearchSyncQueue;
+import com.dashboard.service.interfaces.IInvoiceStatsService;
 import com.dashboard.service.interfaces.IRevenueService;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -51,6 +55,18 @@ public abstract class BaseInvoiceServiceTest {
     @Mock
     protected IRevenueService revenueService;
 
+    @Mock
+    protected IInvoiceStatsService invoiceStatsService;
+
+    @Mock
+    protected IDataVersionService dataVersionService;
+
+    @Mock
+    protected IInvoiceSearchMapper invoiceSearchMapper;
+
+    @Mock
+    protected IInvoiceSearchSyncQueue invoiceSearchSyncQueue;
+
     @InjectMocks
     protected InvoiceService invoiceService;
 
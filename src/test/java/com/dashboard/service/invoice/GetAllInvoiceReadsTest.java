@@ -0,0 +1,51 @@
+package com.dashboard.service.invoice;
+
+import com.dashboard.dataTransferObject.invoice.InvoiceRead;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Get All Invoice Reads")
+@DisplayName("getAllInvoiceReads")
+public class GetAllInvoiceReadsTest extends BaseInvoiceServiceTest {
+
+    @Test
+    @DisplayName("should read from the search collection when it is in sync")
+    void getAllInvoiceReads_ReadsSearchCollectionWhenInSync() {
+        InvoiceSearchDocument doc = new InvoiceSearchDocument();
+        InvoiceRead invoiceRead = new InvoiceRead();
+        when(invoiceSearchService.isInSync()).thenReturn(true);
+        when(invoiceSearchService.list(null, 0, null)).thenReturn(List.of(doc));
+        when(invoiceSearchMapper.toRead(doc)).thenReturn(invoiceRead);
+
+        List<InvoiceRead> result = invoiceService.getAllInvoiceReads();
+
+        assertThat(result).containsExactly(invoiceRead);
+        verify(invoiceRepository, never()).findWithCustomers(any(Query.class));
+    }
+
+    @Test
+    @DisplayName("should fall back to the invoices collection when the search collection is stale")
+    void getAllInvoiceReads_FallsBackWhenStale() {
+        InvoiceRead invoiceRead = new InvoiceRead();
+        when(invoiceSearchService.isInSync()).thenReturn(false);
+        when(invoiceRepository.findWithCustomers(any(Query.class))).thenReturn(List.of(testInvoice));
+        when(invoiceMapper.toReadWithCustomer(testInvoice)).thenReturn(invoiceRead);
+
+        List<InvoiceRead> result = invoiceService.getAllInvoiceReads();
+
+        assertThat(result).containsExactly(invoiceRead);
+        verify(invoiceSearchService, never()).list(any(), anyLong(), any());
+    }
+}
@@ -4,11 +4,13 @@ import com.dashboard.model.entities.Invoice;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,7 +21,7 @@ public class GetAllInvoicesTest extends BaseInvoiceServiceTest {
     @DisplayName("should return all non-deleted invoices")
     void getAllInvoices_ReturnsAllNonDeletedInvoices() {
         List<Invoice> expectedInvoices = List.of(testInvoice);
-        when(invoiceRepository.findByAudit_DeletedAtIsNull()).thenReturn(expectedInvoices);
+        when(invoiceRepository.findWithCustomers(any(Query.class))).thenReturn(expectedInvoices);
 
         List<Invoice> result = invoiceService.getAllInvoices();
 
@@ -31,7 +33,7 @@ public class GetAllInvoicesTest extends BaseInvoiceServiceTest {
     @Test
     @DisplayName("should return empty list when no invoices exist")
     void getAllInvoices_ReturnsEmptyListWhenNoInvoices() {
-        when(invoiceRepository.findByAudit_DeletedAtIsNull()).thenReturn(Collections.emptyList());
+        when(invoiceRepository.findWithCustomers(any(Query.class))).thenReturn(Collections.emptyList());
 
         List<Invoice> result = invoiceService.getAllInvoices();
 
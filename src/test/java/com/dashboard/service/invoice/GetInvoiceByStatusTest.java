@@ -3,14 +3,18 @@ package com.dashboard.service.invoice;
 import com.dashboard.common.model.Audit;
 import com.dashboard.model.entities.Invoice;
 import io.qameta.allure.Story;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,14 +27,14 @@ public class GetInvoiceByStatusTest extends BaseInvoiceServiceTest {
     void getInvoicesByStatus_ReturnsInvoicesWithPendingStatus() {
         String status = "pending";
         List<Invoice> expectedInvoices = List.of(testInvoice);
-        when(invoiceRepository.findByStatusAndAudit_DeletedAtIsNull(status))
+        when(invoiceRepository.findWithCustomers(any(Query.class)))
                 .thenReturn(expectedInvoices);
 
         List<Invoice> result = invoiceService.getInvoicesByStatus(status);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getStatus()).isEqualTo(status);
-        verify(invoiceRepository).findByStatusAndAudit_DeletedAtIsNull(status);
+        assertStatusQuery(status);
     }
 
     @Test
@@ -42,26 +46,34 @@ public class GetInvoiceByStatusTest extends BaseInvoiceServiceTest {
         paidInvoice.setStatus("paid");
         paidInvoice.setAudit(new Audit());
         List<Invoice> expectedInvoices = List.of(paidInvoice);
-        when(invoiceRepository.findByStatusAndAudit_DeletedAtIsNull(status))
+        when(invoiceRepository.findWithCustomers(any(Query.class)))
                 .thenReturn(expectedInvoices);
 
         List<Invoice> result = invoiceService.getInvoicesByStatus(status);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getStatus()).isEqualTo("paid");
-        verify(invoiceRepository).findByStatusAndAudit_DeletedAtIsNull(status);
+        assertStatusQuery(status);
     }
 
     @Test
     @DisplayName("should return empty list when no invoices match status")
     void getInvoicesByStatus_ReturnsEmptyListWhenNoMatch() {
         String status = "cancelled";
-        when(invoiceRepository.findByStatusAndAudit_DeletedAtIsNull(status))
+        when(invoiceRepository.findWithCustomers(any(Query.class)))
                 .thenReturn(Collections.emptyList());
 
         List<Invoice> result = invoiceService.getInvoicesByStatus(status);
 
         assertThat(result).isEmpty();
-        verify(invoiceRepository).findByStatusAndAudit_DeletedAtIsNull(status);
+        assertStatusQuery(status);
+    }
+
+    private void assertStatusQuery(String status) {
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(invoiceRepository).findWithCustomers(queryCaptor.capture());
+        Document criteria = queryCaptor.getValue().getQueryObject();
+        assertThat(criteria.get("status")).isEqualTo(status);
+        assertThat(criteria).containsEntry("audit.deletedAt", null);
     }
 }
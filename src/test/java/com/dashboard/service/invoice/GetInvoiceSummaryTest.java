@@ -0,0 +1,67 @@
+package com.dashboard.service.invoice;
+
+import com.dashboard.model.InvoiceSummary;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Get Invoice Summary")
+@DisplayName("getInvoiceSummary")
+public class GetInvoiceSummaryTest extends BaseInvoiceServiceTest {
+    @Test
+    @DisplayName("should return count and amount computed by the aggregation")
+    void getInvoiceSummary_ReturnsAggregatedValues() {
+        Document group = new Document("_id", null)
+                .append("count", 3)
+                .append("amount", new Decimal128(new BigDecimal("4500.00")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(group), new Document()));
+
+        InvoiceSummary result = invoiceService.getInvoiceSummary("pending");
+
+        assertThat(result.getCount()).isEqualTo(3L);
+        assertThat(result.getAmount()).isEqualByComparingTo("4500.00");
+        verify(mongoTemplate).aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("should return zero values when no invoices match")
+    void getInvoiceSummary_ReturnsZeroWhenNoInvoices() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(Collections.emptyList(), new Document()));
+
+        InvoiceSummary result = invoiceService.getInvoiceSummary(null);
+
+        assertThat(result.getCount()).isZero();
+        assertThat(result.getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("should read the materialized stats without aggregating when available")
+    void getInvoiceSummary_ReadsStatsWhenAvailable() {
+        when(invoiceStatsService.getSummary("paid"))
+                .thenReturn(Optional.of(new InvoiceSummary(2L, new BigDecimal("300.00"))));
+
+        InvoiceSummary result = invoiceService.getInvoiceSummary("paid");
+
+        assertThat(result.getCount()).isEqualTo(2L);
+        assertThat(result.getAmount()).isEqualByComparingTo("300.00");
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class));
+    }
+}
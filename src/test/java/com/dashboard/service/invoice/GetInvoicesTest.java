@@ -1,17 +1,23 @@
 package com.dashboard.service.invoice;
 
 import com.dashboard.common.model.Audit;
+import com.dashboard.common.model.exception.InvalidRequestException;
+import com.dashboard.dataTransferObject.page.PageCursor;
 import com.dashboard.model.entities.Invoice;
 import io.qameta.allure.Story;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,59 +29,85 @@ public class GetInvoicesTest extends BaseInvoiceServiceTest {
     void getLatestInvoice_ReturnsLatestInvoicesWithinRange() {
         Invoice invoice1 = new Invoice();
         invoice1.set_id(new ObjectId());
-        invoice1.setDate(LocalDate.now().minusDays(1));
+        invoice1.setDate(LocalDate.now());
         invoice1.setAudit(new Audit());
 
         Invoice invoice2 = new Invoice();
         invoice2.set_id(new ObjectId());
-        invoice2.setDate(LocalDate.now());
+        invoice2.setDate(LocalDate.now().minusDays(1));
         invoice2.setAudit(new Audit());
 
-        List<Invoice> allInvoices = List.of(invoice1, invoice2);
-        when(invoiceRepository.findByAudit_DeletedAtIsNull()).thenReturn(allInvoices);
+        when(invoiceRepository.findWithCustomers(any(Query.class))).thenReturn(List.of(invoice1, invoice2));
 
         List<Invoice> result = invoiceService.getLatestInvoice(0, 1);
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getDate()).isAfterOrEqualTo(result.get(1).getDate());
-        verify(invoiceRepository).findByAudit_DeletedAtIsNull();
+        verify(invoiceRepository).findWithCustomers(any(Query.class));
     }
 
     @Test
     @DisplayName("should return empty list when no invoices exist")
     void getLatestInvoice_ReturnsEmptyListWhenNoInvoices() {
-        when(invoiceRepository.findByAudit_DeletedAtIsNull()).thenReturn(Collections.emptyList());
+        when(invoiceRepository.findWithCustomers(any(Query.class))).thenReturn(Collections.emptyList());
 
         List<Invoice> result = invoiceService.getLatestInvoice(0, 5);
 
         assertThat(result).isEmpty();
-        verify(invoiceRepository).findByAudit_DeletedAtIsNull();
+        verify(invoiceRepository).findWithCustomers(any(Query.class));
     }
 
     @Test
-    @DisplayName("should skip invoices based on indexFrom")
-    void getLatestInvoice_SkipsInvoicesBasedOnIndexFrom() {
-        Invoice invoice1 = new Invoice();
-        invoice1.set_id(new ObjectId());
-        invoice1.setDate(LocalDate.now().minusDays(2));
-        invoice1.setAudit(new Audit());
+    @DisplayName("should push sort, skip and limit into the query")
+    void getLatestInvoice_PushesSortSkipAndLimitIntoQuery() {
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        when(invoiceRepository.findWithCustomers(queryCaptor.capture())).thenReturn(Collections.emptyList());
+
+        invoiceService.getLatestInvoice(1, 2);
+
+        Query query = queryCaptor.getValue();
+        assertThat(query.getSkip()).isEqualTo(1);
+        assertThat(query.getLimit()).isEqualTo(2);
+        assertThat(query.getSortObject().get("date")).isEqualTo(-1);
+        assertThat(query.getSortObject().get("_id")).isEqualTo(-1);
+    }
 
-        Invoice invoice2 = new Invoice();
-        invoice2.set_id(new ObjectId());
-        invoice2.setDate(LocalDate.now().minusDays(1));
-        invoice2.setAudit(new Audit());
+    @Test
+    @DisplayName("should seek past the cursor instead of skipping")
+    void getLatestInvoiceAfter_SeeksPastCursor() {
+        ObjectId lastId = new ObjectId();
+        String cursor = new PageCursor("2024-05-01", lastId).encode();
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        when(invoiceRepository.findWithCustomers(queryCaptor.capture())).thenReturn(List.of(testInvoice));
+
+        List<Invoice> result = invoiceService.getLatestInvoiceAfter(cursor, 5);
+
+        assertThat(result).containsExactly(testInvoice);
+        Query query = queryCaptor.getValue();
+        assertThat(query.getSkip()).isZero();
+        assertThat(query.getLimit()).isEqualTo(5);
+        List<?> seekClauses = (List<?>) query.getQueryObject().get("$or");
+        assertThat(seekClauses).hasSize(2);
+        assertThat(seekClauses.get(1).toString()).contains(lastId.toHexString());
+    }
 
-        Invoice invoice3 = new Invoice();
-        invoice3.set_id(new ObjectId());
-        invoice3.setDate(LocalDate.now());
-        invoice3.setAudit(new Audit());
+    @Test
+    @DisplayName("should reject a malformed cursor")
+    void getLatestInvoiceAfter_RejectsMalformedCursor() {
+        assertThatThrownBy(() -> invoiceService.getLatestInvoiceAfter("not-a-cursor", 5))
+                .isInstanceOf(InvalidRequestException.class);
+    }
 
-        List<Invoice> allInvoices = List.of(invoice1, invoice2, invoice3);
-        when(invoiceRepository.findByAudit_DeletedAtIsNull()).thenReturn(allInvoices);
+    @Test
+    @DisplayName("should sort by date and id when no cursor is given")
+    void getLatestInvoiceAfter_StartsFromFirstPageWithoutCursor() {
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        when(invoiceRepository.findWithCustomers(queryCaptor.capture())).thenReturn(Collections.emptyList());
 
-        List<Invoice> result = invoiceService.getLatestInvoice(1, 2);
+        invoiceService.getLatestInvoiceAfter(null, 5);
 
-        assertThat(result).hasSize(2);
-        verify(invoiceRepository).findByAudit_DeletedAtIsNull();
+        Query query = queryCaptor.getValue();
+        assertThat(query.getSortObject().get("date")).isEqualTo(-1);
+        assertThat(query.getLimit()).isEqualTo(5);
     }
 }
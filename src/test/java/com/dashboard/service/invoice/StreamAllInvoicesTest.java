@@ -0,0 +1,46 @@
+package com.dashboard.service.invoice;
+
+import com.dashboard.model.entities.Invoice;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+@Story("Stream All Invoices")
+@DisplayName("streamAllInvoices")
+public class StreamAllInvoicesTest extends BaseInvoiceServiceTest {
+    @Test
+    @DisplayName("should pass every streamed invoice to the consumer")
+    void streamAllInvoices_PassesEveryInvoiceToConsumer() {
+        doAnswer(invocation -> {
+            Consumer<List<Invoice>> batchConsumer = invocation.getArgument(2);
+            batchConsumer.accept(List.of(testInvoice));
+            return null;
+        }).when(invoiceRepository).streamWithCustomers(any(Query.class), anyInt(), any());
+
+        List<Invoice> received = new ArrayList<>();
+        invoiceService.streamAllInvoices(received::add);
+
+        assertThat(received).containsExactly(testInvoice);
+        verify(invoiceRepository).streamWithCustomers(any(Query.class), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("should not call the consumer when no invoices exist")
+    void streamAllInvoices_DoesNothingWhenNoInvoices() {
+        List<Invoice> received = new ArrayList<>();
+        invoiceService.streamAllInvoices(received::add);
+
+        assertThat(received).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package com.dashboard.service.invoicesearch;
+
+import com.dashboard.environment.R2Properties;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.repository.IInvoiceRepository;
+import com.dashboard.repository.IInvoiceSearchRepository;
+import com.dashboard.service.InvoiceSearchService;
+import com.dashboard.service.interfaces.IInvoiceSearchIndex;
+import com.dashboard.service.interfaces.IInvoiceSearchSyncQueue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Epic("Invoices")
+@Feature("Invoice Search Service")
+@Tag("service-invoice-search")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseInvoiceSearchServiceTest {
+
+    @Mock
+    protected IInvoiceSearchRepository invoiceSearchRepository;
+
+    @Mock
+    protected IInvoiceRepository invoiceRepository;
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    @Mock
+    protected R2Properties r2Properties;
+
+    @Mock
+    protected IInvoiceSearchIndex invoiceSearchIndex;
+
+    @Mock
+    protected IInvoiceSearchSyncQueue invoiceSearchSyncQueue;
+
+    @Mock
+    protected ObjectProvider<IInvoiceSearchSyncQueue> invoiceSearchSyncQueueProvider;
+
+    protected Cache<String, Long> invoiceSearchCountCache;
+
+    protected Cache<String, Page<InvoiceSearchDocument>> invoiceSearchResultCache;
+
+    protected InvoiceSearchService invoiceSearchService;
+
+    protected InvoiceSearchDocument testDocument;
+
+    @BeforeEach
+    void setUp() {
+        invoiceSearchCountCache = Caffeine.newBuilder().build();
+        invoiceSearchResultCache = Caffeine.newBuilder().recordStats().build();
+        invoiceSearchService = new InvoiceSearchService(invoiceSearchRepository, invoiceRepository, mongoTemplate,
+                invoiceSearchCountCache, r2Properties, invoiceSearchIndex, invoiceSearchResultCache,
+                new SearchProperties(), new SimpleMeterRegistry(), invoiceSearchSyncQueueProvider);
+
+        testDocument = new InvoiceSearchDocument();
+        testDocument.set_id(new ObjectId());
+        testDocument.setInvoiceId(new ObjectId());
+        testDocument.setCustomerId(new ObjectId());
+        testDocument.setAmount(new BigDecimal("150.00"));
+        testDocument.setDate(LocalDate.of(2024, 1, 15));
+        testDocument.setStatus("pending");
+        testDocument.setCustomerName("Anna Smith");
+        testDocument.setCustomerEmail("anna@example.com");
+    }
+}
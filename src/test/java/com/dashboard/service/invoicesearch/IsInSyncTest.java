@@ -0,0 +1,81 @@
+package com.dashboard.service.invoicesearch;
+
+import com.dashboard.model.entities.CustomerPropagationJob;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Story("Is In Sync")
+@DisplayName("isInSync")
+public class IsInSyncTest extends BaseInvoiceSearchServiceTest {
+
+    private static final Instant SYNCED_AT = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Test
+    @DisplayName("should be in sync when no invoice changed after the newest sync and no customer job is open")
+    void isInSync_TrueWhenNothingChangedSinceSync() {
+        queueDepth(0);
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerPropagationJob.class))).thenReturn(false);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("invoices_search")))
+                .thenReturn(new Document("lastSyncedAt", Date.from(SYNCED_AT)));
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("invoices")))
+                .thenReturn(audit("updatedAt", SYNCED_AT.minusSeconds(5)), audit("deletedAt", SYNCED_AT));
+
+        assertThat(invoiceSearchService.isInSync()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should be out of sync when an invoice changed after the newest sync")
+    void isInSync_FalseWhenInvoiceChangedAfterSync() {
+        queueDepth(0);
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerPropagationJob.class))).thenReturn(false);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("invoices_search")))
+                .thenReturn(new Document("lastSyncedAt", Date.from(SYNCED_AT)));
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("invoices")))
+                .thenReturn(audit("updatedAt", SYNCED_AT.plusSeconds(1)), null);
+
+        assertThat(invoiceSearchService.isInSync()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should be out of sync while a customer propagation job is open, without scanning customers")
+    void isInSync_FalseWhileCustomerJobOpen() {
+        queueDepth(0);
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerPropagationJob.class))).thenReturn(true);
+
+        assertThat(invoiceSearchService.isInSync()).isFalse();
+        verify(mongoTemplate, never()).findOne(any(Query.class), eq(Document.class), anyString());
+    }
+
+    @Test
+    @DisplayName("should be out of sync while saved invoices wait in the sync queue, without querying Mongo")
+    void isInSync_FalseWhileSyncQueued() {
+        queueDepth(1);
+
+        assertThat(invoiceSearchService.isInSync()).isFalse();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void queueDepth(int depth) {
+        when(invoiceSearchSyncQueueProvider.getObject()).thenReturn(invoiceSearchSyncQueue);
+        when(invoiceSearchSyncQueue.getDepth()).thenReturn(depth);
+    }
+
+    private static Document audit(String field, Instant value) {
+        return new Document("audit", new Document(field, Date.from(value)));
+    }
+}
@@ -0,0 +1,158 @@
+package com.dashboard.service.invoicesearch;
+
+import com.dashboard.common.model.exception.InvalidRequestException;
+import com.dashboard.dataTransferObject.invoice.InvoiceFilter;
+import com.dashboard.model.SearchMode;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Search")
+@DisplayName("search")
+public class SearchTest extends BaseInvoiceSearchServiceTest {
+
+    @Test
+    @DisplayName("should serve a repeated search from the result cache")
+    void search_ServesRepeatedSearchFromCache() {
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(1L);
+
+        Page<InvoiceSearchDocument> first = invoiceSearchService.search("Pending", null, null, PageRequest.of(0, 10));
+        Page<InvoiceSearchDocument> second = invoiceSearchService.search(" pending ", null, null, PageRequest.of(0, 10));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getTotalElements()).isEqualTo(1L);
+        assertThat(invoiceSearchResultCache.stats().hitCount()).isEqualTo(1L);
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(InvoiceSearchDocument.class));
+    }
+
+    @Test
+    @DisplayName("should cache each page separately")
+    void search_CachesPagesSeparately() {
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(11L);
+
+        invoiceSearchService.search("pending", null, null, PageRequest.of(0, 10));
+        invoiceSearchService.search("pending", null, null, PageRequest.of(1, 10));
+
+        assertThat(invoiceSearchResultCache.stats().hitCount()).isZero();
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(InvoiceSearchDocument.class));
+    }
+
+    @Test
+    @DisplayName("should read through again after a sync bumps the generation")
+    void search_ReadsThroughAfterSync() {
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(1L);
+
+        invoiceSearchService.search("pending", null, null, PageRequest.of(0, 10));
+        invoiceSearchService.markInvoiceDeleted(new ObjectId());
+        invoiceSearchService.search("pending", null, null, PageRequest.of(0, 10));
+
+        assertThat(invoiceSearchResultCache.stats().hitCount()).isZero();
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(InvoiceSearchDocument.class));
+    }
+
+    @Test
+    @DisplayName("should compile filters to equality and range predicates")
+    void search_CompilesFiltersToPredicates() {
+        ObjectId customerId = new ObjectId();
+        InvoiceFilter filter = new InvoiceFilter();
+        filter.setStatuses(List.of("paid", "pending"));
+        filter.setAmountMin(new BigDecimal("100"));
+        filter.setAmountMax(new BigDecimal("200"));
+        filter.setDateFrom(LocalDate.of(2024, 1, 1));
+        filter.setCustomerId(customerId.toHexString());
+
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(1L);
+
+        invoiceSearchService.search("", null, filter, PageRequest.of(0, 10));
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(InvoiceSearchDocument.class));
+        List<Document> predicates = captor.getValue().getQueryObject().getList("$and", Document.class);
+        assertThat(predicates).containsExactlyInAnyOrder(
+                new Document("deletedAt", null),
+                new Document("status", new Document("$in", List.of("paid", "pending"))),
+                new Document("customerId", customerId),
+                new Document("amount", new Document("$gte", new BigDecimal("100")).append("$lte", new BigDecimal("200"))),
+                new Document("date", new Document("$gte", LocalDate.of(2024, 1, 1))));
+        verify(invoiceSearchIndex, never()).search(any());
+    }
+
+    @Test
+    @DisplayName("should cache filtered and unfiltered results separately")
+    void search_CachesFiltersSeparately() {
+        InvoiceFilter filter = new InvoiceFilter();
+        filter.setStatuses(List.of("paid"));
+
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(1L);
+
+        invoiceSearchService.search("anna", null, null, PageRequest.of(0, 10));
+        invoiceSearchService.search("anna", null, filter, PageRequest.of(0, 10));
+
+        assertThat(invoiceSearchResultCache.stats().hitCount()).isZero();
+        verify(mongoTemplate, times(2)).count(any(Query.class), eq(InvoiceSearchDocument.class));
+    }
+
+    @Test
+    @DisplayName("should reject a range whose start is after its end")
+    void search_RejectsInvertedRange() {
+        InvoiceFilter filter = new InvoiceFilter();
+        filter.setDateFrom(LocalDate.of(2024, 2, 1));
+        filter.setDateTo(LocalDate.of(2024, 1, 1));
+
+        assertThatThrownBy(() -> invoiceSearchService.search("", null, filter, PageRequest.of(0, 10)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    @DisplayName("should keep substring matching for a multi-word term when no mode is given")
+    void search_MultiWordTermDefaultsToRegex() {
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(1L);
+
+        invoiceSearchService.search("anna smith", null, null, PageRequest.of(0, 10));
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(InvoiceSearchDocument.class));
+        assertThat(queryCaptor.getValue()).isNotInstanceOf(TextQuery.class);
+        assertThat(queryCaptor.getValue().getQueryObject()).doesNotContainKey("$text");
+    }
+
+    @Test
+    @DisplayName("should only use the text index for a multi-word term when AUTO is requested")
+    void search_MultiWordTermWithAutoUsesText() {
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(testDocument));
+        when(mongoTemplate.count(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(1L);
+
+        invoiceSearchService.search("anna smith", SearchMode.AUTO, null, PageRequest.of(0, 10));
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(InvoiceSearchDocument.class));
+        assertThat(queryCaptor.getValue().getQueryObject()).containsKey("$text");
+    }
+}
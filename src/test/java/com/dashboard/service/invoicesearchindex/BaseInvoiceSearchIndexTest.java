@@ -0,0 +1,65 @@
+package com.dashboard.service.invoicesearchindex;
+
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.service.InvoiceSearchIndex;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@Epic("Invoices")
+@Feature("Invoice Search Index")
+@Tag("service-invoice-search-index")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseInvoiceSearchIndexTest {
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    protected SearchProperties searchProperties;
+
+    protected InvoiceSearchIndex invoiceSearchIndex;
+
+    protected ObjectId customerId;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        searchProperties.setInMemoryIndexEnabled(true);
+        invoiceSearchIndex = new InvoiceSearchIndex(mongoTemplate, searchProperties);
+        customerId = new ObjectId();
+    }
+
+    protected void load(InvoiceSearchDocument... documents) {
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(documents));
+        invoiceSearchIndex.load();
+    }
+
+    protected InvoiceSearchDocument document(String status, String name, String email, String amount) {
+        InvoiceSearchDocument doc = new InvoiceSearchDocument();
+        doc.set_id(new ObjectId());
+        doc.setInvoiceId(new ObjectId());
+        doc.setCustomerId(customerId);
+        doc.setStatus(status);
+        doc.setCustomerName(name);
+        doc.setCustomerEmail(email);
+        doc.setAmount(new BigDecimal(amount));
+        doc.setDate(LocalDate.of(2024, 1, 15));
+        return doc;
+    }
+}
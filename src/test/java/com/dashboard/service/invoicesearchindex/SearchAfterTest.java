@@ -0,0 +1,77 @@
+package com.dashboard.service.invoicesearchindex;
+
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import io.qameta.allure.Story;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Story("Search After")
+@DisplayName("searchAfter")
+public class SearchAfterTest extends BaseInvoiceSearchIndexTest {
+
+    @Test
+    @DisplayName("should return empty while the index has not been loaded")
+    void searchAfter_ReturnsEmptyBeforeLoad() {
+        assertThat(invoiceSearchIndex.searchAfter("anna", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should page matches by date and id, newest first, regardless of load order")
+    void searchAfter_PagesInKeysetOrder() {
+        InvoiceSearchDocument older = dated("2024-01-10", "Anna Smith");
+        InvoiceSearchDocument newer = dated("2024-02-10", "Anna Jones");
+        InvoiceSearchDocument sameDay = dated("2024-02-10", "Anna Brown");
+        InvoiceSearchDocument other = dated("2024-03-10", "Bob Jones");
+        load(older, newer, other, sameDay);
+
+        // sameDay was created after newer, so its _id is larger and it sorts first within the day
+        assertThat(invoiceSearchIndex.searchAfter("anna", null, null, 2)).contains(List.of(sameDay, newer));
+        assertThat(invoiceSearchIndex.searchAfter("anna", newer.getDate(), newer.get_id(), 2))
+                .contains(List.of(older));
+        assertThat(invoiceSearchIndex.searchAfter("anna", sameDay.getDate(), sameDay.get_id(), 1))
+                .contains(List.of(newer));
+    }
+
+    @Test
+    @DisplayName("should move a document to its new position when its date changes")
+    void searchAfter_FollowsUpdatedDate() {
+        InvoiceSearchDocument first = dated("2024-01-10", "Anna Smith");
+        InvoiceSearchDocument second = dated("2024-02-10", "Anna Jones");
+        load(first, second);
+
+        InvoiceSearchDocument moved = dated("2024-03-10", "Anna Smith");
+        moved.set_id(first.get_id());
+        moved.setInvoiceId(first.getInvoiceId());
+        invoiceSearchIndex.put(moved);
+
+        assertThat(invoiceSearchIndex.searchAfter("anna", null, null, 10)).get()
+                .extracting(InvoiceSearchDocument::getDate)
+                .containsExactly(LocalDate.parse("2024-03-10"), LocalDate.parse("2024-02-10"));
+    }
+
+    @Test
+    @DisplayName("should leave documents without a date out of pages after a cursor")
+    void searchAfter_SkipsUndatedAfterCursor() {
+        InvoiceSearchDocument dated = dated("2024-01-10", "Anna Smith");
+        InvoiceSearchDocument undated = dated("2024-01-10", "Anna Jones");
+        undated.setDate(null);
+        load(dated, undated);
+
+        assertThat(invoiceSearchIndex.searchAfter("anna", null, null, 10)).contains(List.of(dated, undated));
+        assertThat(invoiceSearchIndex.searchAfter("anna", LocalDate.parse("2024-02-01"), new ObjectId(), 10))
+                .contains(List.of(dated));
+        assertThat(invoiceSearchIndex.searchAfter("anna", dated.getDate(), dated.get_id(), 10)).contains(List.of());
+    }
+
+    private InvoiceSearchDocument dated(String date, String name) {
+        InvoiceSearchDocument doc = document("pending", name, "customer@example.com", "100.00");
+        doc.setDate(LocalDate.parse(date));
+        return doc;
+    }
+}
@@ -0,0 +1,103 @@
+package com.dashboard.service.invoicesearchindex;
+
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@Story("Search")
+@DisplayName("search")
+public class SearchTest extends BaseInvoiceSearchIndexTest {
+
+    @Test
+    @DisplayName("should return empty while the index has not been loaded")
+    void search_ReturnsEmptyBeforeLoad() {
+        assertThat(invoiceSearchIndex.search("anna")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not load when the in-memory index is disabled")
+    void reload_DoesNothingWhenDisabled() {
+        searchProperties.setInMemoryIndexEnabled(false);
+
+        invoiceSearchIndex.reload();
+
+        assertThat(invoiceSearchIndex.isReady()).isFalse();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("should match substrings of name, email and status case-insensitively")
+    void search_MatchesSubstrings() {
+        InvoiceSearchDocument anna = document("pending", "Anna Smith", "anna@example.com", "100.00");
+        InvoiceSearchDocument bob = document("paid", "Bob Jones", "bob@example.com", "200.00");
+        load(anna, bob);
+
+        assertThat(invoiceSearchIndex.search("nna s")).contains(List.of(anna));
+        assertThat(invoiceSearchIndex.search("example")).contains(List.of(anna, bob));
+        assertThat(invoiceSearchIndex.search("pai")).contains(List.of(bob));
+        assertThat(invoiceSearchIndex.search("zzz")).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("should match short terms and amounts")
+    void search_MatchesShortTermsAndAmounts() {
+        InvoiceSearchDocument anna = document("pending", "Anna Smith", "anna@example.com", "100.00");
+        InvoiceSearchDocument bob = document("paid", "Bob Jones", "bob@example.com", "200.00");
+        load(anna, bob);
+
+        assertThat(invoiceSearchIndex.search("bo")).contains(List.of(bob));
+        assertThat(invoiceSearchIndex.search("100.00")).contains(List.of(anna));
+        assertThat(invoiceSearchIndex.search("")).contains(List.of(anna, bob));
+    }
+
+    @Test
+    @DisplayName("should match amounts numerically regardless of scale")
+    void search_MatchesAmountsNumerically() {
+        InvoiceSearchDocument anna = document("pending", "Anna Smith", "anna@example.com", "100.00");
+        InvoiceSearchDocument bob = document("paid", "Bob Jones", "bob@example.com", "100");
+        InvoiceSearchDocument carl = document("paid", "Carl Berg", "carl@example.com", "1000");
+        load(anna, bob, carl);
+
+        assertThat(invoiceSearchIndex.search("100")).contains(List.of(anna, bob));
+        assertThat(invoiceSearchIndex.search("100.00")).contains(List.of(anna, bob));
+        assertThat(invoiceSearchIndex.search("1e3")).contains(List.of(carl));
+    }
+
+    @Test
+    @DisplayName("should match invoice and customer ids")
+    void search_MatchesObjectIds() {
+        InvoiceSearchDocument anna = document("pending", "Anna Smith", "anna@example.com", "100.00");
+        load(anna);
+
+        assertThat(invoiceSearchIndex.search(anna.getInvoiceId().toHexString())).contains(List.of(anna));
+        assertThat(invoiceSearchIndex.search(customerId.toHexString())).contains(List.of(anna));
+    }
+
+    @Test
+    @DisplayName("should reflect puts, customer updates and removals")
+    void search_ReflectsChanges() {
+        InvoiceSearchDocument anna = document("pending", "Anna Smith", "anna@example.com", "100.00");
+        load(anna);
+
+        anna.setStatus("paid");
+        invoiceSearchIndex.put(anna);
+        assertThat(invoiceSearchIndex.search("pending")).contains(List.of());
+        assertThat(invoiceSearchIndex.search("paid").map(List::size)).contains(1);
+
+        invoiceSearchIndex.updateCustomer(customerId, "Anna Brown", "anna@example.com", null);
+        Optional<List<InvoiceSearchDocument>> renamed = invoiceSearchIndex.search("brown");
+        assertThat(renamed.map(List::size)).contains(1);
+        assertThat(renamed.get().getFirst().getCustomerName()).isEqualTo("Anna Brown");
+        assertThat(invoiceSearchIndex.search("smith")).contains(List.of());
+
+        invoiceSearchIndex.remove(anna.getInvoiceId());
+        assertThat(invoiceSearchIndex.search("")).contains(List.of());
+    }
+}
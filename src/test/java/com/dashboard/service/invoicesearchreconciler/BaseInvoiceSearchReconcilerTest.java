@@ -0,0 +1,94 @@
+package com.dashboard.service.invoicesearchreconciler;
+
+import com.dashboard.common.model.Audit;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.repository.IInvoiceRepository;
+import com.dashboard.service.InvoiceSearchReconciler;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@Epic("Invoices")
+@Feature("Invoice Search Reconciler")
+@Tag("service-invoice-search-reconciler")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseInvoiceSearchReconcilerTest {
+
+    @Mock
+    protected IInvoiceRepository invoiceRepository;
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    @Mock
+    protected IInvoiceSearchService invoiceSearchService;
+
+    protected SimpleMeterRegistry meterRegistry;
+
+    protected InvoiceSearchReconciler invoiceSearchReconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        invoiceSearchReconciler = new InvoiceSearchReconciler(invoiceRepository, mongoTemplate, invoiceSearchService,
+                new SearchProperties(), meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void changedInvoices(Invoice... invoices) {
+        doAnswer(invocation -> {
+            invocation.getArgument(2, Consumer.class).accept(List.of(invoices));
+            return null;
+        }).when(invoiceRepository).streamWithCustomers(any(Query.class), anyInt(), any());
+    }
+
+    protected Invoice invoice(Instant updatedAt) {
+        Customer customer = new Customer();
+        customer.set_id(new ObjectId());
+        customer.setName("Anna Smith");
+        customer.setEmail("anna@example.com");
+
+        Audit audit = new Audit();
+        audit.setCreatedAt(updatedAt);
+        audit.setUpdatedAt(updatedAt);
+
+        Invoice invoice = new Invoice();
+        invoice.set_id(new ObjectId());
+        invoice.setCustomer(customer);
+        invoice.setAmount(new BigDecimal("150.00"));
+        invoice.setDate(LocalDate.of(2024, 1, 15));
+        invoice.setStatus("pending");
+        invoice.setAudit(audit);
+        return invoice;
+    }
+
+    protected InvoiceSearchDocument searchDocument(Invoice invoice, Instant lastSyncedAt) {
+        InvoiceSearchDocument doc = new InvoiceSearchDocument();
+        doc.set_id(new ObjectId());
+        doc.setInvoiceId(invoice.get_id());
+        doc.setLastSyncedAt(lastSyncedAt);
+        return doc;
+    }
+}
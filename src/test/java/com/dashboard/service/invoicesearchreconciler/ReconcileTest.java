@@ -0,0 +1,93 @@
+package com.dashboard.service.invoicesearchreconciler;
+
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.entities.InvoiceSearchDocument;
+import com.dashboard.model.entities.SyncWatermark;
+import com.dashboard.service.InvoiceSearchReconciler;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Reconcile")
+@DisplayName("reconcile")
+public class ReconcileTest extends BaseInvoiceSearchReconcilerTest {
+
+    @Test
+    @DisplayName("should resync only missing, outdated and undeleted search documents")
+    void reconcile_ResyncsOnlyStaleDocuments() {
+        Instant changedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        Invoice missing = invoice(changedAt);
+        Invoice outdated = invoice(changedAt);
+        Invoice current = invoice(changedAt);
+        Invoice deleted = invoice(changedAt);
+        deleted.getAudit().setDeletedAt(changedAt);
+
+        changedInvoices(missing, outdated, current, deleted);
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class))).thenReturn(List.of(
+                searchDocument(outdated, changedAt.minusSeconds(5)),
+                searchDocument(current, changedAt.plusMillis(100)),
+                searchDocument(deleted, changedAt.minusSeconds(5))));
+
+        invoiceSearchReconciler.reconcile();
+
+        verify(invoiceSearchService).syncInvoices(List.of(missing, outdated, deleted));
+        assertThat(meterRegistry.counter("invoice.search.reconcile.stale", "reason", "missing").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("invoice.search.reconcile.stale", "reason", "outdated").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("invoice.search.reconcile.stale", "reason", "deleted").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("invoice.search.reconcile.scanned").count()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("should advance the watermark without writing when nothing drifted")
+    void reconcile_AdvancesWatermarkWhenInSync() {
+        Instant changedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        Invoice current = invoice(changedAt);
+
+        SyncWatermark watermark = new SyncWatermark();
+        watermark.setName(InvoiceSearchReconciler.WATERMARK_NAME);
+        watermark.setWatermark(changedAt.minusSeconds(60));
+        when(mongoTemplate.findById(InvoiceSearchReconciler.WATERMARK_NAME, SyncWatermark.class)).thenReturn(watermark);
+        changedInvoices(current);
+        when(mongoTemplate.find(any(Query.class), eq(InvoiceSearchDocument.class)))
+                .thenReturn(List.of(searchDocument(current, changedAt.plusMillis(100))));
+
+        invoiceSearchReconciler.reconcile();
+
+        verify(invoiceSearchService, never()).syncInvoices(anyList());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(SyncWatermark.class));
+        Instant saved = (Instant) update.getValue().getUpdateObject().get("$set", Document.class).get("watermark");
+        assertThat(saved).isAfter(watermark.getWatermark()).isBefore(Instant.now());
+    }
+
+    @Test
+    @DisplayName("should keep the watermark when the resync fails")
+    void reconcile_KeepsWatermarkOnFailure() {
+        Invoice missing = invoice(Instant.now().minus(10, ChronoUnit.MINUTES));
+
+        changedInvoices(missing);
+        doThrow(new IllegalStateException("down")).when(invoiceSearchService).syncInvoices(anyList());
+
+        assertThatThrownBy(() -> invoiceSearchReconciler.reconcile()).isInstanceOf(IllegalStateException.class);
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(SyncWatermark.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.dashboard.service.invoicesearchsync;
+
+import com.dashboard.common.model.Audit;
+import com.dashboard.environment.SearchProperties;
+import com.dashboard.model.entities.Customer;
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.service.InvoiceSearchSyncQueue;
+import com.dashboard.service.interfaces.IInvoiceSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+@Epic("Invoices")
+@Feature("Invoice Search Sync Queue")
+@Tag("service-invoice-search-sync")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseInvoiceSearchSyncQueueTest {
+
+    @Mock
+    protected IInvoiceSearchService invoiceSearchService;
+
+    protected SimpleMeterRegistry meterRegistry;
+
+    protected InvoiceSearchSyncQueue invoiceSearchSyncQueue;
+
+    @BeforeEach
+    void setUp() {
+        // Keep the scheduled worker out of the way so tests flush explicitly
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setSyncFlushInterval(Duration.ofHours(1));
+        searchProperties.setSyncBatchSize(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        invoiceSearchSyncQueue = new InvoiceSearchSyncQueue(invoiceSearchService, searchProperties, meterRegistry);
+        invoiceSearchSyncQueue.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        invoiceSearchSyncQueue.stop();
+    }
+
+    protected Invoice invoice(ObjectId id, String status) {
+        Customer customer = new Customer();
+        customer.set_id(new ObjectId());
+        customer.setName("Anna Smith");
+        customer.setEmail("anna@example.com");
+
+        Invoice invoice = new Invoice();
+        invoice.set_id(id);
+        invoice.setCustomer(customer);
+        invoice.setAmount(new BigDecimal("150.00"));
+        invoice.setDate(LocalDate.of(2024, 1, 15));
+        invoice.setStatus(status);
+        invoice.setAudit(new Audit());
+        return invoice;
+    }
+}
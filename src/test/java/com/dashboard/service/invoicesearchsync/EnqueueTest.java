@@ -0,0 +1,78 @@
+package com.dashboard.service.invoicesearchsync;
+
+import com.dashboard.model.entities.Invoice;
+import io.qameta.allure.Story;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Story("Enqueue")
+@DisplayName("enqueue")
+public class EnqueueTest extends BaseInvoiceSearchSyncQueueTest {
+
+    @Test
+    @DisplayName("should coalesce repeated writes to the same invoice into the latest one")
+    @SuppressWarnings("unchecked")
+    void enqueue_CoalescesRepeatedWrites() {
+        ObjectId id = new ObjectId();
+        Invoice pending = invoice(id, "pending");
+        Invoice paid = invoice(id, "paid");
+
+        invoiceSearchSyncQueue.enqueue(pending);
+        invoiceSearchSyncQueue.enqueue(paid);
+        assertThat(invoiceSearchSyncQueue.getDepth()).isEqualTo(1);
+
+        invoiceSearchSyncQueue.flush();
+
+        ArgumentCaptor<List<Invoice>> captor = ArgumentCaptor.forClass(List.class);
+        verify(invoiceSearchService).syncInvoices(captor.capture());
+        assertThat(captor.getValue()).containsExactly(paid);
+        assertThat(invoiceSearchSyncQueue.getDepth()).isZero();
+        assertThat(meterRegistry.counter("invoice.search.sync.coalesced").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should flush pending invoices in batches")
+    void flush_WritesInBatches() {
+        invoiceSearchSyncQueue.enqueue(invoice(new ObjectId(), "pending"));
+        invoiceSearchSyncQueue.enqueue(invoice(new ObjectId(), "pending"));
+        invoiceSearchSyncQueue.enqueue(invoice(new ObjectId(), "paid"));
+
+        invoiceSearchSyncQueue.flush();
+
+        verify(invoiceSearchService, times(2)).syncInvoices(anyList());
+        assertThat(invoiceSearchSyncQueue.getDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep the batch queued when the write fails")
+    void flush_RequeuesFailedBatch() {
+        doThrow(new IllegalStateException("down")).when(invoiceSearchService).syncInvoices(anyList());
+        invoiceSearchSyncQueue.enqueue(invoice(new ObjectId(), "pending"));
+
+        assertThatThrownBy(() -> invoiceSearchSyncQueue.flush()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(invoiceSearchSyncQueue.getDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should ignore invoices without an id")
+    void enqueue_IgnoresInvoicesWithoutId() {
+        invoiceSearchSyncQueue.enqueue(invoice(null, "pending"));
+
+        invoiceSearchSyncQueue.flush();
+
+        verify(invoiceSearchService, never()).syncInvoices(anyList());
+    }
+}
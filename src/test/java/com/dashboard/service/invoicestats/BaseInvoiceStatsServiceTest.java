@@ -0,0 +1,28 @@
+package com.dashboard.service.invoicestats;
+
+import com.dashboard.repository.IInvoiceStatsRepository;
+import com.dashboard.service.InvoiceStatsService;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Epic("Invoices")
+@Feature("Invoice Stats Service")
+@Tag("service-invoice-stats")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseInvoiceStatsServiceTest {
+
+    @Mock
+    protected IInvoiceStatsRepository invoiceStatsRepository;
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    protected InvoiceStatsService invoiceStatsService;
+}
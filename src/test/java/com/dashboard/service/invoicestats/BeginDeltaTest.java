@@ -0,0 +1,49 @@
+package com.dashboard.service.invoicestats;
+
+import com.dashboard.model.entities.InvoiceStats;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Story("Begin Delta")
+@DisplayName("beginDelta")
+public class BeginDeltaTest extends BaseInvoiceStatsServiceTest {
+
+    @Test
+    @DisplayName("should announce the delta and move the version of every status once")
+    void beginDelta_AnnouncesOncePerStatus() {
+        String token = invoiceStatsService.beginDelta("pending", "paid", "paid");
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(InvoiceStats.class));
+        assertThat(queryCaptor.getAllValues())
+                .extracting(query -> query.getQueryObject().get("_id"))
+                .containsExactly("pending", "paid");
+        Update update = updateCaptor.getValue();
+        assertThat(update.getUpdateObject().get("$inc", Document.class).get("version")).isEqualTo(1);
+        InvoiceStats.PendingDelta pending = (InvoiceStats.PendingDelta)
+                update.getUpdateObject().get("$push", Document.class).get("pendingDeltas");
+        assertThat(pending.getToken()).isEqualTo(token);
+        assertThat(pending.getStartedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should ignore invoices without status")
+    void beginDelta_IgnoresNullStatus() {
+        invoiceStatsService.beginDelta((String) null);
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class));
+    }
+}
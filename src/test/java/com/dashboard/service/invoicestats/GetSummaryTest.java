@@ -0,0 +1,88 @@
+package com.dashboard.service.invoicestats;
+
+import com.dashboard.model.InvoiceSummary;
+import com.dashboard.model.entities.InvoiceStats;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@Story("Get Summary")
+@DisplayName("getSummary")
+public class GetSummaryTest extends BaseInvoiceStatsServiceTest {
+
+    @Test
+    @DisplayName("should return empty before the first reconciliation")
+    void getSummary_ReturnsEmptyBeforeReconcile() {
+        assertThat(invoiceStatsService.getSummary("paid")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return the stats of a status after reconciliation")
+    void getSummary_ReturnsStatusStats() {
+        reconcile();
+        when(invoiceStatsRepository.findById("paid")).thenReturn(Optional.of(stats("paid", 2L, "300.00")));
+
+        Optional<InvoiceSummary> result = invoiceStatsService.getSummary("paid");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getCount()).isEqualTo(2L);
+        assertThat(result.get().getAmount()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    @DisplayName("should return zero for a status without invoices")
+    void getSummary_ReturnsZeroForUnknownStatus() {
+        reconcile();
+        when(invoiceStatsRepository.findById("cancelled")).thenReturn(Optional.empty());
+
+        Optional<InvoiceSummary> result = invoiceStatsService.getSummary("cancelled");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getCount()).isZero();
+        assertThat(result.get().getAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("should sum every status when no status is given")
+    void getSummary_SumsAllStatuses() {
+        reconcile();
+        when(invoiceStatsRepository.findAll())
+                .thenReturn(List.of(stats("paid", 2L, "300.00"), stats("pending", 1L, "50.50")));
+
+        Optional<InvoiceSummary> result = invoiceStatsService.getSummary(null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getCount()).isEqualTo(3L);
+        assertThat(result.get().getAmount()).isEqualByComparingTo("350.50");
+    }
+
+    private void reconcile() {
+        Document group = new Document("_id", "paid")
+                .append("count", 2)
+                .append("amount", new Decimal128(new BigDecimal("300.00")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(group), new Document()));
+        invoiceStatsService.reconcile();
+    }
+
+    private InvoiceStats stats(String status, Long count, String amount) {
+        InvoiceStats stats = new InvoiceStats();
+        stats.setStatus(status);
+        stats.setCount(count);
+        stats.setAmount(new BigDecimal(amount));
+        return stats;
+    }
+}
@@ -0,0 +1,168 @@
+package com.dashboard.service.invoicestats;
+
+import com.dashboard.model.entities.InvoiceStats;
+import com.mongodb.client.result.DeleteResult;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Reconcile")
+@DisplayName("reconcile")
+public class ReconcileTest extends BaseInvoiceStatsServiceTest {
+
+    @Test
+    @DisplayName("should set the totals only while the version read before the aggregation is unchanged")
+    void reconcile_GuardsSetWithVersion() {
+        when(invoiceStatsRepository.findAll()).thenReturn(List.of(stats("paid", 7L)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(results(group("paid", 2, "300.00")));
+
+        invoiceStatsService.reconcile();
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(InvoiceStats.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .containsEntry("_id", "paid")
+                .containsEntry("version", 7L);
+        Document set = updateCaptor.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set.get("count")).isEqualTo(2L);
+        assertThat(set.get("amount")).isEqualTo(new Decimal128(new BigDecimal("300.00")));
+        assertThat(invoiceStatsService.getSummary("paid")).isPresent();
+    }
+
+    @Test
+    @DisplayName("should aggregate again when a delta changed the status during the aggregation")
+    void reconcile_RetriesAfterConcurrentDelta() {
+        when(invoiceStatsRepository.findAll())
+                .thenReturn(List.of(stats("paid", 7L)), List.of(stats("paid", 8L)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(results(group("paid", 2, "300.00")), results(group("paid", 3, "450.00")));
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class)))
+                .thenThrow(new DuplicateKeyException("version moved"))
+                .thenReturn(null);
+
+        invoiceStatsService.reconcile();
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(InvoiceStats.class));
+        assertThat(queryCaptor.getAllValues().get(1).getQueryObject()).containsEntry("version", 8L);
+        Document set = updateCaptor.getAllValues().get(1).getUpdateObject().get("$set", Document.class);
+        assertThat(set.get("count")).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("should stay unreconciled when the totals keep moving")
+    void reconcile_GivesUpAfterRepeatedConflicts() {
+        when(invoiceStatsRepository.findAll()).thenReturn(List.of(stats("paid", 7L)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(results(group("paid", 2, "300.00")));
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class)))
+                .thenThrow(new DuplicateKeyException("version moved"));
+
+        invoiceStatsService.reconcile();
+
+        verify(mongoTemplate, times(3)).upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class));
+        assertThat(invoiceStatsService.getSummary("paid")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should leave a status alone while a delta announced before the aggregation is pending")
+    void reconcile_SkipsStatusWithPendingDelta() {
+        // The invoice may already be counted by the aggregation while its delta is still to land
+        InvoiceStats paid = stats("paid", 7L);
+        paid.setPendingDeltas(List.of(pending(Instant.now())));
+        when(invoiceStatsRepository.findAll()).thenReturn(List.of(paid));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(results(group("paid", 2, "300.00")));
+
+        invoiceStatsService.reconcile();
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class));
+        assertThat(invoiceStatsService.getSummary("paid")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reconcile over an announcement left by a write that never recorded its delta")
+    void reconcile_IgnoresStalePendingDelta() {
+        InvoiceStats paid = stats("paid", 7L);
+        paid.setPendingDeltas(List.of(pending(Instant.now().minus(Duration.ofHours(1)))));
+        when(invoiceStatsRepository.findAll()).thenReturn(List.of(paid));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(results(group("paid", 2, "300.00")));
+
+        invoiceStatsService.reconcile();
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), updateCaptor.capture(), eq(InvoiceStats.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$unset", Document.class))
+                .containsKey("pendingDeltas");
+    }
+
+    @Test
+    @DisplayName("should remove an unchanged status that has no invoices left")
+    void reconcile_RemovesEmptyStatus() {
+        when(invoiceStatsRepository.findAll()).thenReturn(List.of(stats("cancelled", null)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(results());
+        when(mongoTemplate.remove(any(Query.class), eq(InvoiceStats.class)))
+                .thenReturn(DeleteResult.acknowledged(1));
+
+        invoiceStatsService.reconcile();
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(queryCaptor.capture(), eq(InvoiceStats.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .containsEntry("_id", "cancelled")
+                .containsEntry("version", new Document("$exists", false));
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class));
+    }
+
+    private static InvoiceStats stats(String status, Long version) {
+        InvoiceStats stats = new InvoiceStats();
+        stats.setStatus(status);
+        stats.setCount(1L);
+        stats.setAmount(BigDecimal.TEN);
+        stats.setVersion(version);
+        return stats;
+    }
+
+    private static InvoiceStats.PendingDelta pending(Instant startedAt) {
+        InvoiceStats.PendingDelta pending = new InvoiceStats.PendingDelta();
+        pending.setToken("token");
+        pending.setStartedAt(startedAt);
+        return pending;
+    }
+
+    private static Document group(String status, int count, String amount) {
+        return new Document("_id", status)
+                .append("count", count)
+                .append("amount", new Decimal128(new BigDecimal(amount)));
+    }
+
+    private static AggregationResults<Document> results(Document... groups) {
+        return new AggregationResults<>(List.of(groups), new Document());
+    }
+}
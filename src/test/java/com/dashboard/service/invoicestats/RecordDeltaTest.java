@@ -0,0 +1,59 @@
+package com.dashboard.service.invoicestats;
+
+import com.dashboard.model.entities.InvoiceStats;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Story("Record Delta")
+@DisplayName("recordDelta")
+public class RecordDeltaTest extends BaseInvoiceStatsServiceTest {
+
+    @Test
+    @DisplayName("should upsert the status document with $inc")
+    void recordDelta_UpsertsWithIncrement() {
+        invoiceStatsService.recordDelta("token", "paid", -1, new BigDecimal("-150.00"));
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(InvoiceStats.class));
+
+        assertThat(queryCaptor.getValue().getQueryObject().get("_id")).isEqualTo("paid");
+        Document inc = updateCaptor.getValue().getUpdateObject().get("$inc", Document.class);
+        assertThat(inc.get("count")).isEqualTo(-1L);
+        assertThat(inc.get("amount")).isEqualTo(new Decimal128(new BigDecimal("-150.00")));
+        assertThat(inc.get("version")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should clear the announcement made under the token")
+    void recordDelta_ClearsPendingDelta() {
+        invoiceStatsService.recordDelta("token", "paid", 1, BigDecimal.TEN);
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), updateCaptor.capture(), eq(InvoiceStats.class));
+        Document pull = updateCaptor.getValue().getUpdateObject().get("$pull", Document.class);
+        assertThat(pull.get("pendingDeltas")).isEqualTo(new Document("token", "token"));
+    }
+
+    @Test
+    @DisplayName("should ignore invoices without status")
+    void recordDelta_IgnoresNullStatus() {
+        invoiceStatsService.recordDelta("token", null, 1, BigDecimal.TEN);
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(InvoiceStats.class));
+    }
+}
@@ -0,0 +1,154 @@
+package com.dashboard.service.revenue;
+
+import com.dashboard.context.DiffContext;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
+import com.mongodb.bulk.BulkWriteError;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Story("Adjust Revenue")
+@DisplayName("adjustRevenue")
+public class AdjustRevenueTest extends BaseRevenueServiceTest {
+    @Mock
+    private BulkOperations rollupBulk;
+
+    @BeforeEach
+    void stubRollupBulk() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RevenueRollup.class)).thenReturn(rollupBulk);
+    }
+
+    @AfterEach
+    void clearDiffs() {
+        DiffContext.clear();
+    }
+
+    @Test
+    @DisplayName("should increment the month atomically with an upsert")
+    void adjustRevenue_IncrementsWithUpsert() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        when(mongoTemplate.findAndModify(query.capture(), update.capture(), options.capture(), eq(Revenue.class)))
+                .thenReturn(testRevenue);
+
+        revenueService.adjustRevenue(LocalDate.of(2024, 1, 15), new BigDecimal("250.00"));
+
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("month", Month.JANUARY)
+                .containsEntry("year", 2024);
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertThat(inc.get("revenue")).isEqualTo(new Decimal128(new BigDecimal("250.00")));
+        assertThat(options.getValue().isUpsert()).isTrue();
+        verifyNoInteractions(revenueRepository);
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+
+    @Test
+    @DisplayName("should record the adjusted amount in the diff")
+    void adjustRevenue_RecordsAdjustedAmount() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Revenue.class)))
+                .thenReturn(testRevenue);
+
+        revenueService.adjustRevenue(LocalDate.of(2024, 1, 15), new BigDecimal("-500.00"));
+
+        assertThat(DiffContext.getDiff()).contains("9500.00");
+    }
+
+    @Test
+    @DisplayName("should create the month when it does not exist yet")
+    void adjustRevenue_CreatesMissingMonth() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Revenue.class)))
+                .thenReturn(null);
+
+        revenueService.adjustRevenue(LocalDate.of(2025, 3, 2), new BigDecimal("75.50"));
+
+        assertThat(DiffContext.getDiff()).isNotNull();
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+
+    @Test
+    @DisplayName("should retry once when concurrent upserts race to create the month")
+    void adjustRevenue_RetriesDuplicateKey() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Revenue.class)))
+                .thenThrow(new DuplicateKeyException("month_year_unique"))
+                .thenReturn(testRevenue);
+
+        revenueService.adjustRevenue(LocalDate.of(2024, 1, 15), BigDecimal.ONE);
+
+        verify(mongoTemplate, times(2))
+                .findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Revenue.class));
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+
+    @Test
+    @DisplayName("should increment every granularity's bucket in one bulk write")
+    void adjustRevenue_IncrementsRollupsInOneBulk() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Revenue.class)))
+                .thenReturn(testRevenue);
+
+        // A Wednesday, so the week bucket starts on the Monday before
+        revenueService.adjustRevenue(LocalDate.of(2024, 5, 15), BigDecimal.TEN);
+
+        verify(rollupBulk, times(RevenueGranularity.values().length)).upsert(query.capture(), any(Update.class));
+        verify(rollupBulk).execute();
+        assertThat(query.getAllValues())
+                .extracting(q -> q.getQueryObject().get("periodStart"))
+                .containsExactly(
+                        LocalDate.of(2024, 5, 15),
+                        LocalDate.of(2024, 5, 13),
+                        LocalDate.of(2024, 5, 1),
+                        LocalDate.of(2024, 4, 1),
+                        LocalDate.of(2024, 1, 1));
+    }
+
+    @Test
+    @DisplayName("should retry only the rollup upserts that lost a race to create their bucket")
+    void adjustRevenue_RetriesOnlyDuplicateRollups() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Revenue.class)))
+                .thenReturn(testRevenue);
+        BulkWriteError duplicate = mock(BulkWriteError.class);
+        when(duplicate.getCode()).thenReturn(11000);
+        when(duplicate.getIndex()).thenReturn(0);
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getErrors()).thenReturn(List.of(duplicate));
+        when(rollupBulk.execute()).thenThrow(failure).thenReturn(null);
+
+        revenueService.adjustRevenue(LocalDate.of(2024, 5, 15), BigDecimal.TEN);
+
+        // All granularities once, then the day bucket again as a plain increment
+        verify(rollupBulk, times(RevenueGranularity.values().length)).upsert(any(Query.class), any(Update.class));
+        verify(rollupBulk).updateOne(any(Query.class), any(Update.class));
+        verify(rollupBulk, times(2)).execute();
+    }
+}
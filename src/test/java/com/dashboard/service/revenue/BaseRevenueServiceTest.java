@@ -1,9 +1,12 @@
 package com.dashboard.service.revenue;
 
 import com.dashboard.common.model.Audit;
+import com.dashboard.environment.RevenueProperties;
 import com.dashboard.model.entities.Revenue;
 import com.dashboard.repository.IRevenueRepository;
 import com.dashboard.service.RevenueService;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueWriteBehindLog;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import org.bson.types.ObjectId;
@@ -12,7 +15,9 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import java.math.BigDecimal;
 import java.time.Month;
 
@@ -25,6 +30,18 @@ public abstract class BaseRevenueServiceTest {
     @Mock
     protected IRevenueRepository revenueRepository;
 
+    @Mock
+    protected IDataVersionService dataVersionService;
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    @Mock
+    protected IRevenueWriteBehindLog revenueWriteBehindLog;
+
+    @Spy
+    protected RevenueProperties revenueProperties = new RevenueProperties();
+
     protected Revenue testRevenue;
 
     @InjectMocks
@@ -0,0 +1,189 @@
+package com.dashboard.service.revenue;
+
+import com.dashboard.context.DiffContext;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
+import com.mongodb.bulk.BulkWriteError;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Story("Write-Behind")
+@DisplayName("flushWriteBehind")
+public class FlushWriteBehindTest extends BaseRevenueServiceTest {
+    private static final String BATCH_ID = "sealed-1-batch.log";
+
+    @Mock
+    private BulkOperations revenueBulk;
+
+    @Mock
+    private BulkOperations rollupBulk;
+
+    @BeforeEach
+    void enableWriteBehind() {
+        revenueProperties.setWriteBehindEnabled(true);
+    }
+
+    @AfterEach
+    void clearDiffs() {
+        DiffContext.clear();
+    }
+
+    @Test
+    @DisplayName("should buffer deltas instead of writing them")
+    void adjustRevenue_BuffersDeltaWhenWriteBehindEnabled() {
+        revenueService.adjustRevenue(LocalDate.of(2024, 5, 15), new BigDecimal("25.00"));
+
+        verify(revenueWriteBehindLog).append(LocalDate.of(2024, 5, 15), new BigDecimal("25.00"));
+        verifyNoInteractions(mongoTemplate, dataVersionService);
+    }
+
+    @Test
+    @DisplayName("should record the buffered delta in the diff")
+    void adjustRevenue_RecordsBufferedDelta() {
+        revenueService.adjustRevenue(LocalDate.of(2024, 5, 15), new BigDecimal("25.00"));
+
+        assertThat(DiffContext.getDiff()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should write one increment per month and rollup bucket")
+    void flushWriteBehind_WritesOneIncrementPerBucket() {
+        stubBulks();
+        when(revenueWriteBehindLog.takeBatch()).thenReturn(Map.of(
+                LocalDate.of(2024, 5, 15), new BigDecimal("100.00"),
+                LocalDate.of(2024, 5, 16), new BigDecimal("50.00")));
+        when(revenueWriteBehindLog.batchId()).thenReturn(BATCH_ID);
+
+        revenueService.flushWriteBehind();
+
+        ArgumentCaptor<Query> monthQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> monthUpdate = ArgumentCaptor.forClass(Update.class);
+        verify(revenueBulk).upsert(monthQuery.capture(), monthUpdate.capture());
+        Document inc = (Document) monthUpdate.getValue().getUpdateObject().get("$inc");
+        assertThat(inc.get("revenue")).isEqualTo(new Decimal128(new BigDecimal("150.00")));
+        assertBatchStamped(monthQuery.getValue(), monthUpdate.getValue());
+
+        // Two day buckets, everything else shares one bucket
+        verify(rollupBulk, times(RevenueGranularity.values().length + 1)).upsert(any(Query.class), any(Update.class));
+        verify(revenueWriteBehindLog).completeBatch();
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+
+    @Test
+    @DisplayName("should stamp every rollup bucket with the batch")
+    void flushWriteBehind_StampsRollupsWithBatch() {
+        stubBulks();
+        when(revenueWriteBehindLog.takeBatch()).thenReturn(Map.of(LocalDate.of(2024, 5, 15), BigDecimal.TEN));
+        when(revenueWriteBehindLog.batchId()).thenReturn(BATCH_ID);
+
+        revenueService.flushWriteBehind();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(rollupBulk, times(RevenueGranularity.values().length)).upsert(query.capture(), update.capture());
+        for (int i = 0; i < query.getAllValues().size(); i++) {
+            assertBatchStamped(query.getAllValues().get(i), update.getAllValues().get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("should not count a replayed batch twice in the buckets it already wrote")
+    void flushWriteBehind_SkipsBucketsAlreadyStamped() {
+        stubBulks();
+        when(revenueWriteBehindLog.takeBatch()).thenReturn(Map.of(LocalDate.of(2024, 5, 15), BigDecimal.TEN));
+        when(revenueWriteBehindLog.batchId()).thenReturn(BATCH_ID);
+        // The month was stamped by the failed attempt, so its guarded upsert tries to insert and collides
+        BulkWriteError duplicate = mock(BulkWriteError.class);
+        when(duplicate.getCode()).thenReturn(11000);
+        when(duplicate.getIndex()).thenReturn(0);
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getErrors()).thenReturn(List.of(duplicate));
+        when(revenueBulk.execute()).thenThrow(failure).thenReturn(null);
+
+        revenueService.flushWriteBehind();
+
+        // Retried without upsert and with the guard, which leaves the stamped month unmatched
+        ArgumentCaptor<Query> retry = ArgumentCaptor.forClass(Query.class);
+        verify(revenueBulk).updateOne(retry.capture(), any(Update.class));
+        assertThat(retry.getValue().getQueryObject().get("appliedBatchIds")).isEqualTo(new Document("$ne", BATCH_ID));
+        verify(revenueWriteBehindLog).completeBatch();
+    }
+
+    @Test
+    @DisplayName("should keep the batch for the next flush when the write fails")
+    void flushWriteBehind_KeepsBatchWhenWriteFails() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class)).thenReturn(revenueBulk);
+        when(revenueBulk.execute()).thenThrow(new IllegalStateException("unavailable"));
+        when(revenueWriteBehindLog.takeBatch()).thenReturn(Map.of(LocalDate.of(2024, 5, 15), BigDecimal.TEN));
+
+        assertThatThrownBy(() -> revenueService.flushWriteBehind()).isInstanceOf(IllegalStateException.class);
+
+        verify(revenueWriteBehindLog, never()).completeBatch();
+        verify(dataVersionService, never()).bump(any());
+    }
+
+    @Test
+    @DisplayName("should not write when nothing is buffered")
+    void flushWriteBehind_SkipsEmptyBatch() {
+        when(revenueWriteBehindLog.takeBatch()).thenReturn(Map.of());
+
+        revenueService.flushWriteBehind();
+
+        verifyNoInteractions(mongoTemplate, dataVersionService);
+        verify(revenueWriteBehindLog, never()).completeBatch();
+    }
+
+    @Test
+    @DisplayName("should do nothing when write-behind is disabled")
+    void flushWriteBehind_DoesNothingWhenDisabled() {
+        revenueProperties.setWriteBehindEnabled(false);
+
+        revenueService.flushWriteBehind();
+
+        verifyNoInteractions(revenueWriteBehindLog, mongoTemplate);
+    }
+
+    private static void assertBatchStamped(Query query, Update update) {
+        assertThat(query.getQueryObject().get("appliedBatchIds")).isEqualTo(new Document("$ne", BATCH_ID));
+        // Appended to a bounded history, so a batch from another instance in between does not erase it
+        Update.Modifiers push = (Update.Modifiers) ((Document) update.getUpdateObject().get("$push")).get("appliedBatchIds");
+        assertThat(push.getModifiers())
+                .extracting(Update.Modifier::getKey, Update.Modifier::getValue)
+                .contains(tuple("$slice", -1000));
+        assertThat(push.getModifiers()).extracting(Update.Modifier::getKey).contains("$each");
+    }
+
+    private void stubBulks() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class)).thenReturn(revenueBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RevenueRollup.class)).thenReturn(rollupBulk);
+    }
+}
@@ -0,0 +1,75 @@
+package com.dashboard.service.revenue;
+
+import com.dashboard.common.model.exception.InvalidRequestException;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.RevenueRollup;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Story("Get Revenue Rollups")
+@DisplayName("getRollups")
+public class GetRollupsTest extends BaseRevenueServiceTest {
+    @Test
+    @DisplayName("should range scan one granularity in period order")
+    void getRollups_RangeScansGranularity() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        RevenueRollup rollup = new RevenueRollup();
+        when(mongoTemplate.find(query.capture(), eq(RevenueRollup.class))).thenReturn(List.of(rollup));
+
+        List<RevenueRollup> result = revenueService.getRollups(RevenueGranularity.DAY,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        assertThat(result).containsExactly(rollup);
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("granularity", RevenueGranularity.DAY)
+                .containsEntry("periodStart", new Document("$gte", LocalDate.of(2024, 3, 1))
+                        .append("$lte", LocalDate.of(2024, 3, 31)));
+        assertThat(query.getValue().getSortObject()).containsEntry("periodStart", 1);
+    }
+
+    @Test
+    @DisplayName("should include the bucket that contains from")
+    void getRollups_IncludesBucketContainingFrom() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(query.capture(), eq(RevenueRollup.class))).thenReturn(List.of());
+
+        revenueService.getRollups(RevenueGranularity.QUARTER, LocalDate.of(2024, 5, 17), null);
+
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("periodStart", new Document("$gte", LocalDate.of(2024, 4, 1)));
+    }
+
+    @Test
+    @DisplayName("should not constrain the period when no range is given")
+    void getRollups_ReturnsAllBucketsWithoutRange() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(query.capture(), eq(RevenueRollup.class))).thenReturn(List.of());
+
+        revenueService.getRollups(RevenueGranularity.WEEK, null, null);
+
+        assertThat(query.getValue().getQueryObject()).doesNotContainKey("periodStart");
+    }
+
+    @Test
+    @DisplayName("should reject a range that ends before it starts")
+    void getRollups_RejectsInvertedRange() {
+        assertThatThrownBy(() -> revenueService.getRollups(RevenueGranularity.MONTH,
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(InvalidRequestException.class);
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,86 @@
+package com.dashboard.service.revenuerecompute;
+
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.RevenueRollup;
+import com.dashboard.model.entities.SyncWatermark;
+import com.dashboard.service.RevenueRecomputeService;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Story("Backfill Rollups")
+@DisplayName("backfillRollups")
+public class BackfillRollupsTest extends BaseRevenueRecomputeServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 3);
+
+    @Test
+    @DisplayName("should do nothing once the backfill has completed")
+    void backfillRollups_SkipsWhenMarked() {
+        when(mongoTemplate.findById(RevenueRecomputeService.ROLLUPS_WATERMARK_NAME, SyncWatermark.class))
+                .thenReturn(new SyncWatermark());
+
+        revenueRecomputeService.backfillRollups();
+
+        verify(mongoTemplate, never()).findAll(RevenueRollup.class);
+    }
+
+    @Test
+    @DisplayName("should backfill next to rollups written before startup and mark completion")
+    void backfillRollups_RunsWhenRollupsAlreadyExist() {
+        // An invoice written before startup created its day bucket; the other buckets are still missing
+        storedRollups(rollup(RevenueGranularity.DAY, DAY, "100.00"));
+        invoiceDays(dayTotal(DAY, "100.00"));
+        rollupBulkApplies(0, RevenueGranularity.values().length - 1);
+
+        revenueRecomputeService.backfillRollups();
+
+        verify(revenueService).flushWriteBehind();
+        verify(rollupBulk, times(RevenueGranularity.values().length - 1)).insert(any(RevenueRollup.class));
+        ArgumentCaptor<Query> marker = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(marker.capture(), any(Update.class), eq(SyncWatermark.class));
+        assertThat(marker.getValue().getQueryObject())
+                .containsEntry("_id", RevenueRecomputeService.ROLLUPS_WATERMARK_NAME);
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+
+    @Test
+    @DisplayName("should leave the marker unset while invoice writes conflict")
+    void backfillRollups_LeavesMarkerUnsetOnConflict() {
+        storedRollups(rollup(RevenueGranularity.DAY, DAY, "50.00"));
+        invoiceDays(dayTotal(DAY, "100.00"));
+        rollupBulkApplies(0, 0);
+
+        revenueRecomputeService.backfillRollups();
+
+        verify(rollupBulk).execute();
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(SyncWatermark.class));
+    }
+
+    @Test
+    @DisplayName("should leave the marker unset while a bucket has a recently written invoice")
+    void backfillRollups_WaitsForUnsettledBuckets() {
+        invoiceDays(dayTotal(DAY, "100.00"));
+        recentInvoices(DAY);
+
+        revenueRecomputeService.backfillRollups();
+
+        verifyNoInteractions(rollupBulk);
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(SyncWatermark.class));
+    }
+}
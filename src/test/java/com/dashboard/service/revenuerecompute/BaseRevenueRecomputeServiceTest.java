@@ -0,0 +1,159 @@
+package com.dashboard.service.revenuerecompute;
+
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.model.entities.Invoice;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
+import com.dashboard.service.RevenueRecomputeService;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueService;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@Epic("Revenue")
+@Feature("Revenue Recompute")
+@Tag("service-revenue-recompute")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseRevenueRecomputeServiceTest {
+
+    @Mock
+    protected MongoTemplate mongoTemplate;
+
+    @Mock
+    protected IDataVersionService dataVersionService;
+
+    @Mock
+    protected IRevenueService revenueService;
+
+    @Mock
+    protected BulkOperations bulk;
+
+    @Mock
+    protected BulkWriteResult bulkResult;
+
+    @Mock
+    protected BulkOperations rollupBulk;
+
+    @Mock
+    protected BulkWriteResult rollupBulkResult;
+
+    protected SimpleMeterRegistry meterRegistry;
+
+    protected RevenueRecomputeService revenueRecomputeService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revenueRecomputeService = new RevenueRecomputeService(mongoTemplate, dataVersionService,
+                revenueService, new RevenueProperties(), meterRegistry);
+    }
+
+    protected void storedYears(Integer... years) {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("year"), eq(Revenue.class), eq(Integer.class)))
+                .thenReturn(List.of(years));
+    }
+
+    protected void invoiceDates(LocalDate first, LocalDate last) {
+        when(mongoTemplate.findOne(any(Query.class), eq(Invoice.class)))
+                .thenReturn(invoice(first), invoice(last));
+    }
+
+    protected void invoiceTotals(Document... months) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(months), new Document()));
+    }
+
+    protected void recentInvoices(LocalDate... days) {
+        when(mongoTemplate.find(any(Query.class), eq(Invoice.class)))
+                .thenReturn(Arrays.stream(days).map(BaseRevenueRecomputeServiceTest::invoice).toList());
+    }
+
+    protected void storedRevenues(Revenue... revenues) {
+        when(mongoTemplate.find(any(Query.class), eq(Revenue.class))).thenReturn(List.of(revenues));
+    }
+
+    protected void bulkApplies(int matched, int inserted) {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(bulkResult);
+        when(bulkResult.getMatchedCount()).thenReturn(matched);
+        when(bulkResult.getInsertedCount()).thenReturn(inserted);
+    }
+
+    protected void invoiceDays(Document... days) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(days), new Document()));
+    }
+
+    protected void storedRollups(RevenueRollup... rollups) {
+        when(mongoTemplate.findAll(RevenueRollup.class)).thenReturn(List.of(rollups));
+    }
+
+    protected void rollupBulkApplies(int matched, int inserted) {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RevenueRollup.class)).thenReturn(rollupBulk);
+        when(rollupBulk.execute()).thenReturn(rollupBulkResult);
+        when(rollupBulkResult.getMatchedCount()).thenReturn(matched);
+        when(rollupBulkResult.getInsertedCount()).thenReturn(inserted);
+    }
+
+    protected static Document dayTotal(LocalDate day, String amount) {
+        Date start = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        return new Document("_id", start).append("revenue", new Decimal128(new BigDecimal(amount)));
+    }
+
+    protected static RevenueRollup rollup(RevenueGranularity granularity, LocalDate periodStart, String amount) {
+        RevenueRollup rollup = new RevenueRollup();
+        rollup.set_id(new ObjectId());
+        rollup.setGranularity(granularity);
+        rollup.setPeriodStart(periodStart);
+        rollup.setRevenue(new BigDecimal(amount));
+        return rollup;
+    }
+
+    protected static Document monthTotal(int month, String amount) {
+        return new Document("_id", month).append("revenue", new Decimal128(new BigDecimal(amount)));
+    }
+
+    protected static Revenue revenue(Month month, int year, String amount) {
+        Revenue revenue = new Revenue();
+        revenue.set_id(new ObjectId());
+        revenue.setMonth(month);
+        revenue.setYear(year);
+        revenue.setRevenue(new BigDecimal(amount));
+        return revenue;
+    }
+
+    private static Invoice invoice(LocalDate date) {
+        Invoice invoice = new Invoice();
+        invoice.set_id(new ObjectId());
+        invoice.setDate(date);
+        return invoice;
+    }
+}
@@ -0,0 +1,190 @@
+package com.dashboard.service.revenuerecompute;
+
+import com.dashboard.dataTransferObject.revenue.RevenueChangeRead;
+import com.dashboard.dataTransferObject.revenue.RevenueRecomputeRead;
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.RevenueGranularity;
+import com.dashboard.model.entities.Revenue;
+import com.dashboard.model.entities.RevenueRollup;
+import io.qameta.allure.Story;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Story("Recompute")
+@DisplayName("recompute")
+public class RecomputeTest extends BaseRevenueRecomputeServiceTest {
+    @Test
+    @DisplayName("should write only the months that differ from the invoices")
+    void recompute_WritesOnlyChangedMonths() {
+        storedYears(2024);
+        invoiceDates(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 2, 20));
+        invoiceTotals(monthTotal(1, "100.00"), monthTotal(2, "200.00"));
+        invoiceDays();
+        storedRevenues(revenue(Month.JANUARY, 2024, "100.0"), revenue(Month.MARCH, 2024, "50.00"));
+        recentInvoices();
+        bulkApplies(1, 1);
+
+        RevenueRecomputeRead report = revenueRecomputeService.recompute();
+
+        ArgumentCaptor<Revenue> inserted = ArgumentCaptor.forClass(Revenue.class);
+        verify(bulk).insert(inserted.capture());
+        assertThat(inserted.getValue().getMonth()).isEqualTo(Month.FEBRUARY);
+        assertThat(inserted.getValue().getRevenue()).isEqualByComparingTo("200.00");
+        verify(bulk).updateOne(any(Query.class), any(Update.class));
+
+        assertThat(report.getYears()).isEqualTo(1);
+        assertThat(report.getChangedMonths()).isEqualTo(2);
+        assertThat(report.getConflicts()).isZero();
+        assertThat(report.getYearDurationMillis()).containsOnlyKeys(2024);
+        assertThat(report.getChanges())
+                .extracting(RevenueChangeRead::getMonth)
+                .containsExactly("FEBRUARY", "MARCH");
+        assertThat(report.getChanges().get(1).getRecomputed()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+
+    @Test
+    @DisplayName("should report months changed by a concurrent invoice write as conflicts")
+    void recompute_ReportsConcurrentChangesAsConflicts() {
+        storedYears(2024);
+        invoiceDates(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1));
+        invoiceTotals(monthTotal(3, "300.00"));
+        invoiceDays();
+        storedRevenues(revenue(Month.MARCH, 2024, "250.00"));
+        recentInvoices();
+        bulkApplies(0, 0);
+
+        RevenueRecomputeRead report = revenueRecomputeService.recompute();
+
+        assertThat(report.getChangedMonths()).isEqualTo(1);
+        assertThat(report.getConflicts()).isEqualTo(1);
+        verify(dataVersionService, never()).bump(any());
+    }
+
+    @Test
+    @DisplayName("should leave months and buckets with a recently written invoice for a later run")
+    void recompute_LeavesUnsettledMonths() {
+        // The invoice may already be summed while its revenue delta is still to land
+        storedYears(2024);
+        invoiceDates(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1));
+        invoiceTotals(monthTotal(3, "300.00"));
+        invoiceDays(dayTotal(LocalDate.of(2024, 3, 1), "300.00"));
+        storedRevenues(revenue(Month.MARCH, 2024, "250.00"));
+        recentInvoices(LocalDate.of(2024, 3, 1));
+
+        RevenueRecomputeRead report = revenueRecomputeService.recompute();
+
+        assertThat(report.getChangedMonths()).isZero();
+        assertThat(report.getConflicts()).isEqualTo(1);
+        assertThat(report.getChangedRollups()).isZero();
+        assertThat(report.getRollupConflicts()).isEqualTo(RevenueGranularity.values().length);
+        verifyNoInteractions(bulk, rollupBulk);
+        verify(dataVersionService, never()).bump(any());
+    }
+
+    @Test
+    @DisplayName("should not write when the revenues match the invoices")
+    void recompute_SkipsWriteWhenNothingDrifted() {
+        storedYears(2024);
+        invoiceDates(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 3));
+        invoiceTotals(monthTotal(1, "100.00"));
+        invoiceDays();
+        storedRevenues(revenue(Month.JANUARY, 2024, "100.00"));
+        recentInvoices();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class)).thenReturn(bulk);
+
+        RevenueRecomputeRead report = revenueRecomputeService.recompute();
+
+        assertThat(report.getChanges()).isEmpty();
+        verify(bulk, never()).execute();
+        verify(dataVersionService, never()).bump(any());
+    }
+
+    @Test
+    @DisplayName("should write the buffered write-behind deltas before reading the stored revenues")
+    void recompute_FlushesWriteBehindFirst() {
+        storedYears();
+        invoiceDays();
+
+        revenueRecomputeService.recompute();
+
+        InOrder order = inOrder(revenueService, mongoTemplate);
+        order.verify(revenueService).flushWriteBehind();
+        order.verify(mongoTemplate).findDistinct(any(Query.class), eq("year"), eq(Revenue.class), eq(Integer.class));
+    }
+
+    @Test
+    @DisplayName("should partition by every year with invoices or stored revenue")
+    void recompute_PartitionsByYear() {
+        storedYears(2020);
+        invoiceDates(LocalDate.of(2022, 5, 1), LocalDate.of(2023, 11, 30));
+        invoiceTotals();
+        invoiceDays();
+        storedRevenues();
+        recentInvoices();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class)).thenReturn(bulk);
+
+        RevenueRecomputeRead report = revenueRecomputeService.recompute();
+
+        assertThat(report.getYears()).isEqualTo(3);
+        assertThat(report.getYearDurationMillis()).containsOnlyKeys(2020, 2022, 2023);
+        assertThat(meterRegistry.timer("revenue.recompute.duration").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should rebuild rollup buckets that drifted from the invoices")
+    void recompute_RebuildsDriftedRollups() {
+        LocalDate day = LocalDate.of(2024, 1, 3);
+        storedYears(2024);
+        invoiceDates(day, day);
+        invoiceTotals(monthTotal(1, "100.00"));
+        storedRevenues(revenue(Month.JANUARY, 2024, "100.00"));
+        recentInvoices();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Revenue.class)).thenReturn(bulk);
+        invoiceDays(dayTotal(day, "100.00"));
+        // Every bucket but the day is right; the day bucket double counted an invoice
+        List<RevenueRollup> stored = new ArrayList<>();
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            stored.add(rollup(granularity, granularity.periodStart(day),
+                    granularity == RevenueGranularity.DAY ? "200.00" : "100.00"));
+        }
+        storedRollups(stored.toArray(new RevenueRollup[0]));
+        rollupBulkApplies(1, 0);
+
+        RevenueRecomputeRead report = revenueRecomputeService.recompute();
+
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(rollupBulk).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .containsEntry("_id", stored.getFirst().get_id())
+                .containsEntry("revenue", new Decimal128(new BigDecimal("200.00")));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class).get("revenue"))
+                .isEqualTo(new Decimal128(new BigDecimal("100.00")));
+        assertThat(report.getChangedRollups()).isEqualTo(1);
+        assertThat(report.getRollupConflicts()).isZero();
+        verify(dataVersionService).bump(DataCollection.REVENUES);
+    }
+}
@@ -0,0 +1,64 @@
+package com.dashboard.service.revenueresponsecache;
+
+import com.dashboard.dataTransferObject.revenue.RevenueRead;
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.mapper.interfaces.IRevenueMapper;
+import com.dashboard.model.entities.Revenue;
+import com.dashboard.service.RevenueResponseCache;
+import com.dashboard.service.interfaces.IDataVersionService;
+import com.dashboard.service.interfaces.IRevenueService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.Month;
+
+@Epic("Revenue")
+@Feature("Revenue Response Cache")
+@Tag("service-revenue-response-cache")
+@ExtendWith(MockitoExtension.class)
+public abstract class BaseRevenueResponseCacheTest {
+
+    @Mock
+    protected IRevenueService revenueService;
+
+    @Mock
+    protected IRevenueMapper revenueMapper;
+
+    @Mock
+    protected IDataVersionService dataVersionService;
+
+    @Spy
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    protected RevenueProperties revenueProperties = new RevenueProperties();
+
+    protected Revenue testRevenue;
+    protected RevenueRead testRevenueRead;
+
+    @InjectMocks
+    protected RevenueResponseCache revenueResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        testRevenue = new Revenue();
+        testRevenue.set_id(new ObjectId());
+        testRevenue.setMonth(Month.JANUARY);
+        testRevenue.setYear(2024);
+        testRevenue.setRevenue(new BigDecimal("10000.00"));
+
+        testRevenueRead = new RevenueRead();
+        testRevenueRead.setId(testRevenue.get_id().toHexString());
+        testRevenueRead.setMonth(Month.JANUARY.name());
+        testRevenueRead.setRevenue(new BigDecimal("10000.00"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.dashboard.service.revenueresponsecache;
+
+import com.dashboard.model.DataCollection;
+import com.dashboard.model.SerializedResponse;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Story("Get")
+@DisplayName("get")
+public class GetTest extends BaseRevenueResponseCacheTest {
+
+    @Test
+    @DisplayName("should serialize once and reuse the bytes while the version is unchanged")
+    void get_ReusesBytesAtSameVersion() {
+        when(dataVersionService.getVersion(DataCollection.REVENUES)).thenReturn(3L);
+        when(revenueService.getAllRevenues()).thenReturn(List.of(testRevenue));
+        when(revenueMapper.toRead(testRevenue)).thenReturn(testRevenueRead);
+
+        SerializedResponse first = revenueResponseCache.get();
+        SerializedResponse second = revenueResponseCache.get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.version()).isEqualTo(3L);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8))
+                .contains("\"month\":\"JANUARY\"")
+                .contains(testRevenue.get_id().toHexString());
+        verify(revenueService, times(1)).getAllRevenues();
+    }
+
+    @Test
+    @DisplayName("should rebuild after the version is bumped")
+    void get_RebuildsAfterBump() {
+        when(dataVersionService.getVersion(DataCollection.REVENUES)).thenReturn(3L, 4L);
+        when(revenueService.getAllRevenues()).thenReturn(List.of(), List.of(testRevenue));
+        when(revenueMapper.toRead(testRevenue)).thenReturn(testRevenueRead);
+
+        SerializedResponse first = revenueResponseCache.get();
+        SerializedResponse second = revenueResponseCache.get();
+
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).isEqualTo("[]");
+        assertThat(second.version()).isEqualTo(4L);
+        assertThat(new String(second.json(), StandardCharsets.UTF_8)).contains("JANUARY");
+        verify(revenueService, times(2)).getAllRevenues();
+    }
+
+    @Test
+    @DisplayName("should rebuild once the entry outlives its ttl even if the version is unchanged")
+    void get_RebuildsAfterTtl() {
+        // Another instance's writes do not bump this instance's version
+        revenueProperties.setResponseCacheTtl(Duration.ZERO);
+        when(dataVersionService.getVersion(DataCollection.REVENUES)).thenReturn(3L);
+        when(revenueService.getAllRevenues()).thenReturn(List.of(), List.of(testRevenue));
+        when(revenueMapper.toRead(testRevenue)).thenReturn(testRevenueRead);
+
+        SerializedResponse first = revenueResponseCache.get();
+        SerializedResponse second = revenueResponseCache.get();
+
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).isEqualTo("[]");
+        assertThat(new String(second.json(), StandardCharsets.UTF_8)).contains("JANUARY");
+        verify(revenueService, times(2)).getAllRevenues();
+    }
+
+    @Test
+    @DisplayName("should keep a gzip copy that decompresses to the json")
+    void get_GzipMatchesJson() throws IOException {
+        when(dataVersionService.getVersion(DataCollection.REVENUES)).thenReturn(1L);
+        when(revenueService.getAllRevenues()).thenReturn(List.of(testRevenue));
+        when(revenueMapper.toRead(testRevenue)).thenReturn(testRevenueRead);
+
+        SerializedResponse response = revenueResponseCache.get();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(response.json());
+        }
+    }
+
+    @Test
+    @DisplayName("should not compress when gzip is disabled")
+    void get_SkipsGzipWhenDisabled() {
+        revenueProperties.setResponseGzipEnabled(false);
+        when(dataVersionService.getVersion(DataCollection.REVENUES)).thenReturn(1L);
+        when(revenueService.getAllRevenues()).thenReturn(List.of());
+
+        SerializedResponse response = revenueResponseCache.get();
+
+        assertThat(response.gzip()).isNull();
+        assertThat(response.json()).isNotEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dashboard.service.revenuewritebehind;
+
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Story("Append")
+@DisplayName("append")
+public class AppendTest extends BaseRevenueWriteBehindLogTest {
+    private static final int THREADS = 8;
+    private static final int APPENDS_PER_THREAD = 200;
+
+    @Test
+    @DisplayName("should keep every record on its own line when appended concurrently")
+    void append_KeepsConcurrentRecordsIntact() throws Exception {
+        openLog();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<CompletableFuture<Void>> appenders = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                LocalDate day = LocalDate.of(2024, 5, thread + 1);
+                appenders.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < APPENDS_PER_THREAD; i++) {
+                        revenueWriteBehindLog.append(day, new BigDecimal("1234567.89"));
+                    }
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(appenders.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<String> lines = Files.readAllLines(directory.resolve("active.log"), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(THREADS * APPENDS_PER_THREAD)
+                .allMatch(line -> line.matches("2024-05-0\\d 1234567\\.89"));
+        assertThat(revenueWriteBehindLog.takeBatch().get(LocalDate.of(2024, 5, 1)))
+                .isEqualByComparingTo(new BigDecimal("1234567.89").multiply(BigDecimal.valueOf(APPENDS_PER_THREAD)));
+    }
+
+    @Test
+    @DisplayName("should not sync more often than it appends")
+    void append_SharesSyncs() throws Exception {
+        openLog();
+
+        revenueWriteBehindLog.append(LocalDate.of(2024, 5, 15), BigDecimal.ONE);
+        revenueWriteBehindLog.append(LocalDate.of(2024, 5, 15), BigDecimal.ONE);
+
+        double syncs = meterRegistry.counter("revenue.write.behind.syncs").count();
+        assertThat(syncs).isBetween(1.0, meterRegistry.counter("revenue.write.behind.appended").count());
+    }
+}
@@ -0,0 +1,53 @@
+package com.dashboard.service.revenuewritebehind;
+
+import com.dashboard.environment.RevenueProperties;
+import com.dashboard.service.RevenueWriteBehindLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Epic("Revenue")
+@Feature("Revenue Write-Behind Log")
+@Tag("service-revenue-write-behind")
+public abstract class BaseRevenueWriteBehindLogTest {
+
+    @TempDir
+    protected Path directory;
+
+    protected SimpleMeterRegistry meterRegistry;
+
+    protected RevenueWriteBehindLog revenueWriteBehindLog;
+
+    protected RevenueWriteBehindLog openLog() throws IOException {
+        RevenueProperties revenueProperties = new RevenueProperties();
+        revenueProperties.setWriteBehindEnabled(true);
+        revenueProperties.setWriteBehindLogDirectory(directory.toString());
+
+        meterRegistry = new SimpleMeterRegistry();
+        revenueWriteBehindLog = new RevenueWriteBehindLog(revenueProperties, meterRegistry);
+        revenueWriteBehindLog.open();
+        return revenueWriteBehindLog;
+    }
+
+    @AfterEach
+    void closeLog() throws IOException {
+        if (revenueWriteBehindLog != null) {
+            revenueWriteBehindLog.close();
+        }
+    }
+
+    protected List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
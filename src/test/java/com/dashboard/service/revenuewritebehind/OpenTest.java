@@ -0,0 +1,59 @@
+package com.dashboard.service.revenuewritebehind;
+
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Story("Open")
+@DisplayName("open")
+public class OpenTest extends BaseRevenueWriteBehindLogTest {
+    @Test
+    @DisplayName("should replay each segment left by a stopped instance as its own batch")
+    void open_ReplaysLeftoverSegments() throws Exception {
+        Files.writeString(directory.resolve("sealed-1-1.log"), "2024-05-15 100.00\n", StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("active.log"), "2024-05-15 25.00\n2024-06-01 7\n", StandardCharsets.UTF_8);
+
+        openLog();
+        Map<LocalDate, BigDecimal> first = revenueWriteBehindLog.takeBatch();
+        revenueWriteBehindLog.completeBatch();
+        Map<LocalDate, BigDecimal> second = revenueWriteBehindLog.takeBatch();
+
+        // The sealed segment may have been partly written under its name, so it is never merged with another
+        assertThat(revenueWriteBehindLog.batchId()).isEqualTo("sealed-1-1.log");
+        assertThat(second.get(LocalDate.of(2024, 5, 15))).isEqualByComparingTo("100.00");
+        assertThat(first.get(LocalDate.of(2024, 5, 15))).isEqualByComparingTo("25.00");
+        assertThat(first.get(LocalDate.of(2024, 6, 1))).isEqualByComparingTo("7");
+        revenueWriteBehindLog.completeBatch();
+        assertThat(segmentNames()).containsExactly("active.log");
+        assertThat(Files.size(directory.resolve("active.log"))).isZero();
+    }
+
+    @Test
+    @DisplayName("should skip a record cut off by a crash")
+    void open_SkipsIncompleteRecord() throws Exception {
+        Files.writeString(directory.resolve("active.log"), "2024-05-15 100.00\n2024-05-15 99", StandardCharsets.UTF_8);
+
+        openLog();
+
+        assertThat(revenueWriteBehindLog.takeBatch().get(LocalDate.of(2024, 5, 15))).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("should discard leftover segments without complete records")
+    void open_DiscardsEmptySegments() throws Exception {
+        Files.writeString(directory.resolve("active.log"), "", StandardCharsets.UTF_8);
+
+        openLog();
+
+        assertThat(revenueWriteBehindLog.takeBatch()).isEmpty();
+        assertThat(segmentNames()).containsExactly("active.log");
+    }
+}
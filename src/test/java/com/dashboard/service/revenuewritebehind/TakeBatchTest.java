@@ -0,0 +1,101 @@
+package com.dashboard.service.revenuewritebehind;
+
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Story("Take Batch")
+@DisplayName("takeBatch")
+public class TakeBatchTest extends BaseRevenueWriteBehindLogTest {
+    private static final LocalDate MAY_15 = LocalDate.of(2024, 5, 15);
+    private static final LocalDate MAY_16 = LocalDate.of(2024, 5, 16);
+
+    @Test
+    @DisplayName("should sum the appended deltas per day")
+    void takeBatch_SumsDeltasPerDay() throws Exception {
+        openLog();
+        revenueWriteBehindLog.append(MAY_15, new BigDecimal("100.00"));
+        revenueWriteBehindLog.append(MAY_15, new BigDecimal("-40.50"));
+        revenueWriteBehindLog.append(MAY_16, new BigDecimal("10"));
+
+        Map<LocalDate, BigDecimal> batch = revenueWriteBehindLog.takeBatch();
+
+        assertThat(batch).hasSize(2);
+        assertThat(batch.get(MAY_15)).isEqualByComparingTo("59.50");
+        assertThat(batch.get(MAY_16)).isEqualByComparingTo("10");
+        assertThat(meterRegistry.counter("revenue.write.behind.appended").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should append every delta to the log before it is taken")
+    void takeBatch_LogsDeltasDurably() throws Exception {
+        openLog();
+        revenueWriteBehindLog.append(MAY_15, new BigDecimal("100.00"));
+
+        assertThat(Files.readString(directory.resolve("active.log"), StandardCharsets.UTF_8))
+                .isEqualTo("2024-05-15 100.00\n");
+    }
+
+    @Test
+    @DisplayName("should return the same batch until it is completed")
+    void takeBatch_RetriesUncompletedBatch() throws Exception {
+        openLog();
+        revenueWriteBehindLog.append(MAY_15, new BigDecimal("100.00"));
+        Map<LocalDate, BigDecimal> first = revenueWriteBehindLog.takeBatch();
+
+        // Arrives after the batch was taken, so it belongs to the next one
+        revenueWriteBehindLog.append(MAY_16, new BigDecimal("5.00"));
+
+        assertThat(revenueWriteBehindLog.takeBatch()).isEqualTo(first);
+        revenueWriteBehindLog.completeBatch();
+        assertThat(revenueWriteBehindLog.takeBatch()).containsOnlyKeys(MAY_16);
+    }
+
+    @Test
+    @DisplayName("should keep the batch id across retries and restarts")
+    void takeBatch_KeepsBatchIdAcrossRestarts() throws Exception {
+        openLog();
+        revenueWriteBehindLog.append(MAY_15, new BigDecimal("100.00"));
+        revenueWriteBehindLog.takeBatch();
+        String batchId = revenueWriteBehindLog.batchId();
+        revenueWriteBehindLog.takeBatch();
+        assertThat(revenueWriteBehindLog.batchId()).isEqualTo(batchId);
+        revenueWriteBehindLog.close();
+
+        openLog();
+
+        assertThat(revenueWriteBehindLog.takeBatch().get(MAY_15)).isEqualByComparingTo("100.00");
+        assertThat(revenueWriteBehindLog.batchId()).isEqualTo(batchId);
+        revenueWriteBehindLog.completeBatch();
+        assertThat(revenueWriteBehindLog.batchId()).isNull();
+    }
+
+    @Test
+    @DisplayName("should delete the sealed segment once the batch is completed")
+    void takeBatch_DeletesCompletedSegment() throws Exception {
+        openLog();
+        revenueWriteBehindLog.append(MAY_15, new BigDecimal("100.00"));
+        revenueWriteBehindLog.takeBatch();
+
+        assertThat(segmentNames()).hasSize(2).contains("active.log");
+        revenueWriteBehindLog.completeBatch();
+        assertThat(segmentNames()).containsExactly("active.log");
+    }
+
+    @Test
+    @DisplayName("should return an empty batch when nothing is buffered")
+    void takeBatch_ReturnsEmptyWhenNothingBuffered() throws Exception {
+        openLog();
+
+        assertThat(revenueWriteBehindLog.takeBatch()).isEmpty();
+        assertThat(segmentNames()).containsExactly("active.log");
+    }
+}